@@ -0,0 +1,65 @@
+package com.caffein.analyticservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.converter.BatchMessagingMessageConverter;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
+import org.springframework.kafka.support.converter.StringJsonMessageConverter;
+
+import java.util.Map;
+
+/**
+ * Events arrive as plain JSON strings (the student-service outbox stores and
+ * relays them pre-serialized), so listeners take String values and the target
+ * type comes from the listener method signature.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String BATCH_LISTENER_FACTORY = "batchListenerFactory";
+
+    /**
+     * Used by Boot's default listener container factory for record listeners.
+     */
+    @Bean
+    public RecordMessageConverter recordMessageConverter() {
+        return new StringJsonMessageConverter();
+    }
+
+    @Bean
+    public NewTopic attendanceEventsTopic(@Value("${app.kafka.attendance-events.partitions:6}") int partitions) {
+        return TopicBuilder
+                .name("attendance-events")
+                .partitions(partitions)
+                .build();
+    }
+
+    /**
+     * Batch listener factory: each consumer thread is handed a whole poll at a time,
+     * and listeners set their own concurrency. Events are keyed by course, so every
+     * course's rows are written from a single partition and threads never contend
+     * on the same course analytics row.
+     */
+    @Bean(BATCH_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchListenerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            KafkaProperties kafkaProperties,
+            @Value("${app.kafka.batch.max-poll-records:1000}") int maxPollRecords) {
+        Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, new DefaultKafkaConsumerFactory<>(consumerProperties));
+        factory.setBatchListener(true);
+        factory.setBatchMessageConverter(new BatchMessagingMessageConverter(new StringJsonMessageConverter()));
+        return factory;
+    }
+}
@@ -1,6 +1,7 @@
 package com.caffein.analyticservice.controller;
 
 import com.caffein.analyticservice.dto.AttendanceAnalyticsDTO;
+import com.caffein.analyticservice.dto.AttendanceRollupDTO;
 import com.caffein.analyticservice.dto.DashboardSummaryDTO;
 import com.caffein.analyticservice.dto.EnrollmentAnalyticsDTO;
 import com.caffein.analyticservice.dto.StudentAnalyticsDTO;
@@ -46,6 +47,17 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getAttendanceAnalyticsByDateRange(startDate, endDate));
     }
 
+    @GetMapping("/attendance/rollups")
+    @Operation(summary = "Get attendance for a date range, aggregated into the coarsest term/month/week buckets that fit")
+    public ResponseEntity<List<AttendanceRollupDTO>> getAttendanceRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.getAttendanceRollups(startDate, endDate));
+    }
+
     @GetMapping("/students/{studentId}")
     @Operation(summary = "Get analytics for a specific student")
     public ResponseEntity<StudentAnalyticsDTO> getStudentAnalytics(@PathVariable UUID studentId) {
@@ -0,0 +1,28 @@
+package com.caffein.analyticservice.dto;
+
+import com.caffein.analyticservice.model.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceRollupDTO {
+    private UUID courseId;
+    private String courseName;
+    private RollupGranularity granularity;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Long totalStudents;
+    private Long presentCount;
+    private Long absentCount;
+    private Long lateCount;
+    private Long excusedCount;
+    private Double attendanceRate;
+}
@@ -1,5 +1,6 @@
 package com.caffein.analyticservice.kafka;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,8 @@ public class AttendanceRecordedEvent {
     private String courseName;
     private LocalDate date;
     private String status; // PRESENT, ABSENT, LATE, EXCUSED
+
+    // Outbox id from the event-id header, set by the consumer
+    @JsonIgnore
+    private UUID eventId;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.caffein.analyticservice.kafka;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +21,8 @@ public class EnrollmentEvent {
     private String semester;
     private String status; // REGISTERED, WITHDRAWN, COMPLETED
     private Integer maxCapacity;
+
+    // Outbox id from the event-id header, set by the consumer
+    @JsonIgnore
+    private UUID eventId;
 }
\ No newline at end of file
@@ -1,12 +1,20 @@
 package com.caffein.analyticservice.kafka.consumer;
 
+import com.caffein.analyticservice.config.KafkaConsumerConfig;
 import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
 import com.caffein.analyticservice.service.AnalyticsService;
+import com.caffein.analyticservice.service.ProcessedEventLedger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -14,13 +22,33 @@ public class AttendanceEventConsumer {
 
     private final AnalyticsService analyticsService;
 
-    @KafkaListener(topics = "attendance-events", groupId = "analytics-group")
-    public void handleAttendanceEvent(AttendanceRecordedEvent event) {
-        log.info("Received attendance event: {}", event);
-        try {
-            analyticsService.processAttendanceEvent(event);
-        } catch (Exception e) {
-            log.error("Error processing attendance event: {}", e.getMessage(), e);
+    /**
+     * Receives a whole poll at once. Exceptions propagate so the container's error
+     * handler retries the batch; the upserts run in one transaction, so a failed
+     * batch leaves nothing half-applied.
+     */
+    @KafkaListener(topics = "attendance-events", groupId = "analytics-group",
+            containerFactory = KafkaConsumerConfig.BATCH_LISTENER_FACTORY,
+            concurrency = "${app.kafka.attendance-events.concurrency:3}")
+    public void handleAttendanceEvents(List<AttendanceRecordedEvent> events,
+            @Header(KafkaHeaders.BATCH_CONVERTED_HEADERS) List<Map<String, Object>> headers) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) != null) {
+                events.get(i).setEventId(ProcessedEventLedger.eventId(headers.get(i)));
+            }
+        }
+        // Payloads that failed JSON conversion arrive as null entries
+        List<AttendanceRecordedEvent> valid = events.stream()
+                .filter(Objects::nonNull)
+                .filter(event -> event.getCourseId() != null && event.getDate() != null && event.getStatus() != null)
+                .toList();
+        if (valid.size() < events.size()) {
+            log.warn("Skipping {} malformed attendance events", events.size() - valid.size());
+        }
+        if (valid.isEmpty()) {
+            return;
         }
+        log.debug("Received {} attendance events", valid.size());
+        analyticsService.processAttendanceEvents(valid);
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,20 @@
 package com.caffein.analyticservice.kafka.consumer;
 
+import com.caffein.analyticservice.config.KafkaConsumerConfig;
 import com.caffein.analyticservice.kafka.EnrollmentEvent;
 import com.caffein.analyticservice.service.AnalyticsService;
+import com.caffein.analyticservice.service.ProcessedEventLedger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -14,13 +22,28 @@ public class EnrollmentEventConsumer {
 
     private final AnalyticsService analyticsService;
 
-    @KafkaListener(topics = "enrollment-events", groupId = "analytics-group")
-    public void handleEnrollmentEvent(EnrollmentEvent event) {
-        log.info("Received enrollment event: {}", event);
-        try {
-            analyticsService.processEnrollmentEvent(event);
-        } catch (Exception e) {
-            log.error("Error processing enrollment event: {}", e.getMessage(), e);
+    @KafkaListener(topics = "enrollment-events", groupId = "analytics-group",
+            containerFactory = KafkaConsumerConfig.BATCH_LISTENER_FACTORY,
+            concurrency = "${app.kafka.enrollment-events.concurrency:1}")
+    public void handleEnrollmentEvents(List<EnrollmentEvent> events,
+            @Header(KafkaHeaders.BATCH_CONVERTED_HEADERS) List<Map<String, Object>> headers) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) != null) {
+                events.get(i).setEventId(ProcessedEventLedger.eventId(headers.get(i)));
+            }
+        }
+        // Payloads that failed JSON conversion arrive as null entries
+        List<EnrollmentEvent> valid = events.stream()
+                .filter(Objects::nonNull)
+                .filter(event -> event.getCourseId() != null && event.getStatus() != null)
+                .toList();
+        if (valid.size() < events.size()) {
+            log.warn("Skipping {} malformed enrollment events", events.size() - valid.size());
+        }
+        if (valid.isEmpty()) {
+            return;
         }
+        log.debug("Received {} enrollment events", valid.size());
+        analyticsService.processEnrollmentEvents(valid);
     }
-}
\ No newline at end of file
+}
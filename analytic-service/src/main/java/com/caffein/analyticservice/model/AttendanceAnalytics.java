@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "attendance_analytics")
+@Table(name = "attendance_analytics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_analytics_course_date", columnNames = {"course_id", "date"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
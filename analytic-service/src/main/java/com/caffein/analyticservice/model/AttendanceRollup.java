@@ -0,0 +1,71 @@
+package com.caffein.analyticservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Attendance counters for one course over a week, month or term, kept up to date
+ * alongside the daily {@link AttendanceAnalytics} rows.
+ */
+@Entity
+@Table(name = "attendance_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_rollups_course_bucket",
+                columnNames = {"course_id", "granularity", "period_start"}),
+        indexes = @Index(name = "idx_attendance_rollups_bucket", columnList = "granularity, period_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(name = "course_name")
+    private String courseName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "total_students")
+    private Long totalStudents;
+
+    @Column(name = "present_count")
+    private Long presentCount;
+
+    @Column(name = "absent_count")
+    private Long absentCount;
+
+    @Column(name = "late_count")
+    private Long lateCount;
+
+    @Column(name = "excused_count")
+    private Long excusedCount;
+
+    @Column(name = "attendance_rate")
+    private Double attendanceRate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
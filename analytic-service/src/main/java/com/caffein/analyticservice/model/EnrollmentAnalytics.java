@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "enrollment_analytics")
+@Table(name = "enrollment_analytics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_analytics_course", columnNames = "course_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,31 @@
+package com.caffein.analyticservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The outbox id of an event that has already been applied, so a redelivered copy
+ * is dropped instead of counted twice.
+ */
+@Entity
+@Table(name = "processed_events",
+        indexes = @Index(name = "idx_processed_events_processed_at", columnList = "processed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedEvent {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,12 @@
+package com.caffein.analyticservice.model;
+
+/**
+ * Bucket sizes for attendance rollups, finest first. DAY is served straight from
+ * {@link AttendanceAnalytics}; the others live in {@link AttendanceRollup}.
+ */
+public enum RollupGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    TERM
+}
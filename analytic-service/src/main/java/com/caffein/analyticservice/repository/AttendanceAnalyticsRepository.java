@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,9 +21,22 @@ public interface AttendanceAnalyticsRepository extends JpaRepository<AttendanceA
 
     List<AttendanceAnalytics> findByDateBetween(LocalDate startDate, LocalDate endDate);
 
+    List<AttendanceAnalytics> findByDateIn(Collection<LocalDate> dates);
+
     @Query("SELECT AVG(a.attendanceRate) FROM AttendanceAnalytics a WHERE a.date BETWEEN :startDate AND :endDate")
     Double getAverageAttendanceRate(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     @Query("SELECT SUM(a.absentCount) FROM AttendanceAnalytics a WHERE a.date = :date")
     Long getTotalAbsencesByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT a.date AS date, AVG(a.attendanceRate) AS averageRate FROM AttendanceAnalytics a " +
+            "WHERE a.date BETWEEN :startDate AND :endDate GROUP BY a.date")
+    List<DailyAttendanceRate> getDailyAverageAttendanceRates(@Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate);
+
+    interface DailyAttendanceRate {
+        LocalDate getDate();
+
+        Double getAverageRate();
+    }
 }
\ No newline at end of file
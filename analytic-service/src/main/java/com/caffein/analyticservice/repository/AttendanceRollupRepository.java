@@ -0,0 +1,17 @@
+package com.caffein.analyticservice.repository;
+
+import com.caffein.analyticservice.model.AttendanceRollup;
+import com.caffein.analyticservice.model.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AttendanceRollupRepository extends JpaRepository<AttendanceRollup, UUID> {
+
+    List<AttendanceRollup> findByGranularityAndPeriodStartIn(RollupGranularity granularity, Collection<LocalDate> periodStarts);
+}
@@ -2,6 +2,7 @@ package com.caffein.analyticservice.repository;
 
 import com.caffein.analyticservice.model.EnrollmentAnalytics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,4 +23,52 @@ public interface EnrollmentAnalyticsRepository extends JpaRepository<EnrollmentA
 
     @Query("SELECT SUM(e.totalEnrolled) FROM EnrollmentAnalytics e")
     Long getTotalEnrollments();
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(e) AS courses, COALESCE(SUM(e.totalEnrolled), 0) AS totalEnrolled, " +
+            "COALESCE(SUM(e.activeEnrollments), 0) AS active, COALESCE(SUM(e.completedEnrollments), 0) AS completed, " +
+            "COALESCE(SUM(e.withdrawnEnrollments), 0) AS withdrawn FROM EnrollmentAnalytics e")
+    EnrollmentTotals getEnrollmentTotals();
+
+    /**
+     * Applies one enrollment transition as a single atomic statement: counters are
+     * adjusted by the given deltas in SQL (active never drops below zero) and the
+     * enrollment rate is recomputed from the new total. Capacity, name and term are
+     * taken from the first event seen for the course, as before.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO enrollment_analytics (id, course_id, course_name, academic_year, semester, total_capacity, " +
+            "total_enrolled, active_enrollments, withdrawn_enrollments, completed_enrollments, enrollment_rate, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), :courseId, :courseName, :academicYear, :semester, CAST(:capacity AS integer), " +
+            ":enrolledDelta, GREATEST(0, :activeDelta), :withdrawnDelta, :completedDelta, " +
+            "ROUND(CAST(:enrolledDelta AS numeric) * 100 / NULLIF(CAST(:capacity AS integer), 0), 2), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (course_id) DO UPDATE SET " +
+            "total_enrolled = enrollment_analytics.total_enrolled + EXCLUDED.total_enrolled, " +
+            "active_enrollments = GREATEST(0, enrollment_analytics.active_enrollments + :activeDelta), " +
+            "withdrawn_enrollments = enrollment_analytics.withdrawn_enrollments + EXCLUDED.withdrawn_enrollments, " +
+            "completed_enrollments = enrollment_analytics.completed_enrollments + EXCLUDED.completed_enrollments, " +
+            "enrollment_rate = COALESCE(ROUND(CAST(enrollment_analytics.total_enrolled + EXCLUDED.total_enrolled AS numeric) * 100 " +
+            "/ NULLIF(enrollment_analytics.total_capacity, 0), 2), enrollment_analytics.enrollment_rate), " +
+            "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    void upsertCounters(@Param("courseId") UUID courseId,
+                        @Param("courseName") String courseName,
+                        @Param("academicYear") String academicYear,
+                        @Param("semester") String semester,
+                        @Param("capacity") Integer capacity,
+                        @Param("enrolledDelta") long enrolledDelta,
+                        @Param("activeDelta") long activeDelta,
+                        @Param("withdrawnDelta") long withdrawnDelta,
+                        @Param("completedDelta") long completedDelta);
+
+    interface EnrollmentTotals {
+        long getCourses();
+
+        long getTotalEnrolled();
+
+        long getActive();
+
+        long getCompleted();
+
+        long getWithdrawn();
+    }
+}
@@ -2,6 +2,7 @@ package com.caffein.analyticservice.service;
 
 
 import com.caffein.analyticservice.dto.AttendanceAnalyticsDTO;
+import com.caffein.analyticservice.dto.AttendanceRollupDTO;
 import com.caffein.analyticservice.dto.DashboardSummaryDTO;
 import com.caffein.analyticservice.dto.EnrollmentAnalyticsDTO;
 import com.caffein.analyticservice.dto.StudentAnalyticsDTO;
@@ -19,9 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,138 +32,75 @@ public class AnalyticsService {
     private final EnrollmentAnalyticsRepository enrollmentAnalyticsRepository;
     private final AttendanceAnalyticsRepository attendanceAnalyticsRepository;
     private final StudentAnalyticsRepository studentAnalyticsRepository;
-
+    private final AttendanceAnalyticsAggregator attendanceAnalyticsAggregator;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final StudentAnalyticsAggregator studentAnalyticsAggregator;
+    private final ProcessedEventLedger processedEventLedger;
+
+    /**
+     * Applies a poll's worth of enrollment events: one course upsert per event and
+     * one student upsert per student in the batch, all in a single transaction.
+     * Redelivered events are dropped first.
+     */
     @Transactional
-    public void processEnrollmentEvent(EnrollmentEvent event) {
-        log.info("Processing enrollment event for course: {}", event.getCourseId());
-
-        EnrollmentAnalytics analytics = enrollmentAnalyticsRepository.findByCourseId(event.getCourseId())
-                .orElse(EnrollmentAnalytics.builder()
-                        .courseId(event.getCourseId())
-                        .courseName(event.getCourseName())
-                        .academicYear(event.getAcademicYear())
-                        .semester(event.getSemester())
-                        .totalCapacity(event.getMaxCapacity())
-                        .totalEnrolled(0L)
-                        .activeEnrollments(0L)
-                        .withdrawnEnrollments(0L)
-                        .completedEnrollments(0L)
-                        .build());
+    public void processEnrollmentEvents(List<EnrollmentEvent> received) {
+        List<EnrollmentEvent> events = processedEventLedger.claimNew(received, EnrollmentEvent::getEventId);
+        if (events.isEmpty()) {
+            return;
+        }
+        events.forEach(this::processEnrollmentEvent);
+        studentAnalyticsAggregator.applyEnrollments(events);
+    }
+
+    private void processEnrollmentEvent(EnrollmentEvent event) {
+        log.debug("Processing enrollment event for course: {}", event.getCourseId());
 
+        long enrolledDelta = 0;
+        long activeDelta = 0;
+        long withdrawnDelta = 0;
+        long completedDelta = 0;
         switch (event.getStatus()) {
             case "REGISTERED":
-                analytics.setTotalEnrolled(analytics.getTotalEnrolled() + 1);
-                analytics.setActiveEnrollments(analytics.getActiveEnrollments() + 1);
+                enrolledDelta = 1;
+                activeDelta = 1;
                 break;
             case "WITHDRAWN":
-                analytics.setActiveEnrollments(Math.max(0, analytics.getActiveEnrollments() - 1));
-                analytics.setWithdrawnEnrollments(analytics.getWithdrawnEnrollments() + 1);
+                activeDelta = -1;
+                withdrawnDelta = 1;
                 break;
             case "COMPLETED":
-                analytics.setActiveEnrollments(Math.max(0, analytics.getActiveEnrollments() - 1));
-                analytics.setCompletedEnrollments(analytics.getCompletedEnrollments() + 1);
+                activeDelta = -1;
+                completedDelta = 1;
                 break;
         }
 
-        if (analytics.getTotalCapacity() != null && analytics.getTotalCapacity() > 0) {
-            double rate = (analytics.getTotalEnrolled() * 100.0) / analytics.getTotalCapacity();
-            analytics.setEnrollmentRate(Math.round(rate * 100.0) / 100.0);
-        }
-
-        enrollmentAnalyticsRepository.save(analytics);
-        log.info("Updated enrollment analytics for course: {}", event.getCourseId());
+        enrollmentAnalyticsRepository.upsertCounters(event.getCourseId(), event.getCourseName(),
+                event.getAcademicYear(), event.getSemester(), event.getMaxCapacity(),
+                enrolledDelta, activeDelta, withdrawnDelta, completedDelta);
+        dashboardSnapshotService.recordEnrollment(event.getStatus());
+        log.debug("Updated enrollment analytics for course: {}", event.getCourseId());
     }
 
+    /**
+     * Applies a poll's worth of attendance events: one upsert per (course, date)
+     * and per student touched, all in a single transaction. Redelivered events are
+     * dropped first.
+     */
     @Transactional
-    public void processAttendanceEvent(AttendanceRecordedEvent event) {
-        log.info("Processing attendance event for course: {} on date: {}", event.getCourseId(), event.getDate());
-
-        AttendanceAnalytics analytics = attendanceAnalyticsRepository
-                .findByCourseIdAndDate(event.getCourseId(), event.getDate())
-                .orElse(AttendanceAnalytics.builder()
-                        .courseId(event.getCourseId())
-                        .courseName(event.getCourseName())
-                        .date(event.getDate())
-                        .totalStudents(0L)
-                        .presentCount(0L)
-                        .absentCount(0L)
-                        .lateCount(0L)
-                        .excusedCount(0L)
-                        .build());
-
-        // Increment appropriate counter
-        switch (event.getStatus()) {
-            case "PRESENT":
-                analytics.setPresentCount(analytics.getPresentCount() + 1);
-                break;
-            case "ABSENT":
-                analytics.setAbsentCount(analytics.getAbsentCount() + 1);
-                break;
-            case "LATE":
-                analytics.setLateCount(analytics.getLateCount() + 1);
-                break;
-            case "EXCUSED":
-                analytics.setExcusedCount(analytics.getExcusedCount() + 1);
-                break;
+    public void processAttendanceEvents(List<AttendanceRecordedEvent> received) {
+        List<AttendanceRecordedEvent> events =
+                processedEventLedger.claimNew(received, AttendanceRecordedEvent::getEventId);
+        if (events.isEmpty()) {
+            return;
         }
-
-        // Calculate total and attendance rate
-        long total = analytics.getPresentCount() + analytics.getAbsentCount() +
-                analytics.getLateCount() + analytics.getExcusedCount();
-        analytics.setTotalStudents(total);
-
-        if (total > 0) {
-            double rate = ((analytics.getPresentCount() + analytics.getLateCount()) * 100.0) / total;
-            analytics.setAttendanceRate(Math.round(rate * 100.0) / 100.0);
-        }
-
-        attendanceAnalyticsRepository.save(analytics);
-
-        // Update student analytics
-        updateStudentAnalytics(event.getStudentId());
-
-        log.info("Updated attendance analytics for course: {} on {}", event.getCourseId(), event.getDate());
-    }
-
-    @Transactional
-    protected void updateStudentAnalytics(UUID studentId) {
-        log.info("Student analytics update triggered for: {}", studentId);
+        attendanceAnalyticsAggregator.apply(events);
+        studentAnalyticsAggregator.applyAttendance(events);
+        dashboardSnapshotService.recordAttendance(events);
     }
 
     public DashboardSummaryDTO getDashboardSummary() {
-        Long totalStudents = studentAnalyticsRepository.getTotalStudents();
-        Long totalEnrollments = enrollmentAnalyticsRepository.getTotalEnrollments();
-        Double avgAttendance = studentAnalyticsRepository.getAverageAttendanceRate();
-        Long absencesToday = attendanceAnalyticsRepository.getTotalAbsencesByDate(LocalDate.now());
-
-        // Get enrollment counts by status
-        List<EnrollmentAnalytics> allEnrollments = enrollmentAnalyticsRepository.findAll();
-        Map<String, Long> enrollmentsByStatus = new HashMap<>();
-        enrollmentsByStatus.put("active", allEnrollments.stream()
-                .mapToLong(EnrollmentAnalytics::getActiveEnrollments).sum());
-        enrollmentsByStatus.put("completed", allEnrollments.stream()
-                .mapToLong(EnrollmentAnalytics::getCompletedEnrollments).sum());
-        enrollmentsByStatus.put("withdrawn", allEnrollments.stream()
-                .mapToLong(EnrollmentAnalytics::getWithdrawnEnrollments).sum());
-
-        // Get attendance trends for last 7 days
-        LocalDate today = LocalDate.now();
-        Map<String, Double> attendanceTrends = new HashMap<>();
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            Double rate = attendanceAnalyticsRepository.getAverageAttendanceRate(date, date);
-            attendanceTrends.put(date.toString(), rate != null ? rate : 0.0);
-        }
-
-        return DashboardSummaryDTO.builder()
-                .totalStudents(totalStudents != null ? totalStudents : 0L)
-                .totalCourses((long) allEnrollments.size())
-                .totalEnrollments(totalEnrollments != null ? totalEnrollments : 0L)
-                .averageAttendanceRate(avgAttendance != null ? Math.round(avgAttendance * 100.0) / 100.0 : 0.0)
-                .totalAbsencesToday(absencesToday != null ? absencesToday : 0L)
-                .enrollmentsByStatus(enrollmentsByStatus)
-                .attendanceTrends(attendanceTrends)
-                .build();
+        return dashboardSnapshotService.getSummary();
     }
 
     public List<EnrollmentAnalyticsDTO> getEnrollmentAnalyticsByTerm(String academicYear, String semester) {
@@ -181,6 +117,10 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
     }
 
+    public List<AttendanceRollupDTO> getAttendanceRollups(LocalDate startDate, LocalDate endDate) {
+        return attendanceRollupService.findCovering(startDate, endDate);
+    }
+
     public StudentAnalyticsDTO getStudentAnalytics(UUID studentId) {
         return studentAnalyticsRepository.findByStudentId(studentId)
                 .map(this::toStudentDTO)
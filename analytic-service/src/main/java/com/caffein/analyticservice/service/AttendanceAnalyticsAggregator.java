@@ -0,0 +1,66 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds attendance events into per-(course, date) counter deltas and applies each
+ * group with one atomic upsert. Counts are added in SQL and the attendance rate is
+ * recomputed from the new totals, so concurrent consumers never lose an update.
+ * The same deltas then roll up into the week, month and term buckets.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceAnalyticsAggregator {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance_analytics (id, course_id, course_name, date, total_students, present_count, " +
+            "absent_count, late_count, excused_count, attendance_rate, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, " +
+            "ROUND(CAST(? AS numeric) * 100 / NULLIF(?, 0), 2), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (course_id, date) DO UPDATE SET " +
+            "course_name = COALESCE(EXCLUDED.course_name, attendance_analytics.course_name), " +
+            "total_students = attendance_analytics.total_students + EXCLUDED.total_students, " +
+            "present_count = attendance_analytics.present_count + EXCLUDED.present_count, " +
+            "absent_count = attendance_analytics.absent_count + EXCLUDED.absent_count, " +
+            "late_count = attendance_analytics.late_count + EXCLUDED.late_count, " +
+            "excused_count = attendance_analytics.excused_count + EXCLUDED.excused_count, " +
+            "attendance_rate = ROUND(CAST(attendance_analytics.present_count + EXCLUDED.present_count " +
+            "+ attendance_analytics.late_count + EXCLUDED.late_count AS numeric) * 100 " +
+            "/ NULLIF(attendance_analytics.total_students + EXCLUDED.total_students, 0), 2), " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceRollupService attendanceRollupService;
+
+    @Transactional
+    public void apply(Collection<AttendanceRecordedEvent> events) {
+        Map<CourseDay, AttendanceCounts> groups = new LinkedHashMap<>();
+        for (AttendanceRecordedEvent event : events) {
+            groups.computeIfAbsent(new CourseDay(event.getCourseId(), event.getDate()), key -> new AttendanceCounts())
+                    .add(event);
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(groups.size());
+        groups.forEach((key, counts) -> batchArgs.add(new Object[]{
+                key.courseId(), counts.courseName, Date.valueOf(key.date()), counts.total(),
+                counts.present, counts.absent, counts.late, counts.excused,
+                counts.attended(), counts.total()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+        attendanceRollupService.apply(groups);
+        log.info("Applied {} attendance events as {} course/date upserts", events.size(), groups.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-status counter deltas folded in memory before they are upserted.
+ */
+@Slf4j
+final class AttendanceCounts {
+
+    String courseName;
+    long present;
+    long absent;
+    long late;
+    long excused;
+
+    void add(AttendanceRecordedEvent event) {
+        if (event.getCourseName() != null) {
+            courseName = event.getCourseName();
+        }
+        switch (event.getStatus()) {
+            case "PRESENT" -> present++;
+            case "ABSENT" -> absent++;
+            case "LATE" -> late++;
+            case "EXCUSED" -> excused++;
+            default -> log.warn("Ignoring attendance event with unknown status {}", event.getStatus());
+        }
+    }
+
+    void add(AttendanceCounts other) {
+        if (other.courseName != null) {
+            courseName = other.courseName;
+        }
+        present += other.present;
+        absent += other.absent;
+        late += other.late;
+        excused += other.excused;
+    }
+
+    long attended() {
+        return present + late;
+    }
+
+    long total() {
+        return present + absent + late + excused;
+    }
+}
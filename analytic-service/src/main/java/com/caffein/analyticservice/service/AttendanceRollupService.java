@@ -0,0 +1,221 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.dto.AttendanceRollupDTO;
+import com.caffein.analyticservice.model.AttendanceAnalytics;
+import com.caffein.analyticservice.model.AttendanceRollup;
+import com.caffein.analyticservice.model.RollupGranularity;
+import com.caffein.analyticservice.repository.AttendanceAnalyticsRepository;
+import com.caffein.analyticservice.repository.AttendanceRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains week, month and term rollups of the daily attendance analytics and
+ * answers range queries from the coarsest buckets that fit inside the range.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceRollupService implements SmartInitializingSingleton {
+
+    private static final List<RollupGranularity> COARSEST_FIRST =
+            List.of(RollupGranularity.TERM, RollupGranularity.MONTH, RollupGranularity.WEEK);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance_rollups (id, course_id, course_name, granularity, period_start, period_end, " +
+            "total_students, present_count, absent_count, late_count, excused_count, attendance_rate, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+            "ROUND(CAST(? AS numeric) * 100 / NULLIF(?, 0), 2), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (course_id, granularity, period_start) DO UPDATE SET " +
+            "course_name = COALESCE(EXCLUDED.course_name, attendance_rollups.course_name), " +
+            "total_students = attendance_rollups.total_students + EXCLUDED.total_students, " +
+            "present_count = attendance_rollups.present_count + EXCLUDED.present_count, " +
+            "absent_count = attendance_rollups.absent_count + EXCLUDED.absent_count, " +
+            "late_count = attendance_rollups.late_count + EXCLUDED.late_count, " +
+            "excused_count = attendance_rollups.excused_count + EXCLUDED.excused_count, " +
+            "attendance_rate = ROUND(CAST(attendance_rollups.present_count + EXCLUDED.present_count " +
+            "+ attendance_rollups.late_count + EXCLUDED.late_count AS numeric) * 100 " +
+            "/ NULLIF(attendance_rollups.total_students + EXCLUDED.total_students, 0), 2), " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    // Weeks cross month boundaries, so the backfill sums days per week and per month;
+    // months nest in terms and are folded into them in memory
+    private static final String WEEK_TOTALS_SQL = totalsSql("week");
+    private static final String MONTH_TOTALS_SQL = totalsSql("month");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupCalendar rollupCalendar;
+    private final AttendanceRollupRepository attendanceRollupRepository;
+    private final AttendanceAnalyticsRepository attendanceAnalyticsRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Adds per-(course, day) deltas to every bucket containing that day, with one
+     * upsert per bucket touched.
+     */
+    @Transactional
+    public void apply(Map<CourseDay, AttendanceCounts> dailyDeltas) {
+        Map<Bucket, AttendanceCounts> buckets = new LinkedHashMap<>();
+        dailyDeltas.forEach((day, counts) -> {
+            for (RollupGranularity granularity : COARSEST_FIRST) {
+                addTo(buckets, granularity, day, counts);
+            }
+        });
+        upsert(buckets);
+    }
+
+    private void addTo(Map<Bucket, AttendanceCounts> buckets, RollupGranularity granularity,
+                       CourseDay day, AttendanceCounts counts) {
+        Bucket bucket = new Bucket(day.courseId(), granularity, rollupCalendar.periodStart(granularity, day.date()));
+        buckets.computeIfAbsent(bucket, key -> new AttendanceCounts()).add(counts);
+    }
+
+    private void upsert(Map<Bucket, AttendanceCounts> buckets) {
+        List<Object[]> batchArgs = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, counts) -> batchArgs.add(new Object[]{
+                bucket.courseId(), counts.courseName, bucket.granularity().name(),
+                Date.valueOf(bucket.periodStart()),
+                Date.valueOf(rollupCalendar.periodEnd(bucket.granularity(), bucket.periodStart())),
+                counts.total(), counts.present, counts.absent, counts.late, counts.excused,
+                counts.attended(), counts.total()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    /**
+     * Seeds the rollups from the daily rows recorded before they existed. Runs
+     * before the Kafka listeners start, so no event can be counted twice.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> backfillIfEmpty());
+    }
+
+    private void backfillIfEmpty() {
+        if (attendanceRollupRepository.count() > 0 || attendanceAnalyticsRepository.count() == 0) {
+            return;
+        }
+        // Another instance may be starting up at the same time
+        jdbcTemplate.execute("LOCK TABLE attendance_rollups IN EXCLUSIVE MODE");
+        if (attendanceRollupRepository.count() > 0) {
+            return;
+        }
+        Map<Bucket, AttendanceCounts> buckets = new LinkedHashMap<>();
+        jdbcTemplate.query(WEEK_TOTALS_SQL, AttendanceRollupService::toPeriodTotals)
+                .forEach(week -> addTo(buckets, RollupGranularity.WEEK, week.getKey(), week.getValue()));
+        jdbcTemplate.query(MONTH_TOTALS_SQL, AttendanceRollupService::toPeriodTotals).forEach(month -> {
+            addTo(buckets, RollupGranularity.MONTH, month.getKey(), month.getValue());
+            addTo(buckets, RollupGranularity.TERM, month.getKey(), month.getValue());
+        });
+        upsert(buckets);
+        log.info("Backfilled {} attendance rollups from the daily rows", buckets.size());
+    }
+
+    private static String totalsSql(String period) {
+        String periodStart = "CAST(date_trunc('" + period + "', date) AS date)";
+        return "SELECT course_id, MAX(course_name) AS course_name, " + periodStart + " AS period_start, " +
+                "SUM(present_count) AS present_count, SUM(absent_count) AS absent_count, " +
+                "SUM(late_count) AS late_count, SUM(excused_count) AS excused_count " +
+                "FROM attendance_analytics GROUP BY course_id, " + periodStart;
+    }
+
+    // One course's counts for the period starting on the key's date
+    private static Map.Entry<CourseDay, AttendanceCounts> toPeriodTotals(ResultSet rs, int rowNum) throws SQLException {
+        AttendanceCounts counts = new AttendanceCounts();
+        counts.courseName = rs.getString("course_name");
+        counts.present = rs.getLong("present_count");
+        counts.absent = rs.getLong("absent_count");
+        counts.late = rs.getLong("late_count");
+        counts.excused = rs.getLong("excused_count");
+        CourseDay period = new CourseDay(rs.getObject("course_id", UUID.class), rs.getDate("period_start").toLocalDate());
+        return Map.entry(period, counts);
+    }
+
+    /**
+     * Covers [startDate, endDate] with the coarsest whole buckets that fit: terms,
+     * then months, then weeks, and single days only at ragged edges.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceRollupDTO> findCovering(LocalDate startDate, LocalDate endDate) {
+        Map<RollupGranularity, List<LocalDate>> plan = new EnumMap<>(RollupGranularity.class);
+        LocalDate cursor = startDate;
+        while (!cursor.isAfter(endDate)) {
+            RollupGranularity chosen = RollupGranularity.DAY;
+            for (RollupGranularity granularity : COARSEST_FIRST) {
+                if (rollupCalendar.periodStart(granularity, cursor).equals(cursor)
+                        && !rollupCalendar.periodEnd(granularity, cursor).isAfter(endDate)) {
+                    chosen = granularity;
+                    break;
+                }
+            }
+            plan.computeIfAbsent(chosen, key -> new ArrayList<>()).add(cursor);
+            cursor = rollupCalendar.periodEnd(chosen, cursor).plusDays(1);
+        }
+
+        List<AttendanceRollupDTO> result = new ArrayList<>();
+        plan.forEach((granularity, starts) -> {
+            if (granularity == RollupGranularity.DAY) {
+                attendanceAnalyticsRepository.findByDateIn(starts).forEach(row -> result.add(toDTO(row)));
+            } else {
+                attendanceRollupRepository.findByGranularityAndPeriodStartIn(granularity, starts)
+                        .forEach(row -> result.add(toDTO(row)));
+            }
+        });
+        result.sort(Comparator.comparing(AttendanceRollupDTO::getCourseId)
+                .thenComparing(AttendanceRollupDTO::getPeriodStart));
+        return result;
+    }
+
+    private AttendanceRollupDTO toDTO(AttendanceRollup entity) {
+        return AttendanceRollupDTO.builder()
+                .courseId(entity.getCourseId())
+                .courseName(entity.getCourseName())
+                .granularity(entity.getGranularity())
+                .periodStart(entity.getPeriodStart())
+                .periodEnd(entity.getPeriodEnd())
+                .totalStudents(entity.getTotalStudents())
+                .presentCount(entity.getPresentCount())
+                .absentCount(entity.getAbsentCount())
+                .lateCount(entity.getLateCount())
+                .excusedCount(entity.getExcusedCount())
+                .attendanceRate(entity.getAttendanceRate())
+                .build();
+    }
+
+    private AttendanceRollupDTO toDTO(AttendanceAnalytics entity) {
+        return AttendanceRollupDTO.builder()
+                .courseId(entity.getCourseId())
+                .courseName(entity.getCourseName())
+                .granularity(RollupGranularity.DAY)
+                .periodStart(entity.getDate())
+                .periodEnd(entity.getDate())
+                .totalStudents(entity.getTotalStudents())
+                .presentCount(entity.getPresentCount())
+                .absentCount(entity.getAbsentCount())
+                .lateCount(entity.getLateCount())
+                .excusedCount(entity.getExcusedCount())
+                .attendanceRate(entity.getAttendanceRate())
+                .build();
+    }
+
+    private record Bucket(UUID courseId, RollupGranularity granularity, LocalDate periodStart) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.caffein.analyticservice.service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+record CourseDay(UUID courseId, LocalDate date) {
+}
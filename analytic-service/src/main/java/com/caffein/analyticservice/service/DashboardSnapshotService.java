@@ -0,0 +1,234 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.dto.DashboardSummaryDTO;
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import com.caffein.analyticservice.repository.AttendanceAnalyticsRepository;
+import com.caffein.analyticservice.repository.EnrollmentAnalyticsRepository;
+import com.caffein.analyticservice.repository.StudentAnalyticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serves the dashboard summary from an in-memory snapshot.
+ * <p>
+ * Committed events adjust the snapshot's counters (enrollments by status, absences
+ * today) as they are processed. Averages and anything written by another instance
+ * are picked up by a periodic rebuild from the analytics tables, so a read is never
+ * older than {@code app.dashboard.max-staleness-ms}.
+ * <p>
+ * A rebuild reads the tables while holding {@link #commitGate} exclusively, and a
+ * transaction that carries deltas holds it shared from just before its commit until
+ * its deltas are applied. Each delta therefore lands either in the snapshot the
+ * rebuild replaces, or in the rebuilt one when the rebuild could not have read it.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotService {
+
+    private static final int TREND_DAYS = 7;
+
+    private final AttendanceAnalyticsRepository attendanceAnalyticsRepository;
+    private final EnrollmentAnalyticsRepository enrollmentAnalyticsRepository;
+    private final StudentAnalyticsRepository studentAnalyticsRepository;
+    private final Duration maxStaleness;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    public DashboardSnapshotService(
+            AttendanceAnalyticsRepository attendanceAnalyticsRepository,
+            EnrollmentAnalyticsRepository enrollmentAnalyticsRepository,
+            StudentAnalyticsRepository studentAnalyticsRepository,
+            @Value("${app.dashboard.max-staleness-ms:30000}") long maxStalenessMs) {
+        this.attendanceAnalyticsRepository = attendanceAnalyticsRepository;
+        this.enrollmentAnalyticsRepository = enrollmentAnalyticsRepository;
+        this.studentAnalyticsRepository = studentAnalyticsRepository;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMs);
+    }
+
+    public DashboardSummaryDTO getSummary() {
+        Snapshot current = snapshot.get();
+        // Only hit the database if the scheduled rebuild has fallen behind
+        if (current == null || current.isStale(clock.instant(), LocalDate.now(clock), maxStaleness)) {
+            current = rebuild();
+        }
+        return current.toDTO();
+    }
+
+    // Rebuild at half the bound so readers rarely find the snapshot stale
+    @Scheduled(fixedDelayString = "#{${app.dashboard.max-staleness-ms:30000} / 2}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild dashboard snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    public void recordEnrollment(String status) {
+        afterCommit(() -> snapshot.updateAndGet(current -> current == null ? null : current.withEnrollment(status)));
+    }
+
+    public void recordAttendance(Collection<AttendanceRecordedEvent> events) {
+        LocalDate today = LocalDate.now(clock);
+        long absencesToday = events.stream()
+                .filter(event -> "ABSENT".equals(event.getStatus()) && today.equals(event.getDate()))
+                .count();
+        if (absencesToday == 0) {
+            return;
+        }
+        afterCommit(() -> snapshot.updateAndGet(current ->
+                current == null || !current.day.equals(today) ? current : current.withAbsencesToday(absencesToday)));
+    }
+
+    private Snapshot rebuild() {
+        Lock lock = commitGate.writeLock();
+        lock.lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot rebuildLocked() {
+        LocalDate today = LocalDate.now(clock);
+        Instant builtAt = clock.instant();
+
+        Long totalStudents = studentAnalyticsRepository.getTotalStudents();
+        Double avgAttendance = studentAnalyticsRepository.getAverageAttendanceRate();
+        Long absencesToday = attendanceAnalyticsRepository.getTotalAbsencesByDate(today);
+        EnrollmentAnalyticsRepository.EnrollmentTotals totals = enrollmentAnalyticsRepository.getEnrollmentTotals();
+
+        Map<String, Double> attendanceTrends = new LinkedHashMap<>();
+        for (int i = TREND_DAYS - 1; i >= 0; i--) {
+            attendanceTrends.put(today.minusDays(i).toString(), 0.0);
+        }
+        attendanceAnalyticsRepository.getDailyAverageAttendanceRates(today.minusDays(TREND_DAYS - 1), today)
+                .forEach(rate -> attendanceTrends.put(rate.getDate().toString(),
+                        rate.getAverageRate() != null ? rate.getAverageRate() : 0.0));
+
+        Snapshot rebuilt = new Snapshot(
+                today,
+                builtAt,
+                totalStudents != null ? totalStudents : 0L,
+                totals.getCourses(),
+                totals.getTotalEnrolled(),
+                avgAttendance != null ? Math.round(avgAttendance * 100.0) / 100.0 : 0.0,
+                absencesToday != null ? absencesToday : 0L,
+                totals.getActive(),
+                totals.getCompleted(),
+                totals.getWithdrawn(),
+                Collections.unmodifiableMap(attendanceTrends));
+        snapshot.set(rebuilt);
+        return rebuilt;
+    }
+
+    private void afterCommit(Runnable action) {
+        Lock lock = commitGate.readLock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                action.run();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private record Snapshot(LocalDate day,
+                            Instant builtAt,
+                            long totalStudents,
+                            long totalCourses,
+                            long totalEnrollments,
+                            double averageAttendanceRate,
+                            long absencesToday,
+                            long activeEnrollments,
+                            long completedEnrollments,
+                            long withdrawnEnrollments,
+                            Map<String, Double> attendanceTrends) {
+
+        private boolean isStale(Instant now, LocalDate today, Duration maxStaleness) {
+            return !day.equals(today) || builtAt.plus(maxStaleness).isBefore(now);
+        }
+
+        private Snapshot withEnrollment(String status) {
+            return switch (status) {
+                case "REGISTERED" -> new Snapshot(day, builtAt, totalStudents, totalCourses, totalEnrollments + 1,
+                        averageAttendanceRate, absencesToday, activeEnrollments + 1, completedEnrollments,
+                        withdrawnEnrollments, attendanceTrends);
+                case "WITHDRAWN" -> new Snapshot(day, builtAt, totalStudents, totalCourses, totalEnrollments,
+                        averageAttendanceRate, absencesToday, Math.max(0, activeEnrollments - 1), completedEnrollments,
+                        withdrawnEnrollments + 1, attendanceTrends);
+                case "COMPLETED" -> new Snapshot(day, builtAt, totalStudents, totalCourses, totalEnrollments,
+                        averageAttendanceRate, absencesToday, Math.max(0, activeEnrollments - 1), completedEnrollments + 1,
+                        withdrawnEnrollments, attendanceTrends);
+                default -> this;
+            };
+        }
+
+        private Snapshot withAbsencesToday(long absences) {
+            return new Snapshot(day, builtAt, totalStudents, totalCourses, totalEnrollments, averageAttendanceRate,
+                    absencesToday + absences, activeEnrollments, completedEnrollments, withdrawnEnrollments,
+                    attendanceTrends);
+        }
+
+        private DashboardSummaryDTO toDTO() {
+            Map<String, Long> enrollmentsByStatus = new LinkedHashMap<>();
+            enrollmentsByStatus.put("active", activeEnrollments);
+            enrollmentsByStatus.put("completed", completedEnrollments);
+            enrollmentsByStatus.put("withdrawn", withdrawnEnrollments);
+
+            return DashboardSummaryDTO.builder()
+                    .totalStudents(totalStudents)
+                    .totalCourses(totalCourses)
+                    .totalEnrollments(totalEnrollments)
+                    .averageAttendanceRate(averageAttendanceRate)
+                    .totalAbsencesToday(absencesToday)
+                    .enrollmentsByStatus(enrollmentsByStatus)
+                    .attendanceTrends(new LinkedHashMap<>(attendanceTrends))
+                    .build();
+        }
+    }
+}
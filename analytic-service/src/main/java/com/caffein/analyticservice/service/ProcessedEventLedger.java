@@ -0,0 +1,105 @@
+package com.caffein.analyticservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Drops redelivered events. The student-service outbox relay stamps every record
+ * with its outbox id in the {@code event-id} header; claiming an id inserts it into
+ * {@code processed_events} in the same transaction as the analytics upserts, so an
+ * id is recorded exactly when its event has been applied.
+ */
+@Component
+@Slf4j
+public class ProcessedEventLedger {
+
+    public static final String EVENT_ID_HEADER = "event-id";
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO processed_events (event_id, processed_at) VALUES (?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (event_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long retentionHours;
+
+    public ProcessedEventLedger(JdbcTemplate jdbcTemplate,
+                                @Value("${app.kafka.processed-event-retention-hours:168}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Returns the events whose ids have not been claimed before, in their original
+     * order. Events without an id (published before the outbox) are always kept.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> claimNew(List<T> events, Function<T, UUID> idOf) {
+        List<T> identified = new ArrayList<>(events.size());
+        List<Object[]> batchArgs = new ArrayList<>(events.size());
+        for (T event : events) {
+            UUID id = idOf.apply(event);
+            if (id != null) {
+                identified.add(event);
+                batchArgs.add(new Object[]{id});
+            }
+        }
+        if (identified.isEmpty()) {
+            return events;
+        }
+
+        int[] inserted = jdbcTemplate.batchUpdate(CLAIM_SQL, batchArgs);
+        List<T> fresh = new ArrayList<>(events.size());
+        int next = 0;
+        for (T event : events) {
+            if (idOf.apply(event) == null) {
+                fresh.add(event);
+            } else if (inserted[next++] != 0) {
+                fresh.add(event);
+            }
+        }
+        if (fresh.size() < events.size()) {
+            log.info("Dropped {} already processed events", events.size() - fresh.size());
+        }
+        return fresh;
+    }
+
+    @Scheduled(fixedDelayString = "${app.kafka.processed-event-cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM processed_events WHERE processed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted > 0) {
+            log.info("Purged {} processed event ids", deleted);
+        }
+    }
+
+    /**
+     * Reads the outbox id from one record's converted headers, or {@code null} when
+     * the record has none.
+     */
+    public static UUID eventId(Map<String, Object> headers) {
+        Object value = headers != null ? headers.get(EVENT_ID_HEADER) : null;
+        if (value == null) {
+            return null;
+        }
+        String text = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+        try {
+            return UUID.fromString(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.model.RollupGranularity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bucket boundaries for attendance rollups. Weeks start on Monday, months on the
+ * 1st, and terms on the 1st of each month in {@code app.analytics.term-start-months}.
+ * Attendance events carry no term information, so the term calendar is configured.
+ */
+@Component
+public class RollupCalendar {
+
+    private final List<Integer> termStartMonths;
+
+    public RollupCalendar(@Value("${app.analytics.term-start-months:1,9}") Set<Integer> termStartMonths) {
+        if (termStartMonths.isEmpty() || termStartMonths.stream().anyMatch(month -> month < 1 || month > 12)) {
+            throw new IllegalArgumentException("app.analytics.term-start-months must list months between 1 and 12");
+        }
+        this.termStartMonths = List.copyOf(new TreeSet<>(termStartMonths));
+    }
+
+    public LocalDate periodStart(RollupGranularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case TERM -> termStart(date);
+        };
+    }
+
+    public LocalDate periodEnd(RollupGranularity granularity, LocalDate date) {
+        LocalDate start = periodStart(granularity, date);
+        return switch (granularity) {
+            case DAY -> start;
+            case WEEK -> start.plusDays(6);
+            case MONTH -> start.plusMonths(1).minusDays(1);
+            case TERM -> nextTermStart(start).minusDays(1);
+        };
+    }
+
+    private LocalDate termStart(LocalDate date) {
+        int month = date.getMonthValue();
+        for (int i = termStartMonths.size() - 1; i >= 0; i--) {
+            if (termStartMonths.get(i) <= month) {
+                return LocalDate.of(date.getYear(), termStartMonths.get(i), 1);
+            }
+        }
+        // Before the first term start of the year: still in last year's final term
+        return LocalDate.of(date.getYear() - 1, termStartMonths.get(termStartMonths.size() - 1), 1);
+    }
+
+    private LocalDate nextTermStart(LocalDate termStart) {
+        return termStartMonths.stream()
+                .filter(month -> month > termStart.getMonthValue())
+                .findFirst()
+                .map(month -> LocalDate.of(termStart.getYear(), month, 1))
+                .orElse(LocalDate.of(termStart.getYear() + 1, termStartMonths.get(0), 1));
+    }
+}
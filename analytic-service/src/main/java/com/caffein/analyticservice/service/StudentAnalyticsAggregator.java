@@ -0,0 +1,129 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import com.caffein.analyticservice.kafka.EnrollmentEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Folds a batch of attendance or enrollment events into one delta per student and
+ * applies each with a single upsert, so a whole-class roll call costs one write per
+ * student. The attendance rate counts PRESENT and LATE as attended, the same as the
+ * course-level analytics.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentAnalyticsAggregator {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO student_analytics (id, student_id, total_enrollments, active_enrollments, completed_courses, " +
+            "withdrawn_courses, total_classes, total_classes_attended, total_absences, overall_attendance_rate, " +
+            "created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), ?, ?, GREATEST(0, ?), ?, ?, ?, ?, ?, " +
+            "ROUND(CAST(? AS numeric) * 100 / NULLIF(?, 0), 2), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (student_id) DO UPDATE SET " +
+            "total_enrollments = student_analytics.total_enrollments + EXCLUDED.total_enrollments, " +
+            "active_enrollments = GREATEST(0, student_analytics.active_enrollments + ?), " +
+            "completed_courses = student_analytics.completed_courses + EXCLUDED.completed_courses, " +
+            "withdrawn_courses = student_analytics.withdrawn_courses + EXCLUDED.withdrawn_courses, " +
+            "total_classes = student_analytics.total_classes + EXCLUDED.total_classes, " +
+            "total_classes_attended = student_analytics.total_classes_attended + EXCLUDED.total_classes_attended, " +
+            "total_absences = student_analytics.total_absences + EXCLUDED.total_absences, " +
+            "overall_attendance_rate = COALESCE(ROUND(CAST(student_analytics.total_classes_attended " +
+            "+ EXCLUDED.total_classes_attended AS numeric) * 100 " +
+            "/ NULLIF(student_analytics.total_classes + EXCLUDED.total_classes, 0), 2), " +
+            "student_analytics.overall_attendance_rate), " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void applyAttendance(Collection<AttendanceRecordedEvent> events) {
+        Map<UUID, StudentDelta> deltas = new TreeMap<>();
+        for (AttendanceRecordedEvent event : events) {
+            if (event.getStudentId() == null) {
+                continue;
+            }
+            StudentDelta delta = deltas.computeIfAbsent(event.getStudentId(), id -> new StudentDelta());
+            switch (event.getStatus()) {
+                case "PRESENT", "LATE" -> {
+                    delta.classes++;
+                    delta.attended++;
+                }
+                case "ABSENT" -> {
+                    delta.classes++;
+                    delta.absences++;
+                }
+                case "EXCUSED" -> delta.classes++;
+                default -> {
+                }
+            }
+        }
+        upsert(deltas);
+    }
+
+    @Transactional
+    public void applyEnrollments(Collection<EnrollmentEvent> events) {
+        Map<UUID, StudentDelta> deltas = new TreeMap<>();
+        for (EnrollmentEvent event : events) {
+            if (event.getStudentId() == null) {
+                continue;
+            }
+            StudentDelta delta = deltas.computeIfAbsent(event.getStudentId(), id -> new StudentDelta());
+            switch (event.getStatus()) {
+                case "REGISTERED" -> {
+                    delta.enrollments++;
+                    delta.active++;
+                }
+                case "WITHDRAWN" -> {
+                    delta.active--;
+                    delta.withdrawn++;
+                }
+                case "COMPLETED" -> {
+                    delta.active--;
+                    delta.completed++;
+                }
+                default -> {
+                }
+            }
+        }
+        upsert(deltas);
+    }
+
+    // Sorted by student id so concurrent batches lock shared rows in the same order
+    private void upsert(Map<UUID, StudentDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((studentId, delta) -> batchArgs.add(new Object[]{
+                studentId, delta.enrollments, delta.active, delta.completed, delta.withdrawn,
+                delta.classes, delta.attended, delta.absences,
+                delta.attended, delta.classes,
+                delta.active
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+        log.info("Applied student analytics for {} students", deltas.size());
+    }
+
+    private static final class StudentDelta {
+        private long enrollments;
+        private long active;
+        private long completed;
+        private long withdrawn;
+        private long classes;
+        private long attended;
+        private long absences;
+    }
+}
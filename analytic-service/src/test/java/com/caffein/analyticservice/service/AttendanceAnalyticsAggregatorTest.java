@@ -0,0 +1,96 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("AttendanceAnalyticsAggregator Tests")
+class AttendanceAnalyticsAggregatorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AttendanceRollupService attendanceRollupService = mock(AttendanceRollupService.class);
+    private final AttendanceAnalyticsAggregator aggregator =
+            new AttendanceAnalyticsAggregator(jdbcTemplate, attendanceRollupService);
+
+    private final UUID math = UUID.randomUUID();
+    private final UUID physics = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should fold a batch into one upsert per course and date")
+    @SuppressWarnings("unchecked")
+    void shouldUpsertOncePerCourseDay() {
+        aggregator.apply(List.of(
+                event(math, null, MONDAY, "PRESENT"),
+                event(math, "Mathematics", MONDAY, "ABSENT"),
+                event(physics, "Physics", MONDAY, "LATE"),
+                event(math, null, MONDAY, "LATE"),
+                event(math, "Mathematics", MONDAY.plusDays(1), "EXCUSED")));
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        // course, name, date, total, present, absent, late, excused, attended, total
+        assertThat(batch.getValue()).containsExactly(
+                new Object[]{math, "Mathematics", Date.valueOf(MONDAY), 3L, 1L, 1L, 1L, 0L, 2L, 3L},
+                new Object[]{physics, "Physics", Date.valueOf(MONDAY), 1L, 0L, 0L, 1L, 0L, 1L, 1L},
+                new Object[]{math, "Mathematics", Date.valueOf(MONDAY.plusDays(1)), 1L, 0L, 0L, 0L, 1L, 0L, 1L});
+    }
+
+    @Test
+    @DisplayName("Should pass the same per-day deltas on to the rollups")
+    @SuppressWarnings("unchecked")
+    void shouldApplyRollupsFromSameDeltas() {
+        aggregator.apply(List.of(
+                event(math, "Mathematics", MONDAY, "PRESENT"),
+                event(math, "Mathematics", MONDAY, "ABSENT"),
+                event(physics, "Physics", MONDAY, "PRESENT")));
+
+        ArgumentCaptor<Map<CourseDay, AttendanceCounts>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(attendanceRollupService).apply(deltas.capture());
+        assertThat(deltas.getValue()).containsOnlyKeys(new CourseDay(math, MONDAY), new CourseDay(physics, MONDAY));
+        AttendanceCounts mathCounts = deltas.getValue().get(new CourseDay(math, MONDAY));
+        assertThat(mathCounts.present).isEqualTo(1);
+        assertThat(mathCounts.absent).isEqualTo(1);
+        assertThat(mathCounts.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should leave events with an unknown status out of the counts")
+    @SuppressWarnings("unchecked")
+    void shouldIgnoreUnknownStatus() {
+        aggregator.apply(List.of(
+                event(math, "Mathematics", MONDAY, "PRESENT"),
+                event(math, "Mathematics", MONDAY, "TARDY")));
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).containsExactly(
+                new Object[]{math, "Mathematics", Date.valueOf(MONDAY), 1L, 1L, 0L, 0L, 0L, 1L, 1L});
+    }
+
+    private static AttendanceRecordedEvent event(UUID courseId, String courseName, LocalDate date, String status) {
+        return AttendanceRecordedEvent.builder()
+                .attendanceId(UUID.randomUUID())
+                .studentId(UUID.randomUUID())
+                .courseId(courseId)
+                .courseName(courseName)
+                .date(date)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.model.AttendanceAnalytics;
+import com.caffein.analyticservice.model.RollupGranularity;
+import com.caffein.analyticservice.repository.AttendanceAnalyticsRepository;
+import com.caffein.analyticservice.repository.AttendanceRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AttendanceRollupService Tests")
+class AttendanceRollupServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AttendanceRollupRepository attendanceRollupRepository = mock(AttendanceRollupRepository.class);
+    private final AttendanceAnalyticsRepository attendanceAnalyticsRepository = mock(AttendanceAnalyticsRepository.class);
+    private final AttendanceRollupService service = new AttendanceRollupService(jdbcTemplate,
+            new RollupCalendar(Set.of(1, 9)), attendanceRollupRepository, attendanceAnalyticsRepository,
+            mock(PlatformTransactionManager.class));
+
+    private final UUID math = UUID.randomUUID();
+
+    @Nested
+    @DisplayName("apply")
+    class Apply {
+
+        @Test
+        @DisplayName("Should add each day's counts to its week, month and term once per bucket")
+        void shouldFoldDaysIntoBuckets() {
+            service.apply(Map.of(
+                    new CourseDay(math, LocalDate.of(2025, 3, 5)), counts("Mathematics", 3, 1),
+                    new CourseDay(math, LocalDate.of(2025, 3, 6)), counts("Mathematics", 2, 0)));
+
+            // course, name, granularity, start, end, total, present, absent, late, excused, attended, total
+            assertThat(upserted()).containsExactlyInAnyOrder(
+                    new Object[]{math, "Mathematics", "TERM", date(2025, 1, 1), date(2025, 8, 31), 6L, 5L, 1L, 0L, 0L, 5L, 6L},
+                    new Object[]{math, "Mathematics", "MONTH", date(2025, 3, 1), date(2025, 3, 31), 6L, 5L, 1L, 0L, 0L, 5L, 6L},
+                    new Object[]{math, "Mathematics", "WEEK", date(2025, 3, 3), date(2025, 3, 9), 6L, 5L, 1L, 0L, 0L, 5L, 6L});
+        }
+    }
+
+    @Nested
+    @DisplayName("backfill")
+    class Backfill {
+
+        @Test
+        @DisplayName("Should seed every bucket from per-week and per-month sums without loading the daily rows")
+        @SuppressWarnings("unchecked")
+        void shouldBackfillFromPeriodTotals() {
+            when(attendanceRollupRepository.count()).thenReturn(0L);
+            when(attendanceAnalyticsRepository.count()).thenReturn(40L);
+            when(jdbcTemplate.query(contains("'week'"), any(RowMapper.class))).thenReturn(List.of(
+                    Map.entry(new CourseDay(math, LocalDate.of(2025, 3, 31)), counts("Mathematics", 4, 1))));
+            when(jdbcTemplate.query(contains("'month'"), any(RowMapper.class))).thenReturn(List.of(
+                    Map.entry(new CourseDay(math, LocalDate.of(2025, 3, 1)), counts("Mathematics", 2, 1)),
+                    Map.entry(new CourseDay(math, LocalDate.of(2025, 4, 1)), counts("Mathematics", 3, 0))));
+
+            service.afterSingletonsInstantiated();
+
+            verify(jdbcTemplate).execute("LOCK TABLE attendance_rollups IN EXCLUSIVE MODE");
+            verify(attendanceAnalyticsRepository, never()).findAll();
+            assertThat(upserted()).containsExactlyInAnyOrder(
+                    new Object[]{math, "Mathematics", "WEEK", date(2025, 3, 31), date(2025, 4, 6), 5L, 4L, 1L, 0L, 0L, 4L, 5L},
+                    new Object[]{math, "Mathematics", "MONTH", date(2025, 3, 1), date(2025, 3, 31), 3L, 2L, 1L, 0L, 0L, 2L, 3L},
+                    new Object[]{math, "Mathematics", "MONTH", date(2025, 4, 1), date(2025, 4, 30), 3L, 3L, 0L, 0L, 0L, 3L, 3L},
+                    new Object[]{math, "Mathematics", "TERM", date(2025, 1, 1), date(2025, 8, 31), 6L, 5L, 1L, 0L, 0L, 5L, 6L});
+        }
+
+        @Test
+        @DisplayName("Should leave existing rollups alone")
+        @SuppressWarnings("unchecked")
+        void shouldSkipWhenRollupsExist() {
+            when(attendanceRollupRepository.count()).thenReturn(12L);
+            when(attendanceAnalyticsRepository.count()).thenReturn(40L);
+
+            service.afterSingletonsInstantiated();
+
+            verify(jdbcTemplate, never()).execute(anyString());
+            verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class));
+        }
+
+        @Test
+        @DisplayName("Should stop after taking the lock when another instance backfilled first")
+        @SuppressWarnings("unchecked")
+        void shouldRecheckUnderLock() {
+            when(attendanceRollupRepository.count()).thenReturn(0L, 12L);
+            when(attendanceAnalyticsRepository.count()).thenReturn(40L);
+
+            service.afterSingletonsInstantiated();
+
+            verify(jdbcTemplate).execute("LOCK TABLE attendance_rollups IN EXCLUSIVE MODE");
+            verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("findCovering")
+    class FindCovering {
+
+        @Test
+        @DisplayName("Should read whole terms, months and weeks, and single days only at the edges")
+        void shouldPickCoarsestBuckets() {
+            service.findCovering(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 9, 9));
+
+            verify(attendanceRollupRepository).findByGranularityAndPeriodStartIn(RollupGranularity.TERM,
+                    List.of(LocalDate.of(2025, 1, 1)));
+            verify(attendanceRollupRepository).findByGranularityAndPeriodStartIn(RollupGranularity.WEEK,
+                    List.of(LocalDate.of(2025, 9, 1)));
+            verify(attendanceAnalyticsRepository).findByDateIn(List.of(LocalDate.of(2025, 9, 8), LocalDate.of(2025, 9, 9)));
+            verify(attendanceRollupRepository, never()).findByGranularityAndPeriodStartIn(
+                    argThat(granularity -> granularity == RollupGranularity.MONTH), any());
+        }
+
+        @Test
+        @DisplayName("Should return daily rows as single-day buckets")
+        void shouldMapDailyRows() {
+            when(attendanceAnalyticsRepository.findByDateIn(any())).thenReturn(List.of(AttendanceAnalytics.builder()
+                    .courseId(math).courseName("Mathematics").date(LocalDate.of(2025, 3, 5))
+                    .totalStudents(3L).presentCount(3L).attendanceRate(100.0).build()));
+
+            assertThat(service.findCovering(LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 5)))
+                    .singleElement()
+                    .satisfies(rollup -> {
+                        assertThat(rollup.getGranularity()).isEqualTo(RollupGranularity.DAY);
+                        assertThat(rollup.getPeriodStart()).isEqualTo(rollup.getPeriodEnd());
+                        assertThat(rollup.getPresentCount()).isEqualTo(3L);
+                    });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> upserted() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+
+    private static AttendanceCounts counts(String courseName, long present, long absent) {
+        AttendanceCounts counts = new AttendanceCounts();
+        counts.courseName = courseName;
+        counts.present = present;
+        counts.absent = absent;
+        return counts;
+    }
+
+    private static Date date(int year, int month, int day) {
+        return Date.valueOf(LocalDate.of(year, month, day));
+    }
+}
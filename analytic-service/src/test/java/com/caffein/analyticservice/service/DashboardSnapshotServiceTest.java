@@ -0,0 +1,133 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.dto.DashboardSummaryDTO;
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import com.caffein.analyticservice.repository.AttendanceAnalyticsRepository;
+import com.caffein.analyticservice.repository.EnrollmentAnalyticsRepository;
+import com.caffein.analyticservice.repository.StudentAnalyticsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DashboardSnapshotService Tests")
+class DashboardSnapshotServiceTest {
+
+    private final AttendanceAnalyticsRepository attendanceAnalyticsRepository = mock(AttendanceAnalyticsRepository.class);
+    private final EnrollmentAnalyticsRepository enrollmentAnalyticsRepository = mock(EnrollmentAnalyticsRepository.class);
+    private final StudentAnalyticsRepository studentAnalyticsRepository = mock(StudentAnalyticsRepository.class);
+    private final EnrollmentAnalyticsRepository.EnrollmentTotals totals = mock(EnrollmentAnalyticsRepository.EnrollmentTotals.class);
+    private final DashboardSnapshotService service = new DashboardSnapshotService(attendanceAnalyticsRepository,
+            enrollmentAnalyticsRepository, studentAnalyticsRepository, 60_000);
+
+    @BeforeEach
+    void setUp() {
+        when(enrollmentAnalyticsRepository.getEnrollmentTotals()).thenReturn(totals);
+        when(totals.getTotalEnrolled()).thenReturn(10L);
+        when(totals.getActive()).thenReturn(8L);
+        when(attendanceAnalyticsRepository.getTotalAbsencesByDate(any())).thenReturn(2L);
+        when(attendanceAnalyticsRepository.getDailyAverageAttendanceRates(any(), any())).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should apply committed deltas to the snapshot without a rebuild")
+    void shouldApplyCommittedDeltas() {
+        assertThat(service.getSummary().getTotalAbsencesToday()).isEqualTo(2);
+
+        service.recordAttendance(List.of(absentToday(), absentToday()));
+        service.recordEnrollment("REGISTERED");
+        commit(() -> { });
+
+        DashboardSummaryDTO summary = service.getSummary();
+        assertThat(summary.getTotalAbsencesToday()).isEqualTo(4);
+        assertThat(summary.getTotalEnrollments()).isEqualTo(11);
+        assertThat(summary.getEnrollmentsByStatus()).containsEntry("active", 9L);
+        verify(attendanceAnalyticsRepository, times(1)).getTotalAbsencesByDate(any());
+    }
+
+    @Test
+    @DisplayName("Should not count a delta twice when a rebuild reads its commit")
+    void shouldNotDoubleApplyAfterRebuild() throws Exception {
+        service.getSummary();
+
+        service.recordAttendance(List.of(absentToday()));
+        Thread refresher = new Thread(service::refresh);
+        commit(() -> {
+            // The commit is visible to the rebuild, which must wait for the delta
+            when(attendanceAnalyticsRepository.getTotalAbsencesByDate(any())).thenReturn(3L);
+            refresher.start();
+            await().atMost(Duration.ofSeconds(5)).until(() -> refresher.getState() == Thread.State.WAITING);
+        });
+        refresher.join(5_000);
+
+        assertThat(refresher.isAlive()).isFalse();
+        assertThat(service.getSummary().getTotalAbsencesToday()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop the deltas of a rolled back transaction")
+    void shouldDropRolledBackDeltas() {
+        service.getSummary();
+
+        service.recordAttendance(List.of(absentToday()));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        service.refresh();
+        assertThat(service.getSummary().getTotalAbsencesToday()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ignore absences recorded for other days")
+    void shouldIgnoreOtherDays() {
+        service.getSummary();
+
+        AttendanceRecordedEvent yesterday = absentToday();
+        yesterday.setDate(LocalDate.now().minusDays(1));
+        service.recordAttendance(List.of(yesterday));
+        commit(() -> { });
+
+        assertThat(service.getSummary().getTotalAbsencesToday()).isEqualTo(2);
+    }
+
+    // Runs the registered synchronizations as a commit would, with the commit itself in between
+    private static void commit(Runnable commit) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        commit.run();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static AttendanceRecordedEvent absentToday() {
+        return AttendanceRecordedEvent.builder()
+                .studentId(UUID.randomUUID())
+                .courseId(UUID.randomUUID())
+                .date(LocalDate.now())
+                .status("ABSENT")
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.caffein.analyticservice.service;
+
+import com.caffein.analyticservice.kafka.AttendanceRecordedEvent;
+import com.caffein.analyticservice.kafka.EnrollmentEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("StudentAnalyticsAggregator Tests")
+class StudentAnalyticsAggregatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StudentAnalyticsAggregator aggregator = new StudentAnalyticsAggregator(jdbcTemplate);
+
+    // Submitted out of order to check the upsert order
+    private final UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID third = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Test
+    @DisplayName("Should fold mixed attendance statuses into one upsert per student, in student id order")
+    void shouldFoldAttendancePerStudent() {
+        aggregator.applyAttendance(List.of(
+                attendance(third, "ABSENT"),
+                attendance(first, "PRESENT"),
+                attendance(third, "LATE"),
+                attendance(first, "EXCUSED"),
+                attendance(second, "ABSENT"),
+                attendance(first, "PRESENT"),
+                attendance(second, "UNKNOWN"),
+                attendance(null, "PRESENT")));
+
+        // student, enrollments, active, completed, withdrawn, classes, attended, absences, attended, classes, active
+        assertThat(upserted()).containsExactly(
+                new Object[]{first, 0L, 0L, 0L, 0L, 3L, 2L, 0L, 2L, 3L, 0L},
+                new Object[]{second, 0L, 0L, 0L, 0L, 1L, 0L, 1L, 0L, 1L, 0L},
+                new Object[]{third, 0L, 0L, 0L, 0L, 2L, 1L, 1L, 1L, 2L, 0L});
+    }
+
+    @Test
+    @DisplayName("Should fold mixed enrollment transitions into one upsert per student, in student id order")
+    void shouldFoldEnrollmentsPerStudent() {
+        aggregator.applyEnrollments(List.of(
+                enrollment(second, "REGISTERED"),
+                enrollment(first, "REGISTERED"),
+                enrollment(first, "REGISTERED"),
+                enrollment(second, "WITHDRAWN"),
+                enrollment(first, "COMPLETED"),
+                enrollment(third, "WITHDRAWN")));
+
+        assertThat(upserted()).containsExactly(
+                new Object[]{first, 2L, 1L, 1L, 0L, 0L, 0L, 0L, 0L, 0L, 1L},
+                new Object[]{second, 1L, 0L, 0L, 1L, 0L, 0L, 0L, 0L, 0L, 0L},
+                new Object[]{third, 0L, -1L, 0L, 1L, 0L, 0L, 0L, 0L, 0L, -1L});
+    }
+
+    @Test
+    @DisplayName("Should skip the write when no event names a student")
+    void shouldSkipEmptyBatch() {
+        aggregator.applyAttendance(List.of(attendance(null, "PRESENT")));
+        aggregator.applyEnrollments(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> upserted() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+
+    private static AttendanceRecordedEvent attendance(UUID studentId, String status) {
+        return AttendanceRecordedEvent.builder()
+                .attendanceId(UUID.randomUUID())
+                .studentId(studentId)
+                .courseId(UUID.randomUUID())
+                .date(LocalDate.of(2025, 3, 3))
+                .status(status)
+                .build();
+    }
+
+    private static EnrollmentEvent enrollment(UUID studentId, String status) {
+        return EnrollmentEvent.builder()
+                .enrollmentId(UUID.randomUUID())
+                .studentId(studentId)
+                .courseId(UUID.randomUUID())
+                .status(status)
+                .build();
+    }
+}
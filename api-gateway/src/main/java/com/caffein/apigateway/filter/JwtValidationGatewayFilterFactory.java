@@ -1,6 +1,8 @@
 package com.caffein.apigateway.filter;
 
-import com.caffein.apigateway.security.JwtService;
+import com.caffein.apigateway.security.PrincipalHeaderSigner;
+import com.caffein.apigateway.security.TokenVerificationStage;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -8,13 +10,17 @@ import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFac
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.RejectedExecutionException;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class JwtValidationGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
 
-    private final JwtService jwtService;
+    private final TokenVerificationStage tokenVerificationStage;
 
     @Override
     public GatewayFilter apply(Object config) {
@@ -23,34 +29,47 @@ public class JwtValidationGatewayFilterFactory extends AbstractGatewayFilterFact
 
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                 log.warn("Missing or invalid Authorization header");
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
+                return reject(exchange, HttpStatus.UNAUTHORIZED);
             }
 
             String token = authHeader.substring(7);
 
-            try {
-                if (!jwtService.isTokenValid(token)) {
-                    log.warn("Invalid JWT token");
-                    exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                    return exchange.getResponse().setComplete();
-                }
-
-                String username = jwtService.extractUsername(token);
-                log.debug("Valid token for user: {}", username);
-
-                // Add username to request headers for downstream services
-                exchange = exchange.mutate()
-                        .request(r -> r.header("X-Auth-User", username))
-                        .build();
+            return tokenVerificationStage.verify(token)
+                    .onErrorResume(JwtException.class, e -> {
+                        log.warn("Invalid JWT token");
+                        return reject(exchange, HttpStatus.UNAUTHORIZED).then(Mono.empty());
+                    })
+                    .onErrorResume(RejectedExecutionException.class, e -> {
+                        log.warn("JWT verification pool saturated, shedding request");
+                        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                        return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE).then(Mono.empty());
+                    })
+                    .onErrorResume(e -> {
+                        log.error("JWT validation error: {}", e.getMessage());
+                        return reject(exchange, HttpStatus.UNAUTHORIZED).then(Mono.empty());
+                    })
+                    .flatMap(verified -> {
+                        String username = verified.username();
+                        log.debug("Valid token for user: {}", username);
 
-                return chain.filter(exchange);
+                        // Add username and the signed principal to request headers for downstream services
+                        ServerWebExchange mutated = exchange.mutate()
+                                .request(r -> r.headers(headers -> {
+                                    headers.set("X-Auth-User", username);
+                                    headers.remove(PrincipalHeaderSigner.HEADER);
+                                    if (verified.principalHeader() != null) {
+                                        headers.set(PrincipalHeaderSigner.HEADER, verified.principalHeader());
+                                    }
+                                }))
+                                .build();
 
-            } catch (Exception e) {
-                log.error("JWT validation error: {}", e.getMessage());
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
+                        return chain.filter(mutated);
+                    });
         };
     }
-}
\ No newline at end of file
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -1,6 +1,7 @@
 package com.caffein.apigateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,7 @@ import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtService {
@@ -34,6 +36,24 @@ public class JwtService {
         return extractClaims(token).getSubject();
     }
 
+    /**
+     * Runs a single signature check and returns the claims the gateway needs.
+     * Throws {@link JwtException} when the token is malformed, forged or expired.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractClaims(token);
+        if (isTokenExpired(claims)) {
+            throw new ExpiredJwtException(null, claims, "Token expired");
+        }
+        List<?> authorities = claims.get("authorities", List.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("uid", String.class),
+                authorities == null ? null : authorities.stream().map(Object::toString).toList(),
+                claims.getExpiration().toInstant(),
+                null);
+    }
+
     private Claims extractClaims(String token) {
         return Jwts.parser()
                 .verifyWith(this.publicKey)
@@ -0,0 +1,62 @@
+package com.caffein.apigateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Signs the compact principal header forwarded to downstream services once a
+ * token has been verified. The header is an HS256 JWS with the user id and email,
+ * and expires together with the access token it was derived from.
+ * <p>
+ * Authorities are left out: the ones in the access token are as of login, and
+ * auth-service reloads current authorities from its snapshot cache anyway.
+ */
+@Component
+public class PrincipalHeaderSigner {
+
+    public static final String HEADER = "X-Auth-Principal";
+
+    private final SecretKey key;
+
+    public PrincipalHeaderSigner(@Value("${app.security.principal.secret}") String secret) {
+        this.key = keyFor(secret);
+    }
+
+    /**
+     * HS256 key for the shared secret. Fails startup for a blank or short secret
+     * rather than signing headers any deployment could forge.
+     */
+    static SecretKey keyFor(String secret) {
+        byte[] bytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException(
+                    "app.security.principal.secret (PRINCIPAL_HEADER_SECRET) must be set to at least 32 bytes");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+
+    /**
+     * Returns the token with its principal header attached, or unchanged when the
+     * token predates principal claims and downstream services must fall back to
+     * their own lookup.
+     */
+    public VerifiedToken sign(VerifiedToken verified) {
+        if (!verified.hasPrincipalClaims()) {
+            return verified;
+        }
+
+        String header = Jwts.builder()
+                .subject(verified.username())
+                .claim("uid", verified.userId())
+                .expiration(Date.from(verified.expiresAt()))
+                .signWith(key)
+                .compact();
+        return verified.withPrincipalHeader(header);
+    }
+}
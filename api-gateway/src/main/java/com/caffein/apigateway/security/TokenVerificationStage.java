@@ -0,0 +1,85 @@
+package com.caffein.apigateway.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies bearer tokens without blocking reactor-netty I/O threads.
+ * <p>
+ * Cached tokens are answered inline. Cold tokens are verified on a dedicated
+ * bounded scheduler; once its queue is full the returned {@link Mono} fails with
+ * {@link java.util.concurrent.RejectedExecutionException} so the caller can shed load.
+ */
+@Component
+public class TokenVerificationStage implements DisposableBean {
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PrincipalHeaderSigner principalHeaderSigner;
+    private final Scheduler scheduler;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer verifyTimer;
+
+    public TokenVerificationStage(
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            PrincipalHeaderSigner principalHeaderSigner,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.jwt.verify.threads:0}") int threads,
+            @Value("${app.security.jwt.verify.queue-capacity:1000}") int queueCapacity) {
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalHeaderSigner = principalHeaderSigner;
+        int threadCap = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.scheduler = Schedulers.newBoundedElastic(threadCap, queueCapacity, "jwt-verify");
+        this.verifyTimer = Timer.builder("gateway.jwt.verify.latency")
+                .description("Time spent on RSA verification of uncached tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("gateway.jwt.verify.queue-depth", queued, AtomicInteger::get)
+                .description("Cold tokens waiting for a verification thread")
+                .register(meterRegistry);
+    }
+
+    public Mono<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(token);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        // A verification counts as queued from subscription until a thread picks it up,
+        // or until it is rejected or cancelled before that
+        return Mono.defer(() -> {
+            AtomicBoolean waiting = new AtomicBoolean(true);
+            queued.incrementAndGet();
+            Runnable dequeue = () -> {
+                if (waiting.compareAndSet(true, false)) {
+                    queued.decrementAndGet();
+                }
+            };
+            return Mono.fromCallable(() -> {
+                        dequeue.run();
+                        return verifyTimer.recordCallable(() -> jwtService.verify(token));
+                    })
+                    .map(principalHeaderSigner::sign)
+                    .doOnNext(verified -> verifiedTokenCache.put(token, verified))
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> dequeue.run());
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
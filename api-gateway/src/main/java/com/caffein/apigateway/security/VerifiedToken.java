@@ -0,0 +1,25 @@
+package com.caffein.apigateway.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a successful access-token verification. {@code userId} and
+ * {@code authorities} are only present on tokens issued with principal claims;
+ * {@code principalHeader} is the signed value forwarded to downstream services.
+ */
+public record VerifiedToken(
+        String username,
+        String userId,
+        List<String> authorities,
+        Instant expiresAt,
+        String principalHeader) {
+
+    public boolean hasPrincipalClaims() {
+        return userId != null && authorities != null;
+    }
+
+    public VerifiedToken withPrincipalHeader(String principalHeader) {
+        return new VerifiedToken(username, userId, authorities, expiresAt, principalHeader);
+    }
+}
@@ -0,0 +1,88 @@
+package com.caffein.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded cache of tokens that already passed RSA verification, keyed by the
+ * SHA-256 digest of the raw token. Each entry expires at the token's own
+ * {@code exp}, so a cached hit is never more permissive than a fresh verify.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.jwt.cache.max-size:10000}") long maxSize) {
+        this(meterRegistry, maxSize, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    // The ticker drives Caffeine's expiry and must advance with the clock
+    VerifiedTokenCache(MeterRegistry meterRegistry, long maxSize, Clock clock, Ticker ticker) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.jwt.verified-tokens");
+    }
+
+    /**
+     * Returns the cached verification result, or {@code null} when the token has
+     * not been verified yet or its entry has expired.
+     */
+    public VerifiedToken getIfPresent(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, VerifiedToken verifiedToken) {
+        cache.put(digest(token), verifiedToken);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private final class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
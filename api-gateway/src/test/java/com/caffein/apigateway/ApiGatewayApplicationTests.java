@@ -3,7 +3,7 @@ package com.caffein.apigateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.security.principal.secret=test-only-principal-header-secret-0123456789")
 class ApiGatewayApplicationTests {
 
     @Test
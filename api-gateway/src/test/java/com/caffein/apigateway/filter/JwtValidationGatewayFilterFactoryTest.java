@@ -0,0 +1,85 @@
+package com.caffein.apigateway.filter;
+
+import com.caffein.apigateway.security.PrincipalHeaderSigner;
+import com.caffein.apigateway.security.TokenVerificationStage;
+import com.caffein.apigateway.security.VerifiedToken;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JwtValidationGatewayFilterFactory Tests")
+class JwtValidationGatewayFilterFactoryTest {
+
+    private final TokenVerificationStage stage = mock(TokenVerificationStage.class);
+    private final GatewayFilter filter = new JwtValidationGatewayFilterFactory(stage).apply(new Object());
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @Test
+    @DisplayName("Should shed load with 503 and Retry-After when the verification pool is saturated")
+    void shouldRejectWith503WhenSaturated() {
+        when(stage.verify("token-a")).thenReturn(Mono.error(new RejectedExecutionException("queue full")));
+        MockServerWebExchange exchange = exchange("Bearer token-a");
+
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid token with 401 and no Retry-After")
+    void shouldRejectInvalidTokenWith401() {
+        when(stage.verify("token-a")).thenReturn(Mono.error(new MalformedJwtException("bad token")));
+        MockServerWebExchange exchange = exchange("Bearer token-a");
+
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should forward a verified request with the user and a fresh principal header")
+    void shouldForwardVerifiedRequest() {
+        when(stage.verify("token-a")).thenReturn(Mono.just(new VerifiedToken("user@mail.com", "user-123",
+                List.of("ROLE_USER"), Instant.now().plusSeconds(60), "signed-principal")));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-a")
+                .header(PrincipalHeaderSigner.HEADER, "forged-principal"));
+
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.getFirst("X-Auth-User")).isEqualTo("user@mail.com");
+        assertThat(headers.get(PrincipalHeaderSigner.HEADER)).containsExactly("signed-principal");
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+}
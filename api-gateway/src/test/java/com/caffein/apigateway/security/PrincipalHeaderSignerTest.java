@@ -0,0 +1,54 @@
+package com.caffein.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PrincipalHeaderSigner Tests")
+class PrincipalHeaderSignerTest {
+
+    private static final String SECRET = "test-only-principal-header-secret-0123456789";
+
+    private final PrincipalHeaderSigner signer = new PrincipalHeaderSigner(SECRET);
+
+    @Test
+    @DisplayName("Should sign the subject, user id and expiry but not the authorities")
+    void shouldSignIdentityOnly() {
+        Instant expiresAt = Instant.now().plusSeconds(600).truncatedTo(ChronoUnit.SECONDS);
+        VerifiedToken signed = signer.sign(
+                new VerifiedToken("user@mail.com", "user-123", List.of("ROLE_ADMIN"), expiresAt, null));
+
+        Claims claims = Jwts.parser()
+                .verifyWith(PrincipalHeaderSigner.keyFor(SECRET))
+                .build()
+                .parseSignedClaims(signed.principalHeader())
+                .getPayload();
+        assertThat(claims.getSubject()).isEqualTo("user@mail.com");
+        assertThat(claims.get("uid", String.class)).isEqualTo("user-123");
+        assertThat(claims.getExpiration().toInstant()).isEqualTo(expiresAt);
+        assertThat(claims).doesNotContainKey("authorities");
+    }
+
+    @Test
+    @DisplayName("Should leave tokens without principal claims unsigned")
+    void shouldSkipTokensWithoutPrincipalClaims() {
+        VerifiedToken legacy = new VerifiedToken("user@mail.com", null, null, Instant.now().plusSeconds(600), null);
+
+        assertThat(signer.sign(legacy)).isSameAs(legacy);
+    }
+
+    @Test
+    @DisplayName("Should refuse a short secret")
+    void shouldRejectShortSecret() {
+        assertThatThrownBy(() -> new PrincipalHeaderSigner("too-short"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.caffein.apigateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TokenVerificationStage Tests")
+class TokenVerificationStageTest {
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenVerificationStage stage = new TokenVerificationStage(jwtService,
+            new VerifiedTokenCache(meterRegistry, 100),
+            new PrincipalHeaderSigner("test-only-principal-header-secret-0123456789"),
+            meterRegistry, 1, 1);
+
+    @AfterEach
+    void shutdown() {
+        stage.destroy();
+    }
+
+    @Test
+    @DisplayName("Should report only verifications waiting for a thread and reject past the queue capacity")
+    void shouldReportQueueDepthAndReject() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jwtService.verify(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return token(invocation.getArgument(0));
+        });
+
+        Disposable running = stage.verify("token-a").subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queueDepth()).isZero();
+
+        Disposable waiting = stage.verify("token-b").subscribe();
+        assertThat(queueDepth()).isEqualTo(1);
+
+        assertThatThrownBy(() -> stage.verify("token-c").block(Duration.ofSeconds(5)))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(queueDepth()).isEqualTo(1);
+
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.isDisposed() && waiting.isDisposed());
+        assertThat(queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer a cached token without verifying it again")
+    void shouldServeCachedToken() {
+        when(jwtService.verify("token-a")).thenReturn(token("user@mail.com"));
+
+        VerifiedToken first = stage.verify("token-a").block(Duration.ofSeconds(5));
+        VerifiedToken second = stage.verify("token-a").block(Duration.ofSeconds(5));
+
+        assertThat(first.principalHeader()).isNotNull();
+        assertThat(second).isSameAs(first);
+        verify(jwtService, times(1)).verify("token-a");
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("gateway.jwt.verify.queue-depth").gauge().value();
+    }
+
+    private static VerifiedToken token(String username) {
+        return new VerifiedToken(username, "user-123", List.of("ROLE_USER"), Instant.now().plusSeconds(60), null);
+    }
+}
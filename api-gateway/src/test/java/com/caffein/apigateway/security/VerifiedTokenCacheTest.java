@@ -0,0 +1,99 @@
+package com.caffein.apigateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 100, clock,
+            () -> TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+
+    @Test
+    @DisplayName("Should serve a token until its exp and drop it from then on")
+    void shouldExpireAtTokenExpiry() {
+        VerifiedToken verified = token(clock.instant().plusSeconds(60));
+        cache.put("token-a", verified);
+
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(cache.getIfPresent("token-a")).isSameAs(verified);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.getIfPresent("token-a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep reads from extending an entry")
+    void shouldNotExtendOnRead() {
+        cache.put("token-a", token(clock.instant().plusSeconds(60)));
+
+        for (int i = 0; i < 5; i++) {
+            clock.advance(Duration.ofSeconds(11));
+            assertThat(cache.getIfPresent("token-a")).isNotNull();
+        }
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(cache.getIfPresent("token-a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should never serve a token that was already expired when cached")
+    void shouldNotCacheExpiredToken() {
+        cache.put("token-a", token(clock.instant().minusSeconds(1)));
+
+        assertThat(cache.getIfPresent("token-a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should key entries by the whole token")
+    void shouldKeyByToken() {
+        VerifiedToken verified = token(clock.instant().plusSeconds(60));
+        cache.put("token-a", verified);
+
+        assertThat(cache.getIfPresent("token-b")).isNull();
+        assertThat(cache.getIfPresent("token-a")).isSameAs(verified);
+    }
+
+    private static VerifiedToken token(Instant expiresAt) {
+        return new VerifiedToken("user@mail.com", "user-123", List.of("ROLE_USER"), expiresAt, null);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -7,11 +7,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import com.caffein.authservice.service.user.AuthoritySnapshot;
+import com.caffein.authservice.service.user.UserService;
+
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +24,8 @@ import java.io.IOException;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserService userService;
+    private final TrustedPrincipalVerifier trustedPrincipalVerifier;
 
     @Override
     protected void doFilterInternal(
@@ -38,6 +40,23 @@ public class JwtFilter extends OncePerRequestFilter {
 
         }
 
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            final String trustedSubject = this.trustedPrincipalVerifier
+                    .verifiedSubject(request.getHeader(TrustedPrincipalVerifier.HEADER));
+
+            if (trustedSubject != null) {
+                // The gateway already verified the token; authorities still come from the snapshot
+                final AuthoritySnapshot snapshot = this.userService.loadAuthoritySnapshot(trustedSubject);
+                final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        snapshot.user(), null, snapshot.authorities());
+
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         final String jwt;
         final String username;
@@ -48,14 +67,15 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = this.jwtService.extractUsername(jwt);
+        final TokenClaims claims = this.jwtService.parseToken(jwt);
+        username = claims.subject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            final AuthoritySnapshot snapshot = this.userService.loadAuthoritySnapshot(username);
 
-            if (this.jwtService.isTokenValid(jwt, userDetails.getUsername())) {
+            if (username.equals(snapshot.user().getUsername()) && !claims.isExpired()) {
                 final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        snapshot.user(), null, snapshot.authorities());
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -3,11 +3,16 @@ package com.caffein.authservice.config.jwtConfig;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
+import com.caffein.authservice.model.User;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Jwts;
@@ -16,8 +21,10 @@ import io.jsonwebtoken.Jwts;
 public class JwtService {
 
     private static final String TOKEN_TYPE = "token_type";
+    private static final String USER_ID = "uid";
+    private static final String AUTHORITIES = "authorities";
     private final PrivateKey privateKey;
-    private final PublicKey publicKey;
+    private final JwtParser parser;
     @Value("${app.security.jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
     @Value("${app.security.jwt.access-token-expiration}")
@@ -25,12 +32,23 @@ public class JwtService {
 
     public JwtService() throws Exception {
         this.privateKey = KeyUtils.loadPrivateKey("keys/local-only/private_key.pem");
-        this.publicKey = KeyUtils.loadPublicKey("keys/local-only/public_key.pem");
+        final PublicKey publicKey = KeyUtils.loadPublicKey("keys/local-only/public_key.pem");
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser()
+                .verifyWith(publicKey)
+                .build();
     }
 
-    public String generateAccessToken(final String username) {
-        final Map<String, Object> claims = Map.of(TOKEN_TYPE, "ACCESS_TOKEN");
-        return buildToken(username, claims, this.accessTokenExpiration);
+    public String generateAccessToken(final User user) {
+        final List<String> authorities = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .distinct()
+                .toList();
+        final Map<String, Object> claims = Map.of(
+                TOKEN_TYPE, "ACCESS_TOKEN",
+                USER_ID, user.getId(),
+                AUTHORITIES, authorities);
+        return buildToken(user.getUsername(), claims, this.accessTokenExpiration);
 
     }
 
@@ -47,29 +65,37 @@ public class JwtService {
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(privateKey)
+                .signWith(this.privateKey, Jwts.SIG.RS256)
                 .compact();
     }
 
-    public boolean isTokenValid(final String token, final String expectedUsername){
-        final String username = extractUsername(token);
-        return username.equals(expectedUsername) && !isTokenExpired(token);
+    /**
+     * Verifies the signature once and returns the claims the callers need.
+     * Throws when the token is malformed, forged or expired.
+     */
+    public TokenClaims parseToken(final String token) {
+        final Claims claims = extractClaims(token);
+        final List<?> authorities = claims.get(AUTHORITIES, List.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.get(TOKEN_TYPE, String.class),
+                claims.get(USER_ID, String.class),
+                authorities == null ? List.of() : authorities.stream().map(Object::toString).toList(),
+                claims.getExpiration().toInstant());
     }
 
-    public String extractUsername(final String token) {
-        return extractClaims(token).getSubject();
+    public boolean isTokenValid(final String token, final String expectedUsername){
+        final TokenClaims claims = parseToken(token);
+        return claims.subject().equals(expectedUsername) && !claims.isExpired();
     }
 
-    private boolean isTokenExpired(final String token) {
-        return extractClaims(token).getExpiration()
-                .before(new Date());
+    public String extractUsername(final String token) {
+        return parseToken(token).subject();
     }
 
     private Claims extractClaims(final String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(this.publicKey)
-                    .build()
+            return this.parser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (final JwtException e) {
@@ -77,17 +103,16 @@ public class JwtService {
         }
     }
 
-    public String refreshAccessToken(final String refreshToken) {
-        final Claims claims = extractClaims(refreshToken);
+    public String extractRefreshTokenSubject(final String refreshToken) {
+        final TokenClaims claims = parseToken(refreshToken);
 
-        if (!"REFRESH_TOKEN".equals(claims.get(TOKEN_TYPE, String.class))) {
+        if (!claims.isRefreshToken()) {
             throw new RuntimeException("Invalid token type");
         }
-        if (claims.getExpiration().before(new Date())) {
+        if (claims.isExpired()) {
             throw new RuntimeException("Refresh token expired");
         }
 
-        final String username = claims.getSubject();
-        return generateAccessToken(username);
+        return claims.subject();
     }
 }
@@ -0,0 +1,28 @@
+package com.caffein.authservice.config.jwtConfig;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Typed view over a verified token's claims, produced by a single parse.
+ * {@code userId} and {@code authorities} are only set on access tokens.
+ */
+public record TokenClaims(
+        String subject,
+        String tokenType,
+        String userId,
+        List<String> authorities,
+        Instant expiresAt) {
+
+    public boolean isExpired() {
+        return this.expiresAt.isBefore(Instant.now());
+    }
+
+    public boolean isAccessToken() {
+        return "ACCESS_TOKEN".equals(this.tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return "REFRESH_TOKEN".equals(this.tokenType);
+    }
+}
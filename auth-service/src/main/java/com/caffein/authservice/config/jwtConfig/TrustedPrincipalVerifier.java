@@ -0,0 +1,66 @@
+package com.caffein.authservice.config.jwtConfig;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the principal header the api-gateway attaches after it has verified the
+ * caller's access token. The header is a compact HS256 JWS, so a valid one lets
+ * the filter chain skip the RSA verify of the bearer token.
+ * <p>
+ * The header carries the subject and user id only. Authorities in the access
+ * token stay valid until it expires (24h), so {@link JwtFilter} takes them from
+ * the {@code AuthoritySnapshot} and ignores any in the header. Role revocations
+ * and snapshot evictions therefore apply just as they do on the bearer path, at
+ * the cost of one cache lookup per request.
+ */
+@Component
+@Slf4j
+public class TrustedPrincipalVerifier {
+
+    public static final String HEADER = "X-Auth-Principal";
+
+    private final boolean enabled;
+    private final JwtParser parser;
+
+    public TrustedPrincipalVerifier(
+            @Value("${app.security.principal.trusted-header-enabled:true}") final boolean enabled,
+            @Value("${app.security.principal.secret}") final String secret) {
+        this.enabled = enabled;
+        // Checked even when the mode is disabled, so a missing secret never goes unnoticed
+        final byte[] bytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException(
+                    "app.security.principal.secret (PRINCIPAL_HEADER_SECRET) must be set to at least 32 bytes");
+        }
+        final SecretKey key = Keys.hmacShaKeyFor(bytes);
+        this.parser = Jwts.parser().verifyWith(key).build();
+    }
+
+    /**
+     * Returns the email the gateway verified the token for, or {@code null} when
+     * the mode is disabled or the header is missing, forged or expired.
+     */
+    public String verifiedSubject(final String header) {
+        if (!this.enabled || header == null || header.isBlank()) {
+            return null;
+        }
+
+        try {
+            return this.parser.parseSignedClaims(header).getPayload().getSubject();
+        } catch (final JwtException e) {
+            log.warn("Rejected principal header: {}", e.getMessage());
+            return null;
+        }
+    }
+}
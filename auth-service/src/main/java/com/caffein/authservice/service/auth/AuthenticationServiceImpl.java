@@ -48,7 +48,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 )
         );
         final User user = (User) auth.getPrincipal();
-        final String token = this.jwtService.generateAccessToken(user.getUsername());
+        final String token = this.jwtService.generateAccessToken(user);
         final String refreshToken = this.jwtService.generateRefreshToken(user.getUsername());
         final String tokenType = "Bearer";
         return AuthenticationResponse.builder()
@@ -135,7 +135,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public AuthenticationResponse refreshToken(RefreshRequest request) {
-        final String newAccessToken = this.jwtService.refreshAccessToken(request.getRefreshToken());
+        final String username = this.jwtService.extractRefreshTokenSubject(request.getRefreshToken());
+        final User user = this.userRepository.findByEmailIgnoreCase(username)
+                .orElseThrow(() -> new BusinessException(USER_NOT_FOUND, username));
+        final String newAccessToken = this.jwtService.generateAccessToken(user);
         final String tokenType = "Bearer";
         return AuthenticationResponse.builder()
                 .accessToken(newAccessToken)
@@ -0,0 +1,18 @@
+package com.caffein.authservice.service.user;
+
+import java.util.List;
+
+import com.caffein.authservice.model.User;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Immutable view of a user and its flattened authorities, taken once when the
+ * user is loaded so authenticated requests do not walk role and permission
+ * collections again.
+ */
+public record AuthoritySnapshot(User user, List<GrantedAuthority> authorities) {
+
+    public static AuthoritySnapshot of(final User user) {
+        return new AuthoritySnapshot(user, List.copyOf(user.getAuthorities()));
+    }
+}
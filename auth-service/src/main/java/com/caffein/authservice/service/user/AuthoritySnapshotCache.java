@@ -0,0 +1,53 @@
+package com.caffein.authservice.service.user;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-limited cache of {@link AuthoritySnapshot}s keyed by lower-cased
+ * email. Entries must be evicted whenever a user's roles, permissions, password
+ * or enabled flag change.
+ */
+@Component
+public class AuthoritySnapshotCache implements MeterBinder {
+
+    private final Cache<String, AuthoritySnapshot> cache;
+
+    public AuthoritySnapshotCache(
+            @Value("${app.security.authority-cache.max-size:10000}") final long maxSize,
+            @Value("${app.security.authority-cache.ttl:5m}") final Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public AuthoritySnapshot get(final String email, final Supplier<AuthoritySnapshot> loader) {
+        return this.cache.get(key(email), k -> loader.get());
+    }
+
+    public void evict(final String email) {
+        if (email != null) {
+            this.cache.invalidate(key(email));
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.cache, "auth.authority-snapshots");
+    }
+
+    private static String key(final String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
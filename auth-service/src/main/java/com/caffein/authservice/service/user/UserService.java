@@ -5,10 +5,13 @@ import com.caffein.authservice.request.userRequest.ChangePasswordRequest;
 import com.caffein.authservice.request.userRequest.ProfileUpdateRequest;
 import com.caffein.authservice.request.userRequest.UserPermissionUpdateRequest;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 
 public interface UserService extends UserDetailsService{
 
+    AuthoritySnapshot loadAuthoritySnapshot(String userEmail) throws UsernameNotFoundException;
+
     void updateProfileInfo(ProfileUpdateRequest request, String userId);
 
     void changePassword(ChangePasswordRequest request, String userId);
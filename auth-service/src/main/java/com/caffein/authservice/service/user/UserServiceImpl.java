@@ -37,11 +37,18 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final AuthoritySnapshotCache authoritySnapshotCache;
 
     @Override
     public UserDetails loadUserByUsername(String userEmail) throws UsernameNotFoundException {
-        return this.userRepository.findByEmailIgnoreCase(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username " + userEmail));
+        return loadAuthoritySnapshot(userEmail).user();
+    }
+
+    @Override
+    public AuthoritySnapshot loadAuthoritySnapshot(String userEmail) throws UsernameNotFoundException {
+        return this.authoritySnapshotCache.get(userEmail, () -> this.userRepository.findByEmailIgnoreCase(userEmail)
+                .map(AuthoritySnapshot::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username " + userEmail)));
     }
 
     @Override
@@ -51,7 +58,7 @@ public class UserServiceImpl implements UserService {
 
         this.userMapper.mergeUserInfo(savedUser, request);
         this.userRepository.save(savedUser);
-
+        this.authoritySnapshotCache.evict(savedUser.getEmail());
     }
 
     @Override
@@ -69,6 +76,7 @@ public class UserServiceImpl implements UserService {
         final String encoded = this.passwordEncoder.encode(request.getNewPassword());
         savedUser.setPassword(encoded);
         this.userRepository.save(savedUser);
+        this.authoritySnapshotCache.evict(savedUser.getEmail());
 
     }
 
@@ -82,6 +90,7 @@ public class UserServiceImpl implements UserService {
         }
         user.setEnabled(false);
         this.userRepository.save(user);
+        this.authoritySnapshotCache.evict(user.getEmail());
 
     }
 
@@ -96,6 +105,7 @@ public class UserServiceImpl implements UserService {
 
         user.setEnabled(true);
         this.userRepository.save(user);
+        this.authoritySnapshotCache.evict(user.getEmail());
     }
 
     @Override
@@ -115,6 +125,7 @@ public class UserServiceImpl implements UserService {
 
         user.setRoles(roles);
         userRepository.save(user);
+        authoritySnapshotCache.evict(user.getEmail());
     }
 
     @Override
@@ -129,5 +140,6 @@ public class UserServiceImpl implements UserService {
 
         user.setPermissions(permissions);
         userRepository.save(user);
+        authoritySnapshotCache.evict(user.getEmail());
     }
 }
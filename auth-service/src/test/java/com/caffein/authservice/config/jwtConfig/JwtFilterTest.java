@@ -0,0 +1,83 @@
+package com.caffein.authservice.config.jwtConfig;
+
+import com.caffein.authservice.model.User;
+import com.caffein.authservice.service.user.AuthoritySnapshot;
+import com.caffein.authservice.service.user.UserService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JwtFilter Trusted Header Tests")
+class JwtFilterTest {
+
+    private static final String SECRET = "test-only-principal-header-secret-0123456789";
+    private static final String EMAIL = "user@mail.com";
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final UserService userService = mock(UserService.class);
+    private final JwtFilter filter = new JwtFilter(jwtService, userService, new TrustedPrincipalVerifier(true, SECRET));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should take authorities from the snapshot, not from the header")
+    void shouldUseSnapshotAuthoritiesForTrustedHeader() throws Exception {
+        User user = User.builder().id("user-123").email(EMAIL).build();
+        List<GrantedAuthority> current = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        when(userService.loadAuthoritySnapshot(EMAIL)).thenReturn(new AuthoritySnapshot(user, current));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader(TrustedPrincipalVerifier.HEADER, header(SECRET, List.of("ROLE_ADMIN")));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isSameAs(user);
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    @DisplayName("Should ignore a header signed with another key")
+    void shouldIgnoreForgedHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader(TrustedPrincipalVerifier.HEADER,
+                header("some-other-secret-that-is-long-enough-0123456789", List.of("ROLE_ADMIN")));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userService);
+    }
+
+    private static String header(String secret, List<String> authorities) {
+        return Jwts.builder()
+                .subject(EMAIL)
+                .claim("uid", "user-123")
+                .claim("authorities", authorities)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
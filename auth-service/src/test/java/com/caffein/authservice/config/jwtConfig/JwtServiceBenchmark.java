@@ -0,0 +1,92 @@
+package com.caffein.authservice.config.jwtConfig;
+
+import com.caffein.authservice.model.Permission;
+import com.caffein.authservice.model.Role;
+import com.caffein.authservice.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous validation path (a new parser per call, two parses per
+ * token) with the single-parse {@link JwtService#parseToken(String)} API.
+ * <p>
+ * Run with: {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main JwtServiceBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private PublicKey publicKey;
+    private String accessToken;
+    private String username;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.jwtService = new JwtService();
+        ReflectionTestUtils.setField(this.jwtService, "accessTokenExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(this.jwtService, "refreshTokenExpiration", TimeUnit.DAYS.toMillis(7));
+        this.publicKey = KeyUtils.loadPublicKey("keys/local-only/public_key.pem");
+
+        final Role role = Role.builder()
+                .name("ROLE_TEACHER")
+                .permissions(List.of(Permission.builder().name("course:read").build()))
+                .build();
+        final User user = User.builder()
+                .id("user-123")
+                .email("teacher@mail.com")
+                .roles(List.of(role))
+                .build();
+        this.username = user.getUsername();
+        this.accessToken = this.jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyParserPerCallTwoParses() {
+        final String subject = legacyClaims(this.accessToken).getSubject();
+        return subject.equals(this.username) && !legacyClaims(this.accessToken).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean prebuiltParserSingleParse() {
+        final TokenClaims claims = this.jwtService.parseToken(this.accessToken);
+        return claims.subject().equals(this.username) && !claims.isExpired();
+    }
+
+    private Claims legacyClaims(final String token) {
+        return Jwts.parser()
+                .verifyWith(this.publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -90,7 +90,7 @@ class AuthenticationServiceImplTest {
             when(authentication.getPrincipal()).thenReturn(user);
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenReturn(authentication);
-            when(jwtService.generateAccessToken(email)).thenReturn(accessToken);
+            when(jwtService.generateAccessToken(user)).thenReturn(accessToken);
             when(jwtService.generateRefreshToken(email)).thenReturn(refreshToken);
 
             // When
@@ -103,7 +103,7 @@ class AuthenticationServiceImplTest {
             assertEquals("Bearer", response.getTokenType());
 
             verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-            verify(jwtService).generateAccessToken(email);
+            verify(jwtService).generateAccessToken(user);
             verify(jwtService).generateRefreshToken(email);
         }
 
@@ -124,7 +124,7 @@ class AuthenticationServiceImplTest {
                     .hasMessage("Invalid credentials");
 
             verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-            verify(jwtService, never()).generateAccessToken(anyString());
+            verify(jwtService, never()).generateAccessToken(any(User.class));
             verify(jwtService, never()).generateRefreshToken(anyString());
         }
     }
@@ -487,7 +487,14 @@ class AuthenticationServiceImplTest {
             RefreshRequest request = new RefreshRequest();
             request.setRefreshToken(refreshToken);
 
-            when(jwtService.refreshAccessToken(refreshToken)).thenReturn(newAccessToken);
+            User user = User.builder()
+                    .id("user-123")
+                    .email("ali@mail.com")
+                    .build();
+
+            when(jwtService.extractRefreshTokenSubject(refreshToken)).thenReturn("ali@mail.com");
+            when(userRepository.findByEmailIgnoreCase("ali@mail.com")).thenReturn(Optional.of(user));
+            when(jwtService.generateAccessToken(user)).thenReturn(newAccessToken);
 
             // When
             AuthenticationResponse response = authenticationService.refreshToken(request);
@@ -498,7 +505,8 @@ class AuthenticationServiceImplTest {
             assertEquals(refreshToken, response.getRefreshToken());
             assertEquals("Bearer", response.getTokenType());
 
-            verify(jwtService).refreshAccessToken(refreshToken);
+            verify(jwtService).extractRefreshTokenSubject(refreshToken);
+            verify(jwtService).generateAccessToken(user);
         }
 
         @Test
@@ -509,7 +517,7 @@ class AuthenticationServiceImplTest {
             RefreshRequest request = new RefreshRequest();
             request.setRefreshToken(refreshToken);
 
-            when(jwtService.refreshAccessToken(refreshToken))
+            when(jwtService.extractRefreshTokenSubject(refreshToken))
                     .thenThrow(new RuntimeException("Invalid token"));
 
             // When & Then
@@ -517,7 +525,8 @@ class AuthenticationServiceImplTest {
                     .isInstanceOf(RuntimeException.class)
                     .hasMessage("Invalid token");
 
-            verify(jwtService).refreshAccessToken(refreshToken);
+            verify(jwtService).extractRefreshTokenSubject(refreshToken);
+            verify(jwtService, never()).generateAccessToken(any(User.class));
         }
     }
 }
@@ -18,11 +18,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -52,6 +55,9 @@ class UserServiceImplTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Spy
+    private AuthoritySnapshotCache authoritySnapshotCache = new AuthoritySnapshotCache(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -132,6 +138,7 @@ class UserServiceImplTest {
 
             User user = User.builder()
                     .id(userId)
+                    .email("user@mail.com")
                     .firstName("Old")
                     .lastName("Name")
                     .build();
@@ -147,6 +154,7 @@ class UserServiceImplTest {
             verify(userRepository).findById(userId);
             verify(userMapper).mergeUserInfo(user, request);
             verify(userRepository).save(user);
+            verify(authoritySnapshotCache).evict("user@mail.com");
         }
 
         @Test
@@ -554,4 +562,67 @@ class UserServiceImplTest {
             verify(userRepository, never()).save(any());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Authority Snapshot Cache Tests")
+    class AuthoritySnapshotCacheTests {
+
+        @Test
+        @DisplayName("Should serve repeated lookups from the snapshot cache")
+        void shouldServeRepeatedLookupsFromCache() {
+            // Given
+            String email = "user@mail.com";
+            Role role = Role.builder()
+                    .name("ROLE_USER")
+                    .permissions(List.of(Permission.builder().name("user:read").build()))
+                    .build();
+            User user = User.builder()
+                    .id("user-123")
+                    .email(email)
+                    .roles(List.of(role))
+                    .build();
+
+            when(userRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(user));
+
+            // When
+            AuthoritySnapshot first = userService.loadAuthoritySnapshot(email);
+            AuthoritySnapshot second = userService.loadAuthoritySnapshot("USER@mail.com");
+
+            // Then
+            assertThat(second).isSameAs(first);
+            assertThat(first.authorities())
+                    .extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_USER", "user:read");
+            verify(userRepository, times(1)).findByEmailIgnoreCase(anyString());
+        }
+
+        @Test
+        @DisplayName("Should evict the snapshot when roles are updated")
+        void shouldEvictSnapshotWhenRolesUpdated() {
+            // Given
+            String userId = "user-123";
+            String email = "user@mail.com";
+            User user = User.builder().id(userId).email(email).build();
+            Role roleAdmin = Role.builder().name("ROLE_ADMIN").build();
+            UserRoleUpdateRequest request = new UserRoleUpdateRequest();
+            request.setRoleNames(List.of("ROLE_ADMIN"));
+
+            when(userRepository.findByEmailIgnoreCase(email)).thenReturn(Optional.of(user));
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(roleRepository.findByName("ROLE_ADMIN")).thenReturn(Optional.of(roleAdmin));
+
+            userService.loadAuthoritySnapshot(email);
+
+            // When
+            userService.updateUserRoles(userId, request);
+            AuthoritySnapshot reloaded = userService.loadAuthoritySnapshot(email);
+
+            // Then
+            assertThat(reloaded.authorities())
+                    .extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_ADMIN");
+            verify(authoritySnapshotCache).evict(email);
+            verify(userRepository, times(2)).findByEmailIgnoreCase(email);
+        }
+    }
+}
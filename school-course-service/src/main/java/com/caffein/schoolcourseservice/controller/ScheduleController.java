@@ -3,6 +3,7 @@ package com.caffein.schoolcourseservice.controller;
 
 import com.caffein.schoolcourseservice.dto.schedule.ScheduleCreateDTO;
 import com.caffein.schoolcourseservice.dto.schedule.ScheduleDTO;
+import com.caffein.schoolcourseservice.dto.schedule.TimetableValidationDTO;
 import com.caffein.schoolcourseservice.service.schedule.IScheduleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -46,4 +47,10 @@ public class ScheduleController {
         ScheduleDTO updatedSchedule = scheduleService.updateSchedule(id, updateDTO);
         return ResponseEntity.ok(updatedSchedule);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/schedules/conflicts")
+    @Operation(summary = "Check the whole timetable for room, teacher and course double-bookings")
+    public ResponseEntity<TimetableValidationDTO> validateTimetable() {
+        return ResponseEntity.ok(scheduleService.validateTimetable());
+    }
+}
@@ -0,0 +1,65 @@
+package com.caffein.schoolcourseservice.controller;
+
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportResultDTO;
+import com.caffein.schoolcourseservice.service.timetableImport.ITimetableImportService;
+import com.caffein.schoolcourseservice.service.timetableImport.TimetableImportPlan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@RestController
+@RequestMapping("/api/v1/cs/timetable")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Timetable Import", description = "Bulk Timetable Import API")
+public class TimetableImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ITimetableImportService timetableImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import subjects, teachers, courses and schedules from CSV")
+    public ResponseEntity<StreamingResponseBody> importCsv(InputStream body) {
+        return importTimetable(timetableImportService.prepare(body, true));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import subjects, teachers, courses and schedules from JSON lines")
+    public ResponseEntity<StreamingResponseBody> importJsonLines(InputStream body) {
+        return importTimetable(timetableImportService.prepare(body, false));
+    }
+
+    // Invalid imports fail with 400 above; a valid one streams a progress line per chunk, then the result
+    private ResponseEntity<StreamingResponseBody> importTimetable(TimetableImportPlan plan) {
+        StreamingResponseBody stream = out -> {
+            TimetableImportResultDTO result = timetableImportService.execute(plan, progress -> writeLine(out, progress));
+            writeLine(out, result);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(stream);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            // The client went away; finish the import anyway rather than stop between chunks
+            log.warn("Could not send timetable import progress: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.caffein.schoolcourseservice.dto.schedule;
+
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableConflictDTO {
+    private String resource;
+    private String resourceValue;
+    private DayOfWeek dayOfWeek;
+    private UUID scheduleId;
+    private UUID conflictingScheduleId;
+}
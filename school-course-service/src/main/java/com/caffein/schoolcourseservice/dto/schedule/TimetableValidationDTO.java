@@ -0,0 +1,17 @@
+package com.caffein.schoolcourseservice.dto.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableValidationDTO {
+    private int schedulesChecked;
+    private List<TimetableConflictDTO> conflicts;
+}
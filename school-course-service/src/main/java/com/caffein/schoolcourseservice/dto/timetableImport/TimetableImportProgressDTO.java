@@ -0,0 +1,16 @@
+package com.caffein.schoolcourseservice.dto.timetableImport;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableImportProgressDTO {
+    private String stage;
+    private int processed;
+    private int total;
+}
@@ -0,0 +1,21 @@
+package com.caffein.schoolcourseservice.dto.timetableImport;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableImportResultDTO {
+    private String stage;
+    private int subjectsCreated;
+    private int teachersCreated;
+    private int qualificationsAdded;
+    private int coursesCreated;
+    private int schedulesCreated;
+    private long elapsedMs;
+    private String error;
+}
@@ -0,0 +1,68 @@
+package com.caffein.schoolcourseservice.dto.timetableImport;
+
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One line of a timetable import. {@code type} decides which fields are read:
+ * <ul>
+ *     <li>SUBJECT: name, department</li>
+ *     <li>TEACHER: email, userId, firstName, lastName, department, subjects (names),
+ *     phoneNumber, officeLocation, hireDate</li>
+ *     <li>COURSE: ref, name, subject (name), teacher (email), academicYear, semester,
+ *     maxCapacity, description</li>
+ *     <li>SCHEDULE: course (a course ref from the same import) or courseId,
+ *     dayOfWeek, startTime, endTime, roomNumber</li>
+ * </ul>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableImportRowDTO {
+
+    public enum Type {
+        SUBJECT, TEACHER, COURSE, SCHEDULE
+    }
+
+    @JsonIgnore
+    private int line;
+
+    private Type type;
+
+    private String name;
+    private String department;
+
+    private String email;
+    private UUID userId;
+    private String firstName;
+    private String lastName;
+    private List<String> subjects;
+    private String phoneNumber;
+    private String officeLocation;
+    private LocalDate hireDate;
+
+    private String ref;
+    private String subject;
+    private String teacher;
+    private String academicYear;
+    private String semester;
+    private Integer maxCapacity;
+    private String description;
+
+    private String course;
+    private UUID courseId;
+    private DayOfWeek dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String roomNumber;
+}
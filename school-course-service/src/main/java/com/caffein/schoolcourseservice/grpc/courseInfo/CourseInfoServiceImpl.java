@@ -5,17 +5,26 @@ import com.caffein.schoolcourseservice.dto.subject.SubjectDTO;
 import com.caffein.schoolcourseservice.grpc.*;
 import com.caffein.schoolcourseservice.service.courseService.ICourseService;
 import com.caffein.schoolcourseservice.service.subjectService.ISubjectService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.grpc.server.service.GrpcService;
 
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @GrpcService
 @RequiredArgsConstructor
 public class CourseInfoServiceImpl extends CourseInformationServiceGrpc.CourseInformationServiceImplBase {
 
+    private static final int MAX_COURSES_PER_REQUEST = 500;
+    // How long GetAvailableCourses keeps its cursor open for a client that stopped reading
+    private static final Duration STREAM_STALL_TIMEOUT = Duration.ofSeconds(30);
+
     private final ICourseService courseService;
     private final ISubjectService subjectService;
 
@@ -31,17 +40,41 @@ public class CourseInfoServiceImpl extends CourseInformationServiceGrpc.CourseIn
         }
     }
 
+    @Override
+    public void getCoursesByIds(CoursesByIdsRequest request, StreamObserver<CoursesResponse> responseObserver) {
+        if (request.getCourseIdsCount() > MAX_COURSES_PER_REQUEST) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("At most " + MAX_COURSES_PER_REQUEST + " course IDs per request")
+                    .asRuntimeException());
+            return;
+        }
+        Set<UUID> ids = new LinkedHashSet<>();
+        try {
+            request.getCourseIdsList().forEach(id -> ids.add(UUID.fromString(id)));
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        try {
+            CoursesResponse.Builder response = CoursesResponse.newBuilder();
+            courseService.getCoursesByIds(ids).forEach(courseDTO -> response.addCourses(convertToCourseResponse(courseDTO)));
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
     @Override
     public void getAvailableCourses(CoursesRequest request, StreamObserver<CourseResponse> responseObserver) {
         try {
             String academicYear = request.hasAcademicYear() ? request.getAcademicYear().getValue() : null;
             String semester = request.hasSemester() ? request.getSemester().getValue() : null;
 
-            List<CourseDTO> courses = courseService.getAllCourses(null, null, academicYear, semester);
-
-            courses.stream()
-                    .map(this::convertToCourseResponse)
-                    .forEach(responseObserver::onNext);
+            FlowControlledSender<CourseResponse> sender = new FlowControlledSender<>(
+                    (ServerCallStreamObserver<CourseResponse>) responseObserver, STREAM_STALL_TIMEOUT);
+            courseService.forEachCourse(academicYear, semester,
+                    courseDTO -> sender.send(convertToCourseResponse(courseDTO)));
             responseObserver.onCompleted();
         } catch (Exception e) {
             responseObserver.onError(e);
@@ -0,0 +1,59 @@
+package com.caffein.schoolcourseservice.grpc.courseInfo;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands server-streaming responses to gRPC only while the transport can take
+ * them, so a slow client holds back the producer (a database cursor) instead of
+ * letting messages pile up in the server's outbound buffer.
+ * <p>
+ * The service method runs inside the call's serialized callback executor, so an
+ * onReady handler could not fire until the method returned. Readiness is polled
+ * with a growing park instead. A client that stops reading for longer than the
+ * stall timeout gets DEADLINE_EXCEEDED, which releases the cursor and its
+ * connection.
+ */
+final class FlowControlledSender<T> {
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ServerCallStreamObserver<T> observer;
+    private final Duration stallTimeout;
+
+    FlowControlledSender(ServerCallStreamObserver<T> observer, Duration stallTimeout) {
+        this.observer = observer;
+        this.stallTimeout = stallTimeout;
+    }
+
+    void send(T message) {
+        if (!observer.isReady()) {
+            awaitReady();
+        }
+        observer.onNext(message);
+    }
+
+    private void awaitReady() {
+        long deadline = System.nanoTime() + stallTimeout.toNanos();
+        long park = MIN_PARK_NANOS;
+        while (!observer.isReady()) {
+            // The call's own flag is only updated on the callback executor; the context is cancelled right away
+            if (observer.isCancelled() || Context.current().isCancelled()) {
+                throw Status.CANCELLED.withDescription("Client cancelled the stream").asRuntimeException();
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw Status.DEADLINE_EXCEEDED
+                        .withDescription("Client did not read the stream for " + stallTimeout.toSeconds() + "s")
+                        .asRuntimeException();
+            }
+            LockSupport.parkNanos(park);
+            park = Math.min(park * 2, MAX_PARK_NANOS);
+        }
+    }
+}
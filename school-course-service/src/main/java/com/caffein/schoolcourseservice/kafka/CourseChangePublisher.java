@@ -0,0 +1,62 @@
+package com.caffein.schoolcourseservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Tells consumers holding course metadata (the student-service course cache and
+ * the timetable index of every instance of this service) that something they may
+ * have cached changed. Messages go out after the surrounding transaction commits
+ * and are best effort. For the course cache, a lost message is covered by its TTL.
+ * For the timetable index, it is covered by the database re-check on writes.
+ * <p>
+ * Payloads are small JSON strings: {@code {"type":"COURSE","courseId":"..."}} or
+ * {@code {"type":"SUBJECTS"}}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseChangePublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    public void courseChanged(UUID courseId) {
+        send(courseId.toString(), "{\"type\":\"COURSE\",\"courseId\":\"" + courseId + "\"}");
+    }
+
+    public void subjectsChanged() {
+        send("subjects", "{\"type\":\"SUBJECTS\"}");
+    }
+
+    private void send(String key, String payload) {
+        Runnable action = () -> {
+            try {
+                kafkaTemplate.send(CourseChangeTopic.NAME, key, payload)
+                        .whenComplete((result, ex) -> {
+                            if (ex != null) {
+                                log.warn("Failed to publish course change {}: {}", payload, ex.getMessage());
+                            }
+                        });
+            } catch (RuntimeException e) {
+                // send() itself throws when broker metadata is unavailable; the write already committed
+                log.warn("Failed to publish course change {}: {}", payload, e.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.caffein.schoolcourseservice.kafka;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class CourseChangeTopic {
+
+    public static final String NAME = "course-change-events";
+
+    @Bean
+    public NewTopic courseChangeEventsTopic() {
+        return TopicBuilder
+                .name(NAME)
+                .build();
+    }
+}
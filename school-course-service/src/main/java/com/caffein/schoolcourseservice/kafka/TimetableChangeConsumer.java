@@ -0,0 +1,46 @@
+package com.caffein.schoolcourseservice.kafka;
+
+import com.caffein.schoolcourseservice.service.schedule.TimetableIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Reloads a course's slots in this instance's {@link TimetableIndex} when any
+ * instance reports a change to the course, so schedule writes made elsewhere
+ * reach the index. Every instance needs every event, so each one gets its own
+ * consumer group, named after {@code app.instance-id} (the host name by default)
+ * as in student-service's course cache consumer. An instance also reloads after
+ * its own writes, which is harmless. Events sent before the group first joins are
+ * not replayed. The startup load covers anything written before then.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimetableChangeConsumer {
+
+    private final TimetableIndex timetableIndex;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = CourseChangeTopic.NAME,
+            groupId = "school-course-service-timetable-${app.instance-id:#{T(java.net.InetAddress).getLocalHost().getHostName()}}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+            })
+    public void consume(String message) {
+        try {
+            JsonNode change = objectMapper.readTree(message);
+            if ("COURSE".equals(change.path("type").asText())) {
+                timetableIndex.reloadCourse(UUID.fromString(change.path("courseId").asText()));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reload timetable for course change {}: {}", message, e.getMessage());
+        }
+    }
+}
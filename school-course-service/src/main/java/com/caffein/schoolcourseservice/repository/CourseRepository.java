@@ -3,14 +3,20 @@ package com.caffein.schoolcourseservice.repository;
 import com.caffein.schoolcourseservice.model.Course;
 import com.caffein.schoolcourseservice.model.Subject;
 import com.caffein.schoolcourseservice.model.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, UUID> {
@@ -22,6 +28,35 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
     @Query("SELECT c FROM Course c LEFT JOIN FETCH c.schedules WHERE c.id = :id")
     Optional<Course> findByIdWithSchedules(@Param("id") UUID id);
 
+    @Query("SELECT DISTINCT c FROM Course c " +
+            "LEFT JOIN FETCH c.subject " +
+            "LEFT JOIN FETCH c.teacher " +
+            "LEFT JOIN FETCH c.schedules " +
+            "WHERE c.id IN :ids")
+    List<Course> findAllByIdInWithDetails(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = {"subject", "teacher", "schedules"})
+    @Query("SELECT c FROM Course c")
+    List<Course> findAllWithDetails();
+
+    /**
+     * Streams courses with subject, teacher and schedules fetched in the same query.
+     * Rows are ordered by course so each course's schedule rows arrive together.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT c FROM Course c " +
+            "LEFT JOIN FETCH c.subject " +
+            "LEFT JOIN FETCH c.teacher " +
+            "LEFT JOIN FETCH c.schedules " +
+            "WHERE (:academicYear IS NULL OR c.academicYear = :academicYear) " +
+            "AND (:semester IS NULL OR c.semester = :semester) " +
+            "ORDER BY c.id")
+    Stream<Course> streamWithDetails(
+            @Param("academicYear") String academicYear,
+            @Param("semester") String semester
+    );
+
+    @EntityGraph(attributePaths = {"subject", "teacher", "schedules"})
     @Query("SELECT DISTINCT c FROM Course c " +
             "LEFT JOIN c.subject s " +
             "LEFT JOIN c.teacher t " +
@@ -2,9 +2,14 @@ package com.caffein.schoolcourseservice.repository;
 
 import com.caffein.schoolcourseservice.model.DayOfWeek;
 import com.caffein.schoolcourseservice.model.Schedule;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +18,62 @@ public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
     List<Schedule> findByCourseId(UUID courseId);
     List<Schedule> findByDayOfWeek(DayOfWeek dayOfWeek);
     List<Schedule> findByCourseIdAndDayOfWeek(UUID courseId, DayOfWeek dayOfWeek);
-}
\ No newline at end of file
+
+    @Query("SELECT s.id AS id, c.id AS courseId, t.id AS teacherId, s.dayOfWeek AS dayOfWeek, " +
+           "s.startTime AS startTime, s.endTime AS endTime, s.roomNumber AS roomNumber " +
+           "FROM Schedule s JOIN s.course c LEFT JOIN c.teacher t")
+    List<TimetableRow> findTimetableRows();
+
+    @Query("SELECT s.id AS id, c.id AS courseId, t.id AS teacherId, s.dayOfWeek AS dayOfWeek, " +
+           "s.startTime AS startTime, s.endTime AS endTime, s.roomNumber AS roomNumber " +
+           "FROM Schedule s JOIN s.course c LEFT JOIN c.teacher t WHERE c.id = :courseId")
+    List<TimetableRow> findTimetableRowsByCourseId(@Param("courseId") UUID courseId);
+
+    /**
+     * Other schedules that overlap one of the given schedules in the same room or
+     * with the same teacher. Same rules as the timetable index: slots are
+     * half-open, rooms compare trimmed and case-insensitively, blank rooms never
+     * clash.
+     */
+    @Query("SELECT s.id AS scheduleId, s.roomNumber AS roomNumber, o.id AS otherScheduleId, " +
+           "o.roomNumber AS otherRoomNumber, o.dayOfWeek AS dayOfWeek, o.startTime AS startTime, o.endTime AS endTime " +
+           "FROM Schedule s JOIN s.course sc, Schedule o JOIN o.course oc " +
+           "WHERE s.id IN :scheduleIds AND o.id <> s.id AND o.dayOfWeek = s.dayOfWeek " +
+           "AND o.startTime < s.endTime AND o.endTime > s.startTime " +
+           "AND ((TRIM(s.roomNumber) <> '' AND UPPER(TRIM(o.roomNumber)) = UPPER(TRIM(s.roomNumber))) " +
+           "OR oc.teacher.id = sc.teacher.id)")
+    List<OverlapRow> findRoomOrTeacherOverlaps(@Param("scheduleIds") Collection<UUID> scheduleIds, Pageable pageable);
+
+    /**
+     * Schedules of other courses taught by {@code teacherId} that overlap one of
+     * the course's schedules.
+     */
+    @Query("SELECT s.id AS scheduleId, s.roomNumber AS roomNumber, o.id AS otherScheduleId, " +
+           "o.roomNumber AS otherRoomNumber, o.dayOfWeek AS dayOfWeek, o.startTime AS startTime, o.endTime AS endTime " +
+           "FROM Schedule s, Schedule o JOIN o.course oc " +
+           "WHERE s.course.id = :courseId AND oc.id <> :courseId AND oc.teacher.id = :teacherId " +
+           "AND o.dayOfWeek = s.dayOfWeek AND o.startTime < s.endTime AND o.endTime > s.startTime")
+    List<OverlapRow> findTeacherOverlaps(@Param("courseId") UUID courseId, @Param("teacherId") UUID teacherId,
+                                         Pageable pageable);
+
+    interface TimetableRow {
+        UUID getId();
+        UUID getCourseId();
+        UUID getTeacherId();
+        DayOfWeek getDayOfWeek();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+        String getRoomNumber();
+    }
+
+    // The times and day are those of the other schedule
+    interface OverlapRow {
+        UUID getScheduleId();
+        String getRoomNumber();
+        UUID getOtherScheduleId();
+        String getOtherRoomNumber();
+        DayOfWeek getDayOfWeek();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+    }
+}
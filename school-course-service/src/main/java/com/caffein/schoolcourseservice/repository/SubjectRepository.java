@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,7 @@ import java.util.UUID;
 public interface SubjectRepository extends JpaRepository<Subject, UUID> {
     Optional<Subject> findByName(String name);
     boolean existsByName(String name);
+    List<Subject> findAllByNameIn(Collection<String> names);
 
     @Query("SELECT s FROM Subject s JOIN s.teachers t WHERE t.id = :teacherId")
     List<Subject> findByTeacherId(UUID teacherId);
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +19,17 @@ public interface TeacherRepository extends JpaRepository<Teacher, UUID> {
 
     @Query("SELECT t FROM Teacher t JOIN t.subjects s WHERE s.id = :subjectId")
     List<Teacher> findBySubjectId(UUID subjectId);
-}
\ No newline at end of file
+
+    @Query("SELECT t.id AS teacherId, t.email AS email, s.id AS subjectId " +
+           "FROM Teacher t LEFT JOIN t.subjects s WHERE t.email IN :emails")
+    List<TeacherSubjectRow> findSubjectRowsByEmailIn(Collection<String> emails);
+
+    @Query("SELECT t.userId FROM Teacher t WHERE t.userId IN :userIds")
+    List<UUID> findUserIdsByUserIdIn(Collection<UUID> userIds);
+
+    interface TeacherSubjectRow {
+        UUID getTeacherId();
+        String getEmail();
+        UUID getSubjectId();
+    }
+}
@@ -4,21 +4,27 @@ import com.caffein.schoolcourseservice.dto.course.CourseCreateDTO;
 import com.caffein.schoolcourseservice.dto.course.CourseDTO;
 import com.caffein.schoolcourseservice.dto.course.CourseUpdateDTO;
 import com.caffein.schoolcourseservice.dto.course.mapper.CourseMapper;
+import com.caffein.schoolcourseservice.kafka.CourseChangePublisher;
 import com.caffein.schoolcourseservice.model.Course;
 import com.caffein.schoolcourseservice.model.Subject;
 import com.caffein.schoolcourseservice.model.Teacher;
 import com.caffein.schoolcourseservice.repository.CourseRepository;
 import com.caffein.schoolcourseservice.repository.SubjectRepository;
 import com.caffein.schoolcourseservice.repository.TeacherRepository;
+import com.caffein.schoolcourseservice.service.schedule.TimetableIndex;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +35,9 @@ public class CourseService implements ICourseService{
     private final SubjectRepository subjectRepository;
     private final TeacherRepository teacherRepository;
     private final CourseMapper courseMapper;
+    private final CourseChangePublisher courseChangePublisher;
+    private final TimetableIndex timetableIndex;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -71,7 +80,7 @@ public class CourseService implements ICourseService{
         if (hasAnyFilter(subject, teacher, academicYear, semester)) {
             courses = courseRepository.findCoursesWithFilters(subject, teacher, academicYear, semester);
         } else {
-            courses = courseRepository.findAll();
+            courses = courseRepository.findAllWithDetails();
         }
 
         return courses.stream()
@@ -79,6 +88,24 @@ public class CourseService implements ICourseService{
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Maps and hands over courses one at a time while the cursor is read. Each
+     * course is detached once handled, so the persistence context does not grow
+     * with the course count. The action runs with the cursor and its connection
+     * open: whatever it buffers stays in memory, and while it blocks (as the gRPC
+     * stream does for a slow client) the connection stays checked out.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachCourse(String academicYear, String semester, Consumer<CourseDTO> action) {
+        try (Stream<Course> courses = courseRepository.streamWithDetails(blankToNull(academicYear), blankToNull(semester))) {
+            courses.forEach(course -> {
+                action.accept(courseMapper.toDTO(course));
+                entityManager.detach(course);
+            });
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CourseDTO getCourseById(UUID id) {
@@ -87,6 +114,17 @@ public class CourseService implements ICourseService{
         return courseMapper.toDTO(course);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getCoursesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return courseRepository.findAllByIdInWithDetails(ids).stream()
+                .map(courseMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public CourseDTO updateCourse(UUID id, CourseUpdateDTO updateDTO) {
@@ -103,6 +141,7 @@ public class CourseService implements ICourseService{
                 throw new IllegalArgumentException("New teacher is not qualified to teach this subject");
             }
 
+            timetableIndex.changeTeacher(course.getId(), newTeacher.getId());
             course.setTeacher(newTeacher);
         }
 
@@ -124,6 +163,7 @@ public class CourseService implements ICourseService{
         }
 
         Course updatedCourse = courseRepository.save(course);
+        courseChangePublisher.courseChanged(updatedCourse.getId());
         log.info("Updated course: {}", updatedCourse.getName());
 
         return courseMapper.toDTO(updatedCourse);
@@ -136,9 +176,15 @@ public class CourseService implements ICourseService{
                 .orElseThrow(() -> new EntityNotFoundException("Course not found with ID: " + id));
 
         courseRepository.delete(course);
+        timetableIndex.releaseCourse(course.getId());
+        courseChangePublisher.courseChanged(course.getId());
         log.info("Deleted course: {}", course.getName());
     }
 
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+
     private boolean hasAnyFilter(String subject, String teacher, String academicYear, String semester) {
         return (subject != null && !subject.trim().isEmpty()) ||
                 (teacher != null && !teacher.trim().isEmpty()) ||
@@ -4,13 +4,17 @@ import com.caffein.schoolcourseservice.dto.course.CourseCreateDTO;
 import com.caffein.schoolcourseservice.dto.course.CourseDTO;
 import com.caffein.schoolcourseservice.dto.course.CourseUpdateDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ICourseService {
     CourseDTO createCourse(CourseCreateDTO createDTO);
     List<CourseDTO> getAllCourses(String subject, String teacher, String academicYear, String semester);
+    void forEachCourse(String academicYear, String semester, Consumer<CourseDTO> action);
     CourseDTO getCourseById(UUID id);
+    List<CourseDTO> getCoursesByIds(Collection<UUID> ids);
     CourseDTO updateCourse(UUID id, CourseUpdateDTO updateDTO);
     void deleteCourse(UUID id);
 }
\ No newline at end of file
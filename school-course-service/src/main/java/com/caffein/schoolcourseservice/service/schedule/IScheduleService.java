@@ -2,6 +2,7 @@ package com.caffein.schoolcourseservice.service.schedule;
 
 import com.caffein.schoolcourseservice.dto.schedule.ScheduleCreateDTO;
 import com.caffein.schoolcourseservice.dto.schedule.ScheduleDTO;
+import com.caffein.schoolcourseservice.dto.schedule.TimetableValidationDTO;
 
 import java.util.UUID;
 
@@ -9,4 +10,5 @@ public interface IScheduleService {
     ScheduleDTO addScheduleToCourse(UUID courseId, ScheduleCreateDTO createDTO);
     ScheduleDTO updateSchedule(UUID id, ScheduleCreateDTO updateDTO);
     void deleteSchedule(UUID id);
+    TimetableValidationDTO validateTimetable();
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.caffein.schoolcourseservice.service.schedule;
 
 import com.caffein.schoolcourseservice.dto.schedule.ScheduleCreateDTO;
 import com.caffein.schoolcourseservice.dto.schedule.ScheduleDTO;
+import com.caffein.schoolcourseservice.dto.schedule.TimetableValidationDTO;
 import com.caffein.schoolcourseservice.dto.schedule.mapper.ScheduleMapper;
+import com.caffein.schoolcourseservice.kafka.CourseChangePublisher;
 import com.caffein.schoolcourseservice.model.Course;
 import com.caffein.schoolcourseservice.model.Schedule;
 import com.caffein.schoolcourseservice.repository.CourseRepository;
@@ -13,7 +15,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -24,6 +25,8 @@ public class ScheduleService implements IScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final CourseRepository courseRepository;
     private final ScheduleMapper scheduleMapper;
+    private final CourseChangePublisher courseChangePublisher;
+    private final TimetableIndex timetableIndex;
 
     @Override
     @Transactional
@@ -36,14 +39,6 @@ public class ScheduleService implements IScheduleService {
             throw new IllegalArgumentException("Start time cannot be after end time");
         }
 
-        // Check for conflicts with existing schedules for this course
-        List<Schedule> existingSchedules = scheduleRepository.findByCourseIdAndDayOfWeek(courseId, createDTO.getDayOfWeek());
-        for (Schedule existing : existingSchedules) {
-            if (hasTimeConflict(createDTO, existing)) {
-                throw new IllegalArgumentException("Schedule conflicts with existing schedule for this course");
-            }
-        }
-
         Schedule schedule = Schedule.builder()
                 .course(course)
                 .dayOfWeek(createDTO.getDayOfWeek())
@@ -53,6 +48,9 @@ public class ScheduleService implements IScheduleService {
                 .build();
 
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        // Rejects course, room and teacher double-bookings; undone if this transaction rolls back
+        timetableIndex.reserve(toSlot(savedSchedule));
+        courseChangePublisher.courseChanged(courseId);
         log.info("Added schedule for course: {} on {} from {} to {}",
                 course.getName(), createDTO.getDayOfWeek(), createDTO.getStartTime(), createDTO.getEndTime());
 
@@ -70,23 +68,15 @@ public class ScheduleService implements IScheduleService {
             throw new IllegalArgumentException("Start time cannot be after end time");
         }
 
-        // Check for conflicts with other schedules for the same course (excluding current schedule)
-        List<Schedule> existingSchedules = scheduleRepository.findByCourseIdAndDayOfWeek(
-                schedule.getCourse().getId(), updateDTO.getDayOfWeek());
-
-        for (Schedule existing : existingSchedules) {
-            if (!existing.getId().equals(id) && hasTimeConflict(updateDTO, existing)) {
-                throw new IllegalArgumentException("Updated schedule conflicts with existing schedule for this course");
-            }
-        }
-
         // Update fields
         schedule.setDayOfWeek(updateDTO.getDayOfWeek());
         schedule.setStartTime(updateDTO.getStartTime());
         schedule.setEndTime(updateDTO.getEndTime());
         schedule.setRoomNumber(updateDTO.getRoomNumber());
 
+        timetableIndex.replace(toSlot(schedule));
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+        courseChangePublisher.courseChanged(schedule.getCourse().getId());
         log.info("Updated schedule for course: {} on {} from {} to {}",
                 schedule.getCourse().getName(), updateDTO.getDayOfWeek(), updateDTO.getStartTime(), updateDTO.getEndTime());
 
@@ -100,12 +90,24 @@ public class ScheduleService implements IScheduleService {
                 .orElseThrow(() -> new EntityNotFoundException("Schedule not found with ID: " + id));
 
         scheduleRepository.delete(schedule);
+        timetableIndex.release(id);
+        courseChangePublisher.courseChanged(schedule.getCourse().getId());
         log.info("Deleted schedule for course: {} on {}",
                 schedule.getCourse().getName(), schedule.getDayOfWeek());
     }
 
-    private boolean hasTimeConflict(ScheduleCreateDTO newSchedule, Schedule existingSchedule) {
-        return !(newSchedule.getEndTime().isBefore(existingSchedule.getStartTime()) ||
-                newSchedule.getStartTime().isAfter(existingSchedule.getEndTime()));
+    @Override
+    public TimetableValidationDTO validateTimetable() {
+        return TimetableValidationDTO.builder()
+                .schedulesChecked(timetableIndex.size())
+                .conflicts(timetableIndex.findConflicts())
+                .build();
+    }
+
+    private TimetableIndex.Slot toSlot(Schedule schedule) {
+        Course course = schedule.getCourse();
+        return new TimetableIndex.Slot(schedule.getId(), course.getId(), course.getTeacher().getId(),
+                schedule.getRoomNumber(), schedule.getDayOfWeek(),
+                schedule.getStartTime(), schedule.getEndTime());
     }
 }
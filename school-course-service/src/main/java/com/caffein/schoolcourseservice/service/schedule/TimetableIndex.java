@@ -0,0 +1,566 @@
+package com.caffein.schoolcourseservice.service.schedule;
+
+import com.caffein.schoolcourseservice.dto.schedule.TimetableConflictDTO;
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.caffein.schoolcourseservice.repository.ScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * In-memory timetable used to reject room, teacher and course double-bookings
+ * without querying.
+ * <p>
+ * Every schedule occupies one lane per resource it uses: its room, its course's
+ * teacher and its course, each on its day. A lane keeps its slots sorted by start
+ * time next to a running maximum of end times. "Does anything overlap [start, end)?"
+ * is then a binary search plus one comparison, and it stays correct even if legacy
+ * data already overlaps. Room and teacher slots are half-open, so back-to-back
+ * bookings are allowed. Slots of the same course keep the previous inclusive rule.
+ * <p>
+ * Changes are applied while the writing transaction is still open and undone if
+ * it rolls back. Check and reserve happen under one lock, so two requests on this
+ * instance cannot book the same room at once. The index loads once the application
+ * is ready, after the data initializer has run, or on the first write before that.
+ * <p>
+ * Every instance holds its own index and only sees its own writes directly. Writes
+ * made elsewhere arrive as course change events, which reload that course's slots
+ * (see {@link #reloadCourse}). Until they do, and for good if an event is lost,
+ * this index can miss another instance's booking or still hold one that was moved
+ * or deleted. The index is therefore only a pre-check. Room and teacher overlaps
+ * are checked again against the database inside the writing transaction. On
+ * PostgreSQL, writers first take a transaction-scoped advisory lock, so two
+ * instances cannot both pass that check for the same slot. A stale index can still
+ * reject a free slot until its course is reloaded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimetableIndex {
+
+    public enum Resource {
+        ROOM, TEACHER, COURSE
+    }
+
+    private static final Comparator<Slot> BY_START =
+            Comparator.comparing(Slot::start).thenComparing(Slot::end).thenComparing(Slot::scheduleId);
+
+    private static final String TIMETABLE_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('school-course-service.timetable'))";
+    private static final PageRequest FIRST = PageRequest.of(0, 1);
+
+    private final ScheduleRepository scheduleRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<LaneKey, Lane> lanes = new HashMap<>();
+    private final Map<UUID, Slot> slotsBySchedule = new HashMap<>();
+    private final Map<UUID, Set<UUID>> schedulesByCourse = new HashMap<>();
+    private boolean loaded;
+    private volatile Boolean postgres;
+
+    /**
+     * A schedule as the index sees it. {@code room} is the room number as entered
+     * and may be blank.
+     */
+    public record Slot(UUID scheduleId, UUID courseId, UUID teacherId, String room,
+                       DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Adds a new schedule's slot. Fails with {@link IllegalArgumentException} and
+     * leaves the index unchanged if it overlaps another schedule of the same room,
+     * teacher or course.
+     */
+    public void reserve(Slot slot) {
+        synchronized (this) {
+            reserve(slot, false);
+        }
+        confirmInDatabase(List.of(slot.scheduleId()));
+    }
+
+    /**
+     * Like {@link #reserve(Slot)}, but the schedule's current slot is ignored when
+     * checking and is replaced on success.
+     */
+    public void replace(Slot slot) {
+        synchronized (this) {
+            reserve(slot, true);
+        }
+        confirmInDatabase(List.of(slot.scheduleId()));
+    }
+
+    private void reserve(Slot slot, boolean update) {
+        ensureLoaded();
+        Slot previous = remove(slot.scheduleId());
+        String conflict = findConflict(slot, update);
+        if (conflict != null) {
+            if (previous != null) {
+                add(previous);
+            }
+            throw new IllegalArgumentException(conflict);
+        }
+        add(slot);
+        onRollback(() -> {
+            remove(slot.scheduleId());
+            if (previous != null) {
+                add(previous);
+            }
+        });
+    }
+
+    /**
+     * Adds all slots of a batch, or none of them: the first one that overlaps an
+     * existing slot or an earlier slot of the batch fails the whole call.
+     */
+    public void reserveAll(List<Slot> slots) {
+        synchronized (this) {
+            reserveAllLocked(slots);
+        }
+        confirmInDatabase(slots.stream().map(Slot::scheduleId).toList());
+    }
+
+    private void reserveAllLocked(List<Slot> slots) {
+        ensureLoaded();
+        List<Slot> added = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            String conflict = findConflict(slot, false);
+            if (conflict != null) {
+                added.forEach(reserved -> remove(reserved.scheduleId()));
+                throw new IllegalArgumentException(conflict);
+            }
+            add(slot);
+            added.add(slot);
+        }
+        onRollback(() -> added.forEach(reserved -> remove(reserved.scheduleId())));
+    }
+
+    /**
+     * Dry run of {@link #reserveAll(List)} that reports every conflicting slot
+     * instead of stopping at the first. The index is left unchanged.
+     */
+    public synchronized Map<Slot, String> check(List<Slot> slots) {
+        ensureLoaded();
+        Map<Slot, String> conflicts = new LinkedHashMap<>();
+        List<Slot> added = new ArrayList<>(slots.size());
+        try {
+            for (Slot slot : slots) {
+                String conflict = findConflict(slot, false);
+                if (conflict != null) {
+                    conflicts.put(slot, conflict);
+                } else {
+                    add(slot);
+                    added.add(slot);
+                }
+            }
+        } finally {
+            added.forEach(slot -> remove(slot.scheduleId()));
+        }
+        return conflicts;
+    }
+
+    public synchronized void release(UUID scheduleId) {
+        ensureLoaded();
+        Slot previous = remove(scheduleId);
+        if (previous != null) {
+            onRollback(() -> add(previous));
+        }
+    }
+
+    public synchronized void releaseCourse(UUID courseId) {
+        ensureLoaded();
+        List<Slot> removed = new ArrayList<>();
+        for (UUID scheduleId : List.copyOf(schedulesByCourse.getOrDefault(courseId, Set.of()))) {
+            removed.add(remove(scheduleId));
+        }
+        if (!removed.isEmpty()) {
+            onRollback(() -> removed.forEach(this::add));
+        }
+    }
+
+    /**
+     * Moves a course's slots to its new teacher's lanes. Fails with
+     * {@link IllegalArgumentException} if the teacher is busy at any of them.
+     */
+    public void changeTeacher(UUID courseId, UUID teacherId) {
+        synchronized (this) {
+            changeTeacherLocked(courseId, teacherId);
+        }
+        if (isTransactionActive()) {
+            lockTimetable();
+            List<ScheduleRepository.OverlapRow> overlaps = scheduleRepository.findTeacherOverlaps(courseId, teacherId, FIRST);
+            if (!overlaps.isEmpty()) {
+                ScheduleRepository.OverlapRow clash = overlaps.get(0);
+                throw new IllegalArgumentException(String.format(
+                        "New teacher is already teaching on %s from %s to %s",
+                        clash.getDayOfWeek(), clash.getStartTime(), clash.getEndTime()));
+            }
+        }
+    }
+
+    /**
+     * Replaces a course's slots with the ones the database holds now, to pick up
+     * writes made by another instance. Does nothing before the index has loaded,
+     * since the full load reads them anyway.
+     */
+    public void reloadCourse(UUID courseId) {
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+        }
+        // Read outside the lock; whatever commits meanwhile publishes its own change event
+        List<Slot> slots = readSlots(() -> scheduleRepository.findTimetableRowsByCourseId(courseId));
+        synchronized (this) {
+            for (UUID scheduleId : List.copyOf(schedulesByCourse.getOrDefault(courseId, Set.of()))) {
+                remove(scheduleId);
+            }
+            slots.forEach(this::add);
+        }
+        log.debug("Reloaded {} timetable slots of course {}", slots.size(), courseId);
+    }
+
+    private void changeTeacherLocked(UUID courseId, UUID teacherId) {
+        ensureLoaded();
+        List<Slot> previous = new ArrayList<>();
+        for (UUID scheduleId : schedulesByCourse.getOrDefault(courseId, Set.of())) {
+            Slot slot = slotsBySchedule.get(scheduleId);
+            if (teacherId.equals(slot.teacherId())) {
+                return;
+            }
+            Slot clash = lane(Resource.TEACHER, teacherId.toString(), slot.dayOfWeek())
+                    .findOverlap(slot.start(), slot.end(), false);
+            if (clash != null) {
+                throw new IllegalArgumentException(String.format(
+                        "New teacher is already teaching on %s from %s to %s",
+                        slot.dayOfWeek(), clash.start(), clash.end()));
+            }
+            previous.add(slot);
+        }
+        for (Slot slot : previous) {
+            remove(slot.scheduleId());
+            add(new Slot(slot.scheduleId(), slot.courseId(), teacherId, slot.room(), slot.dayOfWeek(), slot.start(), slot.end()));
+        }
+        if (!previous.isEmpty()) {
+            onRollback(() -> previous.forEach(slot -> {
+                remove(slot.scheduleId());
+                add(slot);
+            }));
+        }
+    }
+
+    /**
+     * Every pair of overlapping schedules, found with one sweep per lane. The sweep
+     * keeps the slots that are still running at the current start time, so a slot
+     * is paired with each of them and not only with the longest.
+     */
+    public synchronized List<TimetableConflictDTO> findConflicts() {
+        ensureLoaded();
+        List<TimetableConflictDTO> conflicts = new ArrayList<>();
+        lanes.forEach((key, lane) -> {
+            boolean inclusive = key.resource() == Resource.COURSE;
+            List<Slot> running = new ArrayList<>();
+            for (Slot slot : lane.slots) {
+                running.removeIf(active -> !overlaps(active, slot.start(), slot.end(), inclusive));
+                for (Slot active : running) {
+                    conflicts.add(TimetableConflictDTO.builder()
+                            .resource(key.resource().name())
+                            .resourceValue(key.value())
+                            .dayOfWeek(key.dayOfWeek())
+                            .scheduleId(active.scheduleId())
+                            .conflictingScheduleId(slot.scheduleId())
+                            .build());
+                }
+                running.add(slot);
+            }
+        });
+        return conflicts;
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return slotsBySchedule.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long started = System.nanoTime();
+        readSlots(scheduleRepository::findTimetableRows).forEach(this::add);
+        loaded = true;
+        log.info("Loaded timetable index: {} schedules in {} lanes ({} ms)",
+                slotsBySchedule.size(), lanes.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private List<Slot> readSlots(Supplier<List<ScheduleRepository.TimetableRow>> query) {
+        // Own transaction, so a caller's unflushed changes are neither flushed nor loaded
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        List<ScheduleRepository.TimetableRow> rows = template.execute(status -> query.get());
+        return rows.stream()
+                .map(row -> new Slot(row.getId(), row.getCourseId(), row.getTeacherId(), row.getRoomNumber(),
+                        row.getDayOfWeek(), row.getStartTime(), row.getEndTime()))
+                .toList();
+    }
+
+    /**
+     * Checks the caller's just-written schedules against the database, which also
+     * holds other instances' bookings. Runs in the writing transaction, after its
+     * changes, so the lock is held until commit. Without a transaction there is
+     * nothing to serialize against.
+     */
+    private void confirmInDatabase(List<UUID> scheduleIds) {
+        if (scheduleIds.isEmpty() || !isTransactionActive()) {
+            return;
+        }
+        lockTimetable();
+        List<ScheduleRepository.OverlapRow> overlaps = scheduleRepository.findRoomOrTeacherOverlaps(scheduleIds, FIRST);
+        if (overlaps.isEmpty()) {
+            return;
+        }
+        ScheduleRepository.OverlapRow clash = overlaps.get(0);
+        String room = normalizeRoom(clash.getRoomNumber());
+        if (room != null && room.equals(normalizeRoom(clash.getOtherRoomNumber()))) {
+            throw new IllegalArgumentException(String.format("%s is already booked on %s from %s to %s",
+                    clash.getOtherRoomNumber().trim(), clash.getDayOfWeek(), clash.getStartTime(), clash.getEndTime()));
+        }
+        throw new IllegalArgumentException(String.format("Teacher is already teaching on %s from %s to %s",
+                clash.getDayOfWeek(), clash.getStartTime(), clash.getEndTime()));
+    }
+
+    // Held until the writing transaction ends; the index lock is not held while waiting for it
+    private void lockTimetable() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        }
+        if (postgres) {
+            jdbcTemplate.execute(TIMETABLE_LOCK_SQL);
+        }
+    }
+
+    private static boolean isTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private String findConflict(Slot slot, boolean update) {
+        Slot clash = lane(Resource.COURSE, slot.courseId().toString(), slot.dayOfWeek())
+                .findOverlap(slot.start(), slot.end(), true);
+        if (clash != null) {
+            return update
+                    ? "Updated schedule conflicts with existing schedule for this course"
+                    : "Schedule conflicts with existing schedule for this course";
+        }
+        String room = normalizeRoom(slot.room());
+        if (room != null) {
+            clash = lane(Resource.ROOM, room, slot.dayOfWeek()).findOverlap(slot.start(), slot.end(), false);
+            if (clash != null) {
+                return String.format("%s is already booked on %s from %s to %s",
+                        clash.room().trim(), slot.dayOfWeek(), clash.start(), clash.end());
+            }
+        }
+        if (slot.teacherId() != null) {
+            clash = lane(Resource.TEACHER, slot.teacherId().toString(), slot.dayOfWeek())
+                    .findOverlap(slot.start(), slot.end(), false);
+            if (clash != null) {
+                return String.format("Teacher is already teaching on %s from %s to %s",
+                        slot.dayOfWeek(), clash.start(), clash.end());
+            }
+        }
+        return null;
+    }
+
+    // Replaces the schedule's slot if present, so a reload and a rollback undo can both add it
+    private void add(Slot slot) {
+        remove(slot.scheduleId());
+        slotsBySchedule.put(slot.scheduleId(), slot);
+        schedulesByCourse.computeIfAbsent(slot.courseId(), id -> new LinkedHashSet<>()).add(slot.scheduleId());
+        for (LaneKey key : keysOf(slot)) {
+            lanes.computeIfAbsent(key, k -> new Lane()).add(slot);
+        }
+    }
+
+    private Slot remove(UUID scheduleId) {
+        Slot slot = slotsBySchedule.remove(scheduleId);
+        if (slot == null) {
+            return null;
+        }
+        Set<UUID> courseSchedules = schedulesByCourse.get(slot.courseId());
+        courseSchedules.remove(scheduleId);
+        if (courseSchedules.isEmpty()) {
+            schedulesByCourse.remove(slot.courseId());
+        }
+        for (LaneKey key : keysOf(slot)) {
+            Lane lane = lanes.get(key);
+            lane.remove(slot);
+            if (lane.slots.isEmpty()) {
+                lanes.remove(key);
+            }
+        }
+        return slot;
+    }
+
+    private Lane lane(Resource resource, String value, DayOfWeek dayOfWeek) {
+        return lanes.getOrDefault(new LaneKey(resource, value, dayOfWeek), Lane.EMPTY);
+    }
+
+    private static List<LaneKey> keysOf(Slot slot) {
+        List<LaneKey> keys = new ArrayList<>(3);
+        keys.add(new LaneKey(Resource.COURSE, slot.courseId().toString(), slot.dayOfWeek()));
+        String room = normalizeRoom(slot.room());
+        if (room != null) {
+            keys.add(new LaneKey(Resource.ROOM, room, slot.dayOfWeek()));
+        }
+        if (slot.teacherId() != null) {
+            keys.add(new LaneKey(Resource.TEACHER, slot.teacherId().toString(), slot.dayOfWeek()));
+        }
+        return keys;
+    }
+
+    // Rooms are compared trimmed and case-insensitively; blank means no room
+    private static String normalizeRoom(String roomNumber) {
+        if (roomNumber == null || roomNumber.isBlank()) {
+            return null;
+        }
+        return roomNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean overlaps(Slot slot, LocalTime start, LocalTime end, boolean inclusive) {
+        return inclusive
+                ? !slot.start().isAfter(end) && !slot.end().isBefore(start)
+                : slot.start().isBefore(end) && slot.end().isAfter(start);
+    }
+
+    // Called with the index lock held; undo runs under the lock as well
+    private void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (TimetableIndex.this) {
+                        undo.run();
+                    }
+                }
+            }
+        });
+    }
+
+    private record LaneKey(Resource resource, String value, DayOfWeek dayOfWeek) {
+    }
+
+    /**
+     * Slots of one resource on one day, sorted by start, with
+     * {@code maxEnd[i]} the latest end among {@code slots[0..i]}.
+     */
+    private static final class Lane {
+
+        private static final Lane EMPTY = new Lane();
+
+        private final List<Slot> slots = new ArrayList<>();
+        private final List<LocalTime> maxEnd = new ArrayList<>();
+
+        private void add(Slot slot) {
+            int position = insertionPoint(slot);
+            slots.add(position, slot);
+            recomputeMaxEnd(position);
+        }
+
+        private void remove(Slot slot) {
+            int position = insertionPoint(slot);
+            if (position < slots.size() && slots.get(position).scheduleId().equals(slot.scheduleId())) {
+                slots.remove(position);
+                recomputeMaxEnd(position);
+            }
+        }
+
+        private Slot findOverlap(LocalTime start, LocalTime end, boolean inclusive) {
+            // Slots that begin before the candidate ends (or at its end, when inclusive)
+            int low = 0;
+            int high = slots.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                LocalTime slotStart = slots.get(mid).start();
+                if (slotStart.isBefore(end) || (inclusive && slotStart.equals(end))) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == 0) {
+                return null;
+            }
+            LocalTime latestEnd = maxEnd.get(low - 1);
+            if (latestEnd.isBefore(start) || (!inclusive && latestEnd.equals(start))) {
+                return null;
+            }
+            // Some earlier slot reaches into the candidate; walk back to name it
+            for (int i = low - 1; i >= 0; i--) {
+                if (overlaps(slots.get(i), start, end, inclusive)) {
+                    return slots.get(i);
+                }
+            }
+            return null;
+        }
+
+        private int insertionPoint(Slot slot) {
+            int low = 0;
+            int high = slots.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (BY_START.compare(slots.get(mid), slot) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void recomputeMaxEnd(int from) {
+            while (maxEnd.size() > slots.size()) {
+                maxEnd.remove(maxEnd.size() - 1);
+            }
+            for (int i = from; i < slots.size(); i++) {
+                LocalTime end = slots.get(i).end();
+                LocalTime running = i == 0 || end.isAfter(maxEnd.get(i - 1)) ? end : maxEnd.get(i - 1);
+                if (i < maxEnd.size()) {
+                    maxEnd.set(i, running);
+                } else {
+                    maxEnd.add(running);
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.caffein.schoolcourseservice.service.subjectService;
 import com.caffein.schoolcourseservice.dto.subject.SubjectCreateDTO;
 import com.caffein.schoolcourseservice.dto.subject.SubjectDTO;
 import com.caffein.schoolcourseservice.dto.subject.mapper.SubjectMapper;
+import com.caffein.schoolcourseservice.kafka.CourseChangePublisher;
 import com.caffein.schoolcourseservice.model.Subject;
 import com.caffein.schoolcourseservice.repository.SubjectRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -22,6 +23,7 @@ public class SubjectService implements  ISubjectService {
 
     private final SubjectRepository subjectRepository;
     private final SubjectMapper subjectMapper;
+    private final CourseChangePublisher courseChangePublisher;
 
     @Override
     @Transactional
@@ -37,6 +39,7 @@ public class SubjectService implements  ISubjectService {
                 .build();
 
         Subject savedSubject = subjectRepository.save(subject);
+        courseChangePublisher.subjectsChanged();
         log.info("Created new subject: {} in {}", savedSubject.getName(), savedSubject.getDepartment());
 
         return subjectMapper.toDTO(savedSubject);
@@ -75,6 +78,7 @@ public class SubjectService implements  ISubjectService {
         subject.getTeachers().clear();
 
         subjectRepository.delete(subject);
+        courseChangePublisher.subjectsChanged();
         log.info("Deleted subject: {}", subject.getName());
     }
 }
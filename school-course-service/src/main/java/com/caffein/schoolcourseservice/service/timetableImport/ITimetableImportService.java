@@ -0,0 +1,15 @@
+package com.caffein.schoolcourseservice.service.timetableImport;
+
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportProgressDTO;
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportResultDTO;
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportRowDTO;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ITimetableImportService {
+    TimetableImportPlan prepare(InputStream body, boolean csv);
+    TimetableImportPlan prepare(List<TimetableImportRowDTO> rows);
+    TimetableImportResultDTO execute(TimetableImportPlan plan, Consumer<TimetableImportProgressDTO> progressListener);
+}
@@ -0,0 +1,197 @@
+package com.caffein.schoolcourseservice.service.timetableImport;
+
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportRowDTO;
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Reads a timetable import line by line, as JSON lines ({@link TimetableImportRowDTO}
+ * fields) or as CSV. CSV rows start with the row type and list the fields by position:
+ * <pre>
+ * SUBJECT,name,department
+ * TEACHER,email,userId,firstName,lastName,department,subjects,phoneNumber,officeLocation,hireDate
+ * COURSE,ref,name,subject,teacher,academicYear,semester,maxCapacity,description
+ * SCHEDULE,course,dayOfWeek,startTime,endTime,roomNumber
+ * </pre>
+ * A teacher's subjects are separated by {@code ;}. A schedule's course is a course
+ * ref from the same import or the ID of an existing course. Blank lines and lines
+ * starting with {@code #} are skipped in both formats.
+ */
+@Component
+public class TimetableImportParser {
+
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+
+    public TimetableImportParser(ObjectMapper objectMapper,
+                                 @Value("${app.timetable-import.max-rows:100000}") int maxRows) {
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+    }
+
+    public List<TimetableImportRowDTO> parse(InputStream body, boolean csv) {
+        List<TimetableImportRowDTO> rows = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            int line = 0;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank() || text.startsWith("#")) {
+                    continue;
+                }
+                if (rows.size() == maxRows) {
+                    throw new IllegalArgumentException("An import is limited to " + maxRows + " rows");
+                }
+                try {
+                    TimetableImportRowDTO row = csv
+                            ? fromCsv(text)
+                            : objectMapper.readValue(text, TimetableImportRowDTO.class);
+                    if (row.getType() == null) {
+                        throw new IllegalArgumentException("type is required");
+                    }
+                    row.setLine(line);
+                    rows.add(row);
+                } catch (JsonProcessingException e) {
+                    errors.add("line " + line + ": " + e.getOriginalMessage());
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    errors.add("line " + line + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read timetable import", e);
+        }
+        TimetableImportService.rejectIfAny(errors);
+        return rows;
+    }
+
+    private static TimetableImportRowDTO fromCsv(String text) {
+        List<String> fields = splitCsv(text);
+        TimetableImportRowDTO.Type type = parseEnum(TimetableImportRowDTO.Type.class, column(fields, 0), "row type");
+        TimetableImportRowDTO.TimetableImportRowDTOBuilder row = TimetableImportRowDTO.builder().type(type);
+        switch (type) {
+            case SUBJECT -> row
+                    .name(column(fields, 1))
+                    .department(column(fields, 2));
+            case TEACHER -> row
+                    .email(column(fields, 1))
+                    .userId(parseUuid(column(fields, 2)))
+                    .firstName(column(fields, 3))
+                    .lastName(column(fields, 4))
+                    .department(column(fields, 5))
+                    .subjects(splitList(column(fields, 6)))
+                    .phoneNumber(column(fields, 7))
+                    .officeLocation(column(fields, 8))
+                    .hireDate(column(fields, 9) == null ? null : LocalDate.parse(column(fields, 9)));
+            case COURSE -> row
+                    .ref(column(fields, 1))
+                    .name(column(fields, 2))
+                    .subject(column(fields, 3))
+                    .teacher(column(fields, 4))
+                    .academicYear(column(fields, 5))
+                    .semester(column(fields, 6))
+                    .maxCapacity(column(fields, 7) == null ? null : Integer.valueOf(column(fields, 7)))
+                    .description(column(fields, 8));
+            case SCHEDULE -> {
+                String course = column(fields, 1);
+                if (course != null && course.length() == 36 && course.charAt(8) == '-') {
+                    row.courseId(parseUuid(course));
+                } else {
+                    row.course(course);
+                }
+                row.dayOfWeek(parseEnum(DayOfWeek.class, column(fields, 2), "day of week"))
+                        .startTime(column(fields, 3) == null ? null : LocalTime.parse(column(fields, 3)))
+                        .endTime(column(fields, 4) == null ? null : LocalTime.parse(column(fields, 4)))
+                        .roomNumber(column(fields, 5));
+            }
+        }
+        return row.build();
+    }
+
+    private static String column(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitList(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(";")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid UUID '" + value + "'");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown " + label + " '" + value + "'");
+        }
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and "" escapes
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,32 @@
+package com.caffein.schoolcourseservice.service.timetableImport;
+
+import com.caffein.schoolcourseservice.service.schedule.TimetableIndex;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A validated import with every reference resolved and every new row's ID assigned,
+ * ready to be written.
+ */
+public record TimetableImportPlan(List<NewSubject> subjects,
+                                  List<NewTeacher> teachers,
+                                  List<Qualification> qualifications,
+                                  List<NewCourse> courses,
+                                  List<TimetableIndex.Slot> schedules) {
+
+    record NewSubject(UUID id, String name, String department) {
+    }
+
+    record NewTeacher(UUID id, UUID userId, String firstName, String lastName, String email, String phoneNumber,
+                      String department, String officeLocation, LocalDate hireDate) {
+    }
+
+    record Qualification(UUID teacherId, UUID subjectId) {
+    }
+
+    record NewCourse(UUID id, UUID subjectId, UUID teacherId, String name, String description,
+                     String academicYear, String semester, int maxCapacity) {
+    }
+}
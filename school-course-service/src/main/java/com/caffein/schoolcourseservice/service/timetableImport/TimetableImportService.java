@@ -0,0 +1,409 @@
+package com.caffein.schoolcourseservice.service.timetableImport;
+
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportProgressDTO;
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportResultDTO;
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportRowDTO;
+import com.caffein.schoolcourseservice.kafka.CourseChangePublisher;
+import com.caffein.schoolcourseservice.model.Course;
+import com.caffein.schoolcourseservice.repository.CourseRepository;
+import com.caffein.schoolcourseservice.repository.SubjectRepository;
+import com.caffein.schoolcourseservice.repository.TeacherRepository;
+import com.caffein.schoolcourseservice.service.schedule.TimetableIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Loads subjects, teachers, courses and schedules in bulk.
+ * <p>
+ * {@link #prepare} resolves every reference with a few batched lookups and checks
+ * the rows against each other and against the {@link TimetableIndex}. It rejects
+ * the whole import with all of its errors before anything is written.
+ * {@link #execute} then inserts the rows with JDBC batches, one transaction per
+ * chunk, and reports progress after each chunk. Existing subjects and teachers are
+ * matched by name and email and reused.
+ */
+@Service
+@Slf4j
+public class TimetableImportService implements ITimetableImportService {
+
+    private static final int LOOKUP_BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private static final String INSERT_SUBJECT_SQL =
+            "INSERT INTO subjects (id, name, department) VALUES (?, ?, ?)";
+    private static final String INSERT_TEACHER_SQL =
+            "INSERT INTO teachers (id, user_id, first_name, last_name, email, phone_number, department, " +
+            "office_location, hire_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    private static final String INSERT_QUALIFICATION_SQL =
+            "INSERT INTO teacher_subjects (teacher_id, subject_id) VALUES (?, ?)";
+    private static final String INSERT_COURSE_SQL =
+            "INSERT INTO courses (id, subject_id, teacher_id, name, description, academic_year, semester, " +
+            "max_capacity, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    private static final String INSERT_SCHEDULE_SQL =
+            "INSERT INTO schedules (id, course_id, day_of_week, start_time, end_time, room_number) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final TimetableImportParser parser;
+    private final SubjectRepository subjectRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final TimetableIndex timetableIndex;
+    private final CourseChangePublisher courseChangePublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TimetableImportService(TimetableImportParser parser,
+                                  SubjectRepository subjectRepository,
+                                  TeacherRepository teacherRepository,
+                                  CourseRepository courseRepository,
+                                  TimetableIndex timetableIndex,
+                                  CourseChangePublisher courseChangePublisher,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.timetable-import.chunk-size:1000}") int chunkSize) {
+        this.parser = parser;
+        this.subjectRepository = subjectRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.timetableIndex = timetableIndex;
+        this.courseChangePublisher = courseChangePublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public TimetableImportPlan prepare(InputStream body, boolean csv) {
+        return prepare(parser.parse(body, csv));
+    }
+
+    @Override
+    public TimetableImportPlan prepare(List<TimetableImportRowDTO> rows) {
+        Map<TimetableImportRowDTO.Type, List<TimetableImportRowDTO>> byType = new EnumMap<>(TimetableImportRowDTO.Type.class);
+        for (TimetableImportRowDTO.Type type : TimetableImportRowDTO.Type.values()) {
+            byType.put(type, new ArrayList<>());
+        }
+        rows.forEach(row -> byType.get(row.getType()).add(row));
+        List<TimetableImportRowDTO> subjectRows = byType.get(TimetableImportRowDTO.Type.SUBJECT);
+        List<TimetableImportRowDTO> teacherRows = byType.get(TimetableImportRowDTO.Type.TEACHER);
+        List<TimetableImportRowDTO> courseRows = byType.get(TimetableImportRowDTO.Type.COURSE);
+        List<TimetableImportRowDTO> scheduleRows = byType.get(TimetableImportRowDTO.Type.SCHEDULE);
+
+        // One batched lookup per referenced table instead of one query per row
+        Set<String> subjectNames = new HashSet<>();
+        subjectRows.forEach(row -> addIfPresent(subjectNames, row.getName()));
+        teacherRows.forEach(row -> {
+            if (row.getSubjects() != null) {
+                row.getSubjects().forEach(name -> addIfPresent(subjectNames, name));
+            }
+        });
+        courseRows.forEach(row -> addIfPresent(subjectNames, row.getSubject()));
+        Set<String> emails = new HashSet<>();
+        teacherRows.forEach(row -> addIfPresent(emails, row.getEmail()));
+        courseRows.forEach(row -> addIfPresent(emails, row.getTeacher()));
+        Set<UUID> userIds = new HashSet<>();
+        teacherRows.forEach(row -> {
+            if (row.getUserId() != null) {
+                userIds.add(row.getUserId());
+            }
+        });
+        Set<UUID> existingCourseIds = new HashSet<>();
+        scheduleRows.forEach(row -> {
+            if (row.getCourse() == null && row.getCourseId() != null) {
+                existingCourseIds.add(row.getCourseId());
+            }
+        });
+
+        Map<String, UUID> subjectIds = new HashMap<>();
+        inBatches(subjectNames, subjectRepository::findAllByNameIn)
+                .forEach(subject -> subjectIds.put(subject.getName(), subject.getId()));
+        Map<String, UUID> teacherIds = new HashMap<>();
+        Map<UUID, Set<UUID>> qualified = new HashMap<>();
+        for (TeacherRepository.TeacherSubjectRow row : inBatches(emails, teacherRepository::findSubjectRowsByEmailIn)) {
+            teacherIds.put(row.getEmail(), row.getTeacherId());
+            Set<UUID> subjects = qualified.computeIfAbsent(row.getTeacherId(), id -> new HashSet<>());
+            if (row.getSubjectId() != null) {
+                subjects.add(row.getSubjectId());
+            }
+        }
+        Set<UUID> takenUserIds = new HashSet<>(inBatches(userIds, teacherRepository::findUserIdsByUserIdIn));
+        Map<UUID, UUID> teacherByCourse = new HashMap<>();
+        for (Course course : inBatches(existingCourseIds, courseRepository::findAllById)) {
+            teacherByCourse.put(course.getId(), course.getTeacher().getId());
+        }
+
+        List<RowError> errors = new ArrayList<>();
+
+        List<TimetableImportPlan.NewSubject> newSubjects = new ArrayList<>();
+        Set<String> importedSubjects = new HashSet<>();
+        for (TimetableImportRowDTO row : subjectRows) {
+            String name = trim(row.getName());
+            if (name == null) {
+                errors.add(error(row, "subject name is required"));
+            } else if (!importedSubjects.add(name)) {
+                errors.add(error(row, "subject '" + name + "' appears more than once"));
+            } else if (!subjectIds.containsKey(name)) {
+                UUID id = UUID.randomUUID();
+                subjectIds.put(name, id);
+                newSubjects.add(new TimetableImportPlan.NewSubject(id, name, trim(row.getDepartment())));
+            }
+        }
+
+        List<TimetableImportPlan.NewTeacher> newTeachers = new ArrayList<>();
+        List<TimetableImportPlan.Qualification> qualifications = new ArrayList<>();
+        Set<String> importedTeachers = new HashSet<>();
+        for (TimetableImportRowDTO row : teacherRows) {
+            String email = trim(row.getEmail());
+            if (email == null) {
+                errors.add(error(row, "teacher email is required"));
+                continue;
+            }
+            if (!importedTeachers.add(email)) {
+                errors.add(error(row, "teacher '" + email + "' appears more than once"));
+                continue;
+            }
+            UUID teacherId = teacherIds.get(email);
+            if (teacherId == null) {
+                if (row.getUserId() == null || trim(row.getFirstName()) == null || trim(row.getLastName()) == null) {
+                    errors.add(error(row, "new teacher '" + email + "' needs userId, firstName and lastName"));
+                    continue;
+                }
+                // Holds existing teachers' user IDs and those of new teachers earlier in the import
+                if (!takenUserIds.add(row.getUserId())) {
+                    errors.add(error(row, "userId " + row.getUserId() + " already belongs to another teacher"));
+                    continue;
+                }
+                teacherId = UUID.randomUUID();
+                teacherIds.put(email, teacherId);
+                qualified.put(teacherId, new HashSet<>());
+                newTeachers.add(new TimetableImportPlan.NewTeacher(teacherId, row.getUserId(), trim(row.getFirstName()),
+                        trim(row.getLastName()), email, trim(row.getPhoneNumber()), trim(row.getDepartment()),
+                        trim(row.getOfficeLocation()), row.getHireDate()));
+            }
+            if (row.getSubjects() == null) {
+                continue;
+            }
+            for (String subjectName : row.getSubjects()) {
+                UUID subjectId = subjectIds.get(trim(subjectName));
+                if (subjectId == null) {
+                    errors.add(error(row, "unknown subject '" + subjectName + "'"));
+                } else if (qualified.get(teacherId).add(subjectId)) {
+                    qualifications.add(new TimetableImportPlan.Qualification(teacherId, subjectId));
+                }
+            }
+        }
+
+        List<TimetableImportPlan.NewCourse> newCourses = new ArrayList<>();
+        Map<String, UUID> courseIdsByRef = new HashMap<>();
+        for (TimetableImportRowDTO row : courseRows) {
+            String name = trim(row.getName());
+            String ref = trim(row.getRef()) != null ? trim(row.getRef()) : name;
+            if (name == null || trim(row.getSubject()) == null || trim(row.getTeacher()) == null
+                    || trim(row.getAcademicYear()) == null || trim(row.getSemester()) == null
+                    || row.getMaxCapacity() == null) {
+                errors.add(error(row, "course needs name, subject, teacher, academicYear, semester and maxCapacity"));
+                continue;
+            }
+            if (row.getMaxCapacity() <= 0) {
+                errors.add(error(row, "maxCapacity must be positive"));
+                continue;
+            }
+            if (courseIdsByRef.containsKey(ref)) {
+                errors.add(error(row, "course ref '" + ref + "' appears more than once"));
+                continue;
+            }
+            UUID subjectId = subjectIds.get(trim(row.getSubject()));
+            UUID teacherId = teacherIds.get(trim(row.getTeacher()));
+            if (subjectId == null) {
+                errors.add(error(row, "unknown subject '" + row.getSubject() + "'"));
+                continue;
+            }
+            if (teacherId == null) {
+                errors.add(error(row, "unknown teacher '" + row.getTeacher() + "'"));
+                continue;
+            }
+            if (!qualified.get(teacherId).contains(subjectId)) {
+                errors.add(error(row, "Teacher is not qualified to teach this subject"));
+                continue;
+            }
+            UUID id = UUID.randomUUID();
+            courseIdsByRef.put(ref, id);
+            teacherByCourse.put(id, teacherId);
+            newCourses.add(new TimetableImportPlan.NewCourse(id, subjectId, teacherId, name,
+                    trim(row.getDescription()), trim(row.getAcademicYear()), trim(row.getSemester()),
+                    row.getMaxCapacity()));
+        }
+
+        List<TimetableIndex.Slot> slots = new ArrayList<>();
+        Map<UUID, TimetableImportRowDTO> rowBySchedule = new HashMap<>();
+        for (TimetableImportRowDTO row : scheduleRows) {
+            UUID courseId = row.getCourse() != null ? courseIdsByRef.get(trim(row.getCourse())) : row.getCourseId();
+            if (courseId == null || !teacherByCourse.containsKey(courseId)) {
+                Object course = row.getCourse() != null ? row.getCourse() : row.getCourseId();
+                errors.add(error(row, "unknown course '" + course + "'"));
+                continue;
+            }
+            if (row.getDayOfWeek() == null || row.getStartTime() == null || row.getEndTime() == null) {
+                errors.add(error(row, "schedule needs dayOfWeek, startTime and endTime"));
+                continue;
+            }
+            if (row.getStartTime().isAfter(row.getEndTime())) {
+                errors.add(error(row, "Start time cannot be after end time"));
+                continue;
+            }
+            UUID id = UUID.randomUUID();
+            slots.add(new TimetableIndex.Slot(id, courseId, teacherByCourse.get(courseId), trim(row.getRoomNumber()),
+                    row.getDayOfWeek(), row.getStartTime(), row.getEndTime()));
+            rowBySchedule.put(id, row);
+        }
+        timetableIndex.check(slots).forEach((slot, conflict) ->
+                errors.add(error(rowBySchedule.get(slot.scheduleId()), conflict)));
+
+        errors.sort(Comparator.comparingInt(RowError::line));
+        rejectIfAny(errors.stream().map(RowError::toString).toList());
+        return new TimetableImportPlan(newSubjects, newTeachers, qualifications, newCourses, slots);
+    }
+
+    /**
+     * Writes a prepared import. Stops at the first failing chunk; chunks committed
+     * before it stay, and the result says how far the import got.
+     */
+    @Override
+    public TimetableImportResultDTO execute(TimetableImportPlan plan, Consumer<TimetableImportProgressDTO> progressListener) {
+        long started = System.nanoTime();
+        TimetableImportResultDTO result = TimetableImportResultDTO.builder().stage("DONE").build();
+        try {
+            insertInChunks("SUBJECTS", plan.subjects(), progressListener, result::setSubjectsCreated,
+                    chunk -> jdbcTemplate.batchUpdate(INSERT_SUBJECT_SQL, args(chunk, subject -> new Object[]{
+                            subject.id(), subject.name(), subject.department()})));
+            if (!plan.subjects().isEmpty()) {
+                courseChangePublisher.subjectsChanged();
+            }
+            insertInChunks("TEACHERS", plan.teachers(), progressListener, result::setTeachersCreated,
+                    chunk -> jdbcTemplate.batchUpdate(INSERT_TEACHER_SQL, args(chunk, teacher -> new Object[]{
+                            teacher.id(), teacher.userId(), teacher.firstName(), teacher.lastName(), teacher.email(),
+                            teacher.phoneNumber(), teacher.department(), teacher.officeLocation(),
+                            teacher.hireDate() != null ? Date.valueOf(teacher.hireDate()) : null})));
+            insertInChunks("QUALIFICATIONS", plan.qualifications(), progressListener, result::setQualificationsAdded,
+                    chunk -> jdbcTemplate.batchUpdate(INSERT_QUALIFICATION_SQL, args(chunk, qualification -> new Object[]{
+                            qualification.teacherId(), qualification.subjectId()})));
+            insertInChunks("COURSES", plan.courses(), progressListener, result::setCoursesCreated,
+                    chunk -> jdbcTemplate.batchUpdate(INSERT_COURSE_SQL, args(chunk, course -> new Object[]{
+                            course.id(), course.subjectId(), course.teacherId(), course.name(), course.description(),
+                            course.academicYear(), course.semester(), course.maxCapacity()})));
+            insertInChunks("SCHEDULES", plan.schedules(), progressListener, result::setSchedulesCreated, chunk -> {
+                jdbcTemplate.batchUpdate(INSERT_SCHEDULE_SQL, args(chunk, slot -> new Object[]{
+                        slot.scheduleId(), slot.courseId(), slot.dayOfWeek().name(),
+                        Time.valueOf(slot.start()), Time.valueOf(slot.end()), slot.room()}));
+                // Re-checked here: another write may have taken a slot since prepare()
+                timetableIndex.reserveAll(chunk);
+                // New courses too: other instances reload their timetable slots from these events
+                chunk.stream()
+                        .map(TimetableIndex.Slot::courseId)
+                        .distinct()
+                        .forEach(courseChangePublisher::courseChanged);
+            });
+        } catch (RuntimeException e) {
+            log.error("Timetable import failed: {}", e.getMessage(), e);
+            result.setStage("FAILED");
+            result.setError(e.getMessage());
+        }
+        result.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+        log.info("Timetable import {}: {} subjects, {} teachers, {} qualifications, {} courses, {} schedules in {} ms",
+                result.getStage(), result.getSubjectsCreated(), result.getTeachersCreated(),
+                result.getQualificationsAdded(), result.getCoursesCreated(), result.getSchedulesCreated(),
+                result.getElapsedMs());
+        return result;
+    }
+
+    static void rejectIfAny(List<String> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        String shown = String.join("; ", errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS)));
+        if (errors.size() > MAX_REPORTED_ERRORS) {
+            shown += "; and " + (errors.size() - MAX_REPORTED_ERRORS) + " more";
+        }
+        throw new IllegalArgumentException("Timetable import rejected with " + errors.size() + " errors: " + shown);
+    }
+
+    private <T> void insertInChunks(String stage, List<T> rows, Consumer<TimetableImportProgressDTO> progressListener,
+                                    IntConsumer committed, Consumer<List<T>> writer) {
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            transactionTemplate.executeWithoutResult(status -> writer.accept(chunk));
+            int processed = from + chunk.size();
+            committed.accept(processed);
+            progressListener.accept(TimetableImportProgressDTO.builder()
+                    .stage(stage)
+                    .processed(processed)
+                    .total(rows.size())
+                    .build());
+        }
+    }
+
+    private static <T> List<Object[]> args(List<T> rows, Function<T, Object[]> mapper) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        rows.forEach(row -> args.add(mapper.apply(row)));
+        return args;
+    }
+
+    private static <K, V> List<V> inBatches(Collection<K> keys, Function<List<K>, List<V>> lookup) {
+        List<K> all = new ArrayList<>(keys);
+        List<V> result = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += LOOKUP_BATCH_SIZE) {
+            result.addAll(lookup.apply(all.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, all.size()))));
+        }
+        return result;
+    }
+
+    private static void addIfPresent(Set<String> values, String value) {
+        String trimmed = trim(value);
+        if (trimmed != null) {
+            values.add(trimmed);
+        }
+    }
+
+    private static String trim(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static RowError error(TimetableImportRowDTO row, String message) {
+        return new RowError(row.getLine(), message);
+    }
+
+    private record RowError(int line, String message) {
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+}
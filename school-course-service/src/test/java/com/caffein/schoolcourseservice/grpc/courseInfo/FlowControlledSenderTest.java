@@ -0,0 +1,86 @@
+package com.caffein.schoolcourseservice.grpc.courseInfo;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("FlowControlledSender Tests")
+class FlowControlledSenderTest {
+
+    @SuppressWarnings("unchecked")
+    private final ServerCallStreamObserver<String> observer = mock(ServerCallStreamObserver.class);
+
+    @Test
+    @DisplayName("Should hold a message until the transport is ready for it")
+    void shouldWaitUntilReady() {
+        when(observer.isReady()).thenReturn(false, false, false, true);
+
+        new FlowControlledSender<>(observer, Duration.ofSeconds(5)).send("course");
+
+        verify(observer, times(4)).isReady();
+        verify(observer).onNext("course");
+    }
+
+    @Test
+    @DisplayName("Should send straight away while the transport is ready")
+    void shouldSendWhenReady() {
+        when(observer.isReady()).thenReturn(true);
+        FlowControlledSender<String> sender = new FlowControlledSender<>(observer, Duration.ofSeconds(5));
+
+        sender.send("first");
+        sender.send("second");
+
+        verify(observer).onNext("first");
+        verify(observer).onNext("second");
+    }
+
+    @Test
+    @DisplayName("Should stop with CANCELLED when the client cancels while the stream is blocked")
+    void shouldStopWhenCancelled() {
+        when(observer.isReady()).thenReturn(false);
+        when(observer.isCancelled()).thenReturn(true);
+
+        assertThatThrownBy(() -> new FlowControlledSender<>(observer, Duration.ofSeconds(5)).send("course"))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.CANCELLED));
+        verify(observer, never()).onNext(any());
+    }
+
+    @Test
+    @DisplayName("Should stop with CANCELLED when the call context is cancelled")
+    void shouldStopWhenContextCancelled() {
+        when(observer.isReady()).thenReturn(false);
+        Context.CancellableContext context = Context.current().withCancellation();
+        context.cancel(null);
+
+        assertThatThrownBy(() -> context.run(() -> new FlowControlledSender<>(observer, Duration.ofSeconds(5)).send("course")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.CANCELLED));
+        verify(observer, never()).onNext(any());
+    }
+
+    @Test
+    @DisplayName("Should give up with DEADLINE_EXCEEDED when the client stops reading")
+    void shouldGiveUpOnStalledClient() {
+        when(observer.isReady()).thenReturn(false);
+
+        assertThatThrownBy(() -> new FlowControlledSender<>(observer, Duration.ofMillis(50)).send("course"))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED));
+        verify(observer, never()).onNext(any());
+    }
+}
@@ -0,0 +1,57 @@
+package com.caffein.schoolcourseservice.kafka;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseChangePublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final CourseChangePublisher publisher = new CourseChangePublisher(kafkaTemplate);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when send() throws because the broker is unreachable")
+    void shouldSwallowSynchronousSendFailure() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenThrow(new KafkaException("Topic course-change-events not present in metadata after 5000 ms"));
+
+        assertThatCode(publisher::subjectsChanged).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should publish only after the surrounding transaction commits")
+    void shouldPublishAfterCommit() {
+        UUID courseId = UUID.randomUUID();
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.courseChanged(courseId);
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(kafkaTemplate).send(eq(CourseChangeTopic.NAME), eq(courseId.toString()), anyString());
+    }
+}
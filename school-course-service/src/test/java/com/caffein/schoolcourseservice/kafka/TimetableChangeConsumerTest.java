@@ -0,0 +1,40 @@
+package com.caffein.schoolcourseservice.kafka;
+
+import com.caffein.schoolcourseservice.service.schedule.TimetableIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TimetableChangeConsumerTest {
+
+    private final TimetableIndex timetableIndex = mock(TimetableIndex.class);
+    private final TimetableChangeConsumer consumer = new TimetableChangeConsumer(timetableIndex, new ObjectMapper());
+
+    @Test
+    @DisplayName("Should reload the changed course's slots")
+    void shouldReloadCourse() {
+        UUID courseId = UUID.randomUUID();
+
+        consumer.consume("{\"type\":\"COURSE\",\"courseId\":\"" + courseId + "\"}");
+
+        verify(timetableIndex).reloadCourse(courseId);
+    }
+
+    @Test
+    @DisplayName("Should ignore subject changes and unreadable messages")
+    void shouldIgnoreOtherMessages() {
+        consumer.consume("{\"type\":\"SUBJECTS\"}");
+        assertThatCode(() -> consumer.consume("{\"type\":\"COURSE\",\"courseId\":\"not-a-uuid\"}"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> consumer.consume("not json")).doesNotThrowAnyException();
+
+        verifyNoInteractions(timetableIndex);
+    }
+}
@@ -0,0 +1,141 @@
+package com.caffein.schoolcourseservice.repository;
+
+import com.caffein.schoolcourseservice.DataInitializer;
+import com.caffein.schoolcourseservice.dto.course.CourseDTO;
+import com.caffein.schoolcourseservice.dto.course.mapper.CourseMapper;
+import com.caffein.schoolcourseservice.dto.schedule.mapper.ScheduleMapper;
+import com.caffein.schoolcourseservice.dto.subject.mapper.SubjectMapper;
+import com.caffein.schoolcourseservice.dto.teacher.mapper.TeacherMapper;
+import com.caffein.schoolcourseservice.model.Course;
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.caffein.schoolcourseservice.model.Schedule;
+import com.caffein.schoolcourseservice.model.Subject;
+import com.caffein.schoolcourseservice.model.Teacher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that listing or streaming courses with everything CourseMapper reads
+ * (subject, teacher, schedules) costs one statement, not one per course.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CourseMapper.class, SubjectMapper.class, TeacherMapper.class, ScheduleMapper.class})
+@DisplayName("CourseRepository Tests")
+class CourseRepositoryTest {
+
+    private static final int COURSES = 30;
+    private static final int SCHEDULES_PER_COURSE = 3;
+
+    // The application's seed data runner needs it; the slice does not scan components
+    @MockitoBean
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private CourseMapper courseMapper;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Subject math = entityManager.persist(Subject.builder().name("Mathematics").department("Science").build());
+        Subject history = entityManager.persist(Subject.builder().name("History").department("Humanities").build());
+        Teacher smith = entityManager.persist(teacher("Anna", "Smith"));
+        Teacher jones = entityManager.persist(teacher("Mark", "Jones"));
+
+        for (int i = 0; i < COURSES; i++) {
+            Course course = Course.builder()
+                    .name("Course " + i)
+                    .subject(i % 2 == 0 ? math : history)
+                    .teacher(i % 3 == 0 ? smith : jones)
+                    .academicYear(i % 2 == 0 ? "2025" : "2026")
+                    .semester("FALL")
+                    .maxCapacity(30)
+                    .build();
+            for (int slot = 0; slot < SCHEDULES_PER_COURSE; slot++) {
+                course.getSchedules().add(Schedule.builder()
+                        .course(course)
+                        .dayOfWeek(DayOfWeek.values()[slot])
+                        .startTime(LocalTime.of(8 + slot, 0))
+                        .endTime(LocalTime.of(9 + slot, 0))
+                        .roomNumber("R" + i)
+                        .build());
+            }
+            entityManager.persist(course);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list all courses with their relations in one statement")
+    void shouldListAllInOneStatement() {
+        List<CourseDTO> courses = courseRepository.findAllWithDetails().stream().map(courseMapper::toDTO).toList();
+
+        assertThat(courses).hasSize(COURSES)
+                .allSatisfy(course -> assertThat(course.getSchedules()).hasSize(SCHEDULES_PER_COURSE));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should list filtered courses with their relations in one statement")
+    void shouldListFilteredInOneStatement() {
+        List<CourseDTO> courses = courseRepository.findCoursesWithFilters("math", "smith", null, null).stream()
+                .map(courseMapper::toDTO)
+                .toList();
+
+        assertThat(courses).isNotEmpty()
+                .allSatisfy(course -> {
+                    assertThat(course.getSubject().getName()).isEqualTo("Mathematics");
+                    assertThat(course.getTeacher().getLastName()).isEqualTo("Smith");
+                    assertThat(course.getSchedules()).hasSize(SCHEDULES_PER_COURSE);
+                });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream courses with their relations in one statement")
+    void shouldStreamInOneStatement() {
+        List<CourseDTO> courses;
+        try (Stream<Course> stream = courseRepository.streamWithDetails("2025", null)) {
+            courses = stream.map(courseMapper::toDTO).toList();
+        }
+
+        assertThat(courses).hasSize(COURSES / 2)
+                .allSatisfy(course -> assertThat(course.getSchedules()).hasSize(SCHEDULES_PER_COURSE));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static Teacher teacher(String firstName, String lastName) {
+        return Teacher.builder()
+                .userId(UUID.randomUUID())
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@school.edu")
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.caffein.schoolcourseservice.repository;
+
+import com.caffein.schoolcourseservice.DataInitializer;
+import com.caffein.schoolcourseservice.model.Course;
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.caffein.schoolcourseservice.model.Schedule;
+import com.caffein.schoolcourseservice.model.Subject;
+import com.caffein.schoolcourseservice.model.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The database re-check behind {@link com.caffein.schoolcourseservice.service.schedule.TimetableIndex}
+ * must apply the index's overlap rules.
+ */
+@DataJpaTest
+@DisplayName("ScheduleRepository Tests")
+class ScheduleRepositoryTest {
+
+    // The application's seed data runner needs it; the slice does not scan components
+    @MockitoBean
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Subject subject;
+    private Teacher ada;
+    private Teacher alan;
+    private Course adaCourse;
+    private Course alanCourse;
+
+    @BeforeEach
+    void setUp() {
+        subject = entityManager.persist(Subject.builder().name("Mathematics").department("Science").build());
+        ada = entityManager.persist(teacher("Ada", "Lovelace"));
+        alan = entityManager.persist(teacher("Alan", "Turing"));
+        adaCourse = entityManager.persist(course("Algebra", ada));
+        alanCourse = entityManager.persist(course("Logic", alan));
+    }
+
+    @Test
+    @DisplayName("Should find another course in the same room, ignoring case and padding")
+    void shouldFindRoomOverlap() {
+        Schedule booked = schedule(alanCourse, DayOfWeek.MONDAY, "09:00", "10:00", " room 101 ");
+        Schedule candidate = schedule(adaCourse, DayOfWeek.MONDAY, "09:30", "10:30", "Room 101");
+
+        List<ScheduleRepository.OverlapRow> overlaps = overlapsOf(candidate);
+
+        assertThat(overlaps).singleElement().satisfies(overlap -> {
+            assertThat(overlap.getScheduleId()).isEqualTo(candidate.getId());
+            assertThat(overlap.getOtherScheduleId()).isEqualTo(booked.getId());
+            assertThat(overlap.getOtherRoomNumber()).isEqualTo(" room 101 ");
+            assertThat(overlap.getStartTime()).isEqualTo(LocalTime.of(9, 0));
+        });
+    }
+
+    @Test
+    @DisplayName("Should find the same teacher in another room")
+    void shouldFindTeacherOverlap() {
+        Course geometry = entityManager.persist(course("Geometry", ada));
+        Schedule booked = schedule(geometry, DayOfWeek.MONDAY, "09:00", "10:00", "Room 202");
+        Schedule candidate = schedule(adaCourse, DayOfWeek.MONDAY, "09:30", "10:30", "Room 101");
+
+        assertThat(overlapsOf(candidate)).extracting(ScheduleRepository.OverlapRow::getOtherScheduleId)
+                .containsExactly(booked.getId());
+    }
+
+    @Test
+    @DisplayName("Should allow back-to-back slots, other days, blank rooms and other teachers")
+    void shouldIgnoreNonOverlaps() {
+        schedule(alanCourse, DayOfWeek.MONDAY, "08:00", "09:00", "Room 101");
+        schedule(alanCourse, DayOfWeek.TUESDAY, "09:00", "10:00", "Room 101");
+        schedule(alanCourse, DayOfWeek.MONDAY, "09:00", "10:00", " ");
+        schedule(alanCourse, DayOfWeek.MONDAY, "09:15", "09:45", "Room 303");
+        Schedule candidate = schedule(adaCourse, DayOfWeek.MONDAY, "09:00", "10:00", "");
+
+        assertThat(overlapsOf(candidate)).isEmpty();
+        assertThat(scheduleRepository.findRoomOrTeacherOverlaps(
+                List.of(schedule(adaCourse, DayOfWeek.MONDAY, "10:00", "11:00", "Room 101").getId()),
+                Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find a prospective teacher's schedules that clash with the course's")
+    void shouldFindTeacherOverlapsForTeacherChange() {
+        schedule(adaCourse, DayOfWeek.MONDAY, "09:00", "10:00", "Room 101");
+        Schedule alanBooked = schedule(alanCourse, DayOfWeek.MONDAY, "09:30", "10:30", "Room 202");
+        schedule(alanCourse, DayOfWeek.MONDAY, "10:30", "11:30", "Room 202");
+
+        assertThat(scheduleRepository.findTeacherOverlaps(adaCourse.getId(), alan.getId(), Pageable.unpaged()))
+                .extracting(ScheduleRepository.OverlapRow::getOtherScheduleId)
+                .containsExactly(alanBooked.getId());
+        assertThat(scheduleRepository.findTeacherOverlaps(adaCourse.getId(), ada.getId(), Pageable.unpaged()))
+                .isEmpty();
+    }
+
+    private List<ScheduleRepository.OverlapRow> overlapsOf(Schedule schedule) {
+        return scheduleRepository.findRoomOrTeacherOverlaps(List.of(schedule.getId()), Pageable.unpaged());
+    }
+
+    private Schedule schedule(Course course, DayOfWeek dayOfWeek, String start, String end, String room) {
+        return entityManager.persistAndFlush(Schedule.builder()
+                .course(course)
+                .dayOfWeek(dayOfWeek)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .roomNumber(room)
+                .build());
+    }
+
+    private Course course(String name, Teacher teacher) {
+        return Course.builder()
+                .name(name)
+                .subject(subject)
+                .teacher(teacher)
+                .academicYear("2025")
+                .semester("FALL")
+                .maxCapacity(30)
+                .build();
+    }
+
+    private static Teacher teacher(String firstName, String lastName) {
+        return Teacher.builder()
+                .userId(UUID.randomUUID())
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@school.edu")
+                .build();
+    }
+}
@@ -0,0 +1,506 @@
+package com.caffein.schoolcourseservice.service.schedule;
+
+import com.caffein.schoolcourseservice.dto.schedule.TimetableConflictDTO;
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.caffein.schoolcourseservice.repository.ScheduleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimetableIndexTest {
+
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TimetableIndex index = new TimetableIndex(scheduleRepository, mock(PlatformTransactionManager.class), jdbcTemplate);
+
+    private final UUID course = UUID.randomUUID();
+    private final UUID otherCourse = UUID.randomUUID();
+    private final UUID teacher = UUID.randomUUID();
+    private final UUID otherTeacher = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Nested
+    @DisplayName("Overlap Rules")
+    class OverlapRules {
+
+        @Test
+        @DisplayName("Should allow back-to-back bookings of a room and a teacher")
+        void shouldAllowTouchingRoomAndTeacherSlots() {
+            loadNothing();
+            index.reserve(slot(course, teacher, "Room 101", "09:00", "10:00"));
+            index.reserve(slot(otherCourse, teacher, "Room 101", "10:00", "11:00"));
+
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should reject touching slots of the same course")
+        void shouldRejectTouchingCourseSlots() {
+            loadNothing();
+            index.reserve(slot(course, null, "Room 101", "09:00", "10:00"));
+
+            assertThatThrownBy(() -> index.reserve(slot(course, null, "Room 202", "10:00", "11:00")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Schedule conflicts with existing schedule for this course");
+        }
+
+        @Test
+        @DisplayName("Should reject a slot nested inside a booking of the same room")
+        void shouldRejectNestedRoomSlot() {
+            loadNothing();
+            index.reserve(slot(course, null, "Room 101", "09:00", "12:00"));
+
+            assertThatThrownBy(() -> index.reserve(slot(otherCourse, null, " room 101 ", "10:00", "11:00")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Room 101 is already booked on MONDAY from 09:00 to 12:00");
+        }
+
+        @Test
+        @DisplayName("Should reject a teacher booked in another room at the same time")
+        void shouldRejectBusyTeacher() {
+            loadNothing();
+            index.reserve(slot(course, teacher, "Room 101", "09:00", "10:00"));
+
+            assertThatThrownBy(() -> index.reserve(slot(otherCourse, teacher, "Room 202", "09:30", "10:30")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Teacher is already teaching on MONDAY from 09:00 to 10:00");
+        }
+
+        @Test
+        @DisplayName("Should find a long legacy slot hidden behind shorter ones")
+        void shouldCheckAgainstLegacyOverlaps() {
+            load(slot(course, null, "Room 101", "09:00", "12:00"),
+                    slot(otherCourse, null, "Room 101", "10:00", "11:00"));
+            UUID third = UUID.randomUUID();
+
+            assertThatThrownBy(() -> index.reserve(slot(third, null, "Room 101", "11:30", "12:30")))
+                    .hasMessageContaining("from 09:00 to 12:00");
+            index.reserve(slot(third, null, "Room 101", "12:00", "13:00"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Conflicts")
+    class FindConflicts {
+
+        @Test
+        @DisplayName("Should report every overlapping pair, not only pairs with the longest slot")
+        void shouldReportAllPairs() {
+            TimetableIndex.Slot a = slot(UUID.randomUUID(), null, "Room 101", "09:00", "12:00");
+            TimetableIndex.Slot b = slot(UUID.randomUUID(), null, "Room 101", "10:00", "11:00");
+            TimetableIndex.Slot c = slot(UUID.randomUUID(), null, "Room 101", "10:30", "11:30");
+            TimetableIndex.Slot d = slot(UUID.randomUUID(), null, "Room 101", "12:00", "13:00");
+            load(a, b, c, d);
+
+            assertThat(pairs(index.findConflicts())).containsExactlyInAnyOrder(
+                    Set.of(a.scheduleId(), b.scheduleId()),
+                    Set.of(a.scheduleId(), c.scheduleId()),
+                    Set.of(b.scheduleId(), c.scheduleId()));
+        }
+
+        @Test
+        @DisplayName("Should treat touching slots of one course as a conflict")
+        void shouldReportTouchingCourseSlots() {
+            TimetableIndex.Slot first = slot(course, null, "Room 101", "09:00", "10:00");
+            TimetableIndex.Slot second = slot(course, null, "Room 202", "10:00", "11:00");
+            load(first, second);
+
+            List<TimetableConflictDTO> conflicts = index.findConflicts();
+
+            assertThat(conflicts).hasSize(1);
+            assertThat(conflicts.get(0).getResource()).isEqualTo("COURSE");
+        }
+    }
+
+    @Nested
+    @DisplayName("Replace And Batches")
+    class ReplaceAndBatches {
+
+        @Test
+        @DisplayName("Should not let a schedule conflict with its own previous slot")
+        void shouldIgnoreOwnSlotOnReplace() {
+            loadNothing();
+            TimetableIndex.Slot original = slot(course, teacher, "Room 101", "09:00", "10:00");
+            index.reserve(original);
+
+            index.replace(moved(original, "09:30", "10:30"));
+
+            assertThat(index.size()).isEqualTo(1);
+            assertThatThrownBy(() -> index.reserve(slot(otherCourse, null, "Room 101", "10:00", "10:15")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should keep the previous slot when a replacement conflicts")
+        void shouldKeepPreviousSlotOnFailedReplace() {
+            loadNothing();
+            TimetableIndex.Slot original = slot(course, null, "Room 101", "09:00", "10:00");
+            index.reserve(original);
+            index.reserve(slot(otherCourse, null, "Room 101", "11:00", "12:00"));
+
+            assertThatThrownBy(() -> index.replace(moved(original, "11:30", "12:30")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> index.reserve(slot(UUID.randomUUID(), null, "Room 101", "09:30", "10:30")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should add none of a batch when one of its slots conflicts with another")
+        void shouldRejectWholeBatch() {
+            loadNothing();
+
+            assertThatThrownBy(() -> index.reserveAll(List.of(
+                    slot(course, null, "Room 101", "09:00", "10:00"),
+                    slot(otherCourse, null, "Room 101", "09:30", "10:30"))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(index.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rollback")
+    class Rollback {
+
+        @Test
+        @DisplayName("Should restore the previous slot when a replace rolls back")
+        void shouldUndoReplace() {
+            loadNothing();
+            TimetableIndex.Slot original = slot(course, null, "Room 101", "09:00", "10:00");
+            index.reserve(original);
+
+            TransactionSynchronizationManager.initSynchronization();
+            index.replace(moved(original, "14:00", "15:00"));
+            rollBack();
+
+            assertThatThrownBy(() -> index.reserve(slot(otherCourse, null, "Room 101", "09:00", "10:00")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            index.reserve(slot(otherCourse, null, "Room 101", "14:00", "15:00"));
+        }
+
+        @Test
+        @DisplayName("Should remove every slot of a batch when it rolls back")
+        void shouldUndoReserveAll() {
+            loadNothing();
+
+            TransactionSynchronizationManager.initSynchronization();
+            index.reserveAll(List.of(
+                    slot(course, teacher, "Room 101", "09:00", "10:00"),
+                    slot(otherCourse, teacher, "Room 101", "10:00", "11:00")));
+            assertThat(index.size()).isEqualTo(2);
+            rollBack();
+
+            assertThat(index.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep the slot when the transaction commits")
+        void shouldKeepCommittedReserve() {
+            loadNothing();
+
+            TransactionSynchronizationManager.initSynchronization();
+            index.reserve(slot(course, null, "Room 101", "09:00", "10:00"));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            assertThat(index.size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Teacher")
+    class ChangeTeacher {
+
+        @Test
+        @DisplayName("Should move a course's slots to the new teacher")
+        void shouldMoveSlots() {
+            loadNothing();
+            index.reserve(slot(course, teacher, "Room 101", "09:00", "10:00"));
+
+            index.changeTeacher(course, otherTeacher);
+
+            index.reserve(slot(otherCourse, teacher, "Room 202", "09:00", "10:00"));
+            assertThatThrownBy(() -> index.reserve(slot(UUID.randomUUID(), otherTeacher, "Room 303", "09:30", "10:30")))
+                    .hasMessage("Teacher is already teaching on MONDAY from 09:00 to 10:00");
+        }
+
+        @Test
+        @DisplayName("Should reject a new teacher who is busy and leave the slots unchanged")
+        void shouldRejectBusyTeacher() {
+            loadNothing();
+            index.reserve(slot(course, teacher, "Room 101", "09:00", "10:00"));
+            index.reserve(slot(otherCourse, otherTeacher, "Room 202", "09:30", "10:30"));
+
+            assertThatThrownBy(() -> index.changeTeacher(course, otherTeacher))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("New teacher is already teaching on MONDAY from 09:30 to 10:30");
+            assertThatThrownBy(() -> index.reserve(slot(UUID.randomUUID(), teacher, "Room 303", "09:00", "10:00")))
+                    .hasMessageStartingWith("Teacher is already teaching");
+        }
+
+        @Test
+        @DisplayName("Should put the slots back on the old teacher when the change rolls back")
+        void shouldUndoChange() {
+            loadNothing();
+            index.reserve(slot(course, teacher, "Room 101", "09:00", "10:00"));
+
+            TransactionSynchronizationManager.initSynchronization();
+            index.changeTeacher(course, otherTeacher);
+            rollBack();
+
+            index.reserve(slot(otherCourse, otherTeacher, "Room 202", "09:00", "10:00"));
+            assertThatThrownBy(() -> index.reserve(slot(UUID.randomUUID(), teacher, "Room 303", "09:00", "10:00")))
+                    .hasMessageStartingWith("Teacher is already teaching");
+        }
+    }
+
+    @Nested
+    @DisplayName("Other Instances")
+    class OtherInstances {
+
+        @Test
+        @DisplayName("Should replace a course's slots with the database's on reload")
+        void shouldReloadCourse() {
+            TimetableIndex.Slot moved = slot(course, teacher, "Room 101", "09:00", "10:00");
+            TimetableIndex.Slot other = slot(otherCourse, otherTeacher, "Room 202", "09:00", "10:00");
+            load(moved, other);
+            index.size();
+            TimetableIndex.Slot movedElsewhere = moved(moved, "14:00", "15:00");
+            TimetableIndex.Slot added = slot(course, teacher, "Room 303", "16:00", "17:00");
+            when(scheduleRepository.findTimetableRowsByCourseId(course)).thenReturn(List.of(row(movedElsewhere), row(added)));
+
+            index.reloadCourse(course);
+
+            assertThat(index.size()).isEqualTo(3);
+            index.reserve(slot(UUID.randomUUID(), null, "Room 101", "09:00", "10:00"));
+            assertThatThrownBy(() -> index.reserve(slot(UUID.randomUUID(), null, "Room 101", "14:30", "15:30")))
+                    .hasMessage("Room 101 is already booked on MONDAY from 14:00 to 15:00");
+            assertThatThrownBy(() -> index.reserve(slot(UUID.randomUUID(), otherTeacher, "Room 404", "09:30", "10:30")))
+                    .hasMessageStartingWith("Teacher is already teaching");
+        }
+
+        @Test
+        @DisplayName("Should not double a slot that a rolled-back write restores after a reload")
+        void shouldKeepOneSlotAfterReloadAndRollback() {
+            TimetableIndex.Slot original = slot(course, null, "Room 101", "09:00", "10:00");
+            load(original);
+            index.size();
+            when(scheduleRepository.findTimetableRowsByCourseId(course)).thenReturn(List.of(row(original)));
+
+            TransactionSynchronizationManager.initSynchronization();
+            index.replace(moved(original, "14:00", "15:00"));
+            index.reloadCourse(course);
+            rollBack();
+
+            assertThat(index.size()).isEqualTo(1);
+            assertThat(index.findConflicts()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not query a course before the index has loaded")
+        void shouldSkipReloadBeforeLoad() {
+            index.reloadCourse(course);
+
+            verify(scheduleRepository, never()).findTimetableRowsByCourseId(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a room booked by another instance and serialize writers on PostgreSQL")
+        void shouldRecheckRoomInDatabase() {
+            loadNothing();
+            inTransactionOn("PostgreSQL");
+            TimetableIndex.Slot slot = slot(course, teacher, "Room 101", "09:00", "10:00");
+            when(scheduleRepository.findRoomOrTeacherOverlaps(eq(List.of(slot.scheduleId())), any()))
+                    .thenReturn(List.of(overlap(slot, " room 101", "08:30", "09:30")));
+
+            assertThatThrownBy(() -> index.reserve(slot))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("room 101 is already booked on MONDAY from 08:30 to 09:30");
+            verify(jdbcTemplate).execute(startsWith("SELECT pg_advisory_xact_lock("));
+        }
+
+        @Test
+        @DisplayName("Should reject a teacher booked by another instance")
+        void shouldRecheckTeacherInDatabase() {
+            loadNothing();
+            inTransactionOn("H2");
+            TimetableIndex.Slot slot = slot(course, teacher, "Room 101", "09:00", "10:00");
+            when(scheduleRepository.findRoomOrTeacherOverlaps(eq(List.of(slot.scheduleId())), any()))
+                    .thenReturn(List.of(overlap(slot, "Room 202", "09:30", "10:30")));
+
+            assertThatThrownBy(() -> index.reserve(slot))
+                    .hasMessage("Teacher is already teaching on MONDAY from 09:30 to 10:30");
+            verify(jdbcTemplate, never()).execute(anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject a new teacher booked by another instance")
+        void shouldRecheckNewTeacherInDatabase() {
+            TimetableIndex.Slot slot = slot(course, teacher, "Room 101", "09:00", "10:00");
+            load(slot);
+            inTransactionOn("PostgreSQL");
+            when(scheduleRepository.findTeacherOverlaps(eq(course), eq(otherTeacher), any()))
+                    .thenReturn(List.of(overlap(slot, "Room 202", "09:45", "10:45")));
+
+            assertThatThrownBy(() -> index.changeTeacher(course, otherTeacher))
+                    .hasMessage("New teacher is already teaching on MONDAY from 09:45 to 10:45");
+        }
+
+        @Test
+        @DisplayName("Should not query the database outside a transaction")
+        void shouldSkipRecheckWithoutTransaction() {
+            loadNothing();
+
+            index.reserve(slot(course, teacher, "Room 101", "09:00", "10:00"));
+
+            verify(scheduleRepository, never()).findRoomOrTeacherOverlaps(any(), any());
+        }
+
+        private void inTransactionOn(String database) {
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(database);
+        }
+    }
+
+    private void loadNothing() {
+        load();
+    }
+
+    private void load(TimetableIndex.Slot... slots) {
+        when(scheduleRepository.findTimetableRows()).thenReturn(Arrays.stream(slots).map(TimetableIndexTest::row).toList());
+    }
+
+    private static void rollBack() {
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static TimetableIndex.Slot slot(UUID courseId, UUID teacherId, String room, String start, String end) {
+        return new TimetableIndex.Slot(UUID.randomUUID(), courseId, teacherId, room, DayOfWeek.MONDAY,
+                LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private static TimetableIndex.Slot moved(TimetableIndex.Slot slot, String start, String end) {
+        return new TimetableIndex.Slot(slot.scheduleId(), slot.courseId(), slot.teacherId(), slot.room(),
+                slot.dayOfWeek(), LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private static Set<Set<UUID>> pairs(List<TimetableConflictDTO> conflicts) {
+        return conflicts.stream()
+                .map(conflict -> Set.of(conflict.getScheduleId(), conflict.getConflictingScheduleId()))
+                .collect(Collectors.toSet());
+    }
+
+    private static ScheduleRepository.OverlapRow overlap(TimetableIndex.Slot slot, String otherRoom, String start, String end) {
+        return new ScheduleRepository.OverlapRow() {
+            @Override
+            public UUID getScheduleId() {
+                return slot.scheduleId();
+            }
+
+            @Override
+            public String getRoomNumber() {
+                return slot.room();
+            }
+
+            @Override
+            public UUID getOtherScheduleId() {
+                return UUID.randomUUID();
+            }
+
+            @Override
+            public String getOtherRoomNumber() {
+                return otherRoom;
+            }
+
+            @Override
+            public DayOfWeek getDayOfWeek() {
+                return slot.dayOfWeek();
+            }
+
+            @Override
+            public LocalTime getStartTime() {
+                return LocalTime.parse(start);
+            }
+
+            @Override
+            public LocalTime getEndTime() {
+                return LocalTime.parse(end);
+            }
+        };
+    }
+
+    private static ScheduleRepository.TimetableRow row(TimetableIndex.Slot slot) {
+        return new ScheduleRepository.TimetableRow() {
+            @Override
+            public UUID getId() {
+                return slot.scheduleId();
+            }
+
+            @Override
+            public UUID getCourseId() {
+                return slot.courseId();
+            }
+
+            @Override
+            public UUID getTeacherId() {
+                return slot.teacherId();
+            }
+
+            @Override
+            public DayOfWeek getDayOfWeek() {
+                return slot.dayOfWeek();
+            }
+
+            @Override
+            public LocalTime getStartTime() {
+                return slot.start();
+            }
+
+            @Override
+            public LocalTime getEndTime() {
+                return slot.end();
+            }
+
+            @Override
+            public String getRoomNumber() {
+                return slot.room();
+            }
+        };
+    }
+}
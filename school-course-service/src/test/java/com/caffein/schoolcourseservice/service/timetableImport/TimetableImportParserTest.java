@@ -0,0 +1,103 @@
+package com.caffein.schoolcourseservice.service.timetableImport;
+
+import com.caffein.schoolcourseservice.dto.timetableImport.TimetableImportRowDTO;
+import com.caffein.schoolcourseservice.model.DayOfWeek;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimetableImportParserTest {
+
+    private final TimetableImportParser parser =
+            new TimetableImportParser(new ObjectMapper().registerModule(new JavaTimeModule()), 100);
+
+    @Test
+    @DisplayName("Should keep commas and escaped quotes inside quoted CSV fields")
+    void shouldParseQuotedFields() {
+        List<TimetableImportRowDTO> rows = parseCsv(
+                "COURSE,calc,\"Calculus, Part I\",Calculus,t@school.edu,2024-2025,Fall,30,\"Covers \"\"limits\"\"\"");
+
+        TimetableImportRowDTO row = rows.get(0);
+        assertThat(row.getName()).isEqualTo("Calculus, Part I");
+        assertThat(row.getDescription()).isEqualTo("Covers \"limits\"");
+        assertThat(row.getMaxCapacity()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should split teacher subjects and tell course refs from course IDs")
+    void shouldParseListsAndCourseIds() {
+        UUID courseId = UUID.randomUUID();
+        List<TimetableImportRowDTO> rows = parseCsv(
+                "TEACHER,t@school.edu," + UUID.randomUUID() + ",Ada,Lovelace,,Mathematics; Calculus",
+                "SCHEDULE,calc,monday,09:00,10:30,Room 101",
+                "SCHEDULE," + courseId + ",TUESDAY,09:00,10:30,");
+
+        assertThat(rows.get(0).getSubjects()).containsExactly("Mathematics", "Calculus");
+        assertThat(rows.get(1).getCourse()).isEqualTo("calc");
+        assertThat(rows.get(1).getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(rows.get(1).getEndTime()).isEqualTo(LocalTime.of(10, 30));
+        assertThat(rows.get(2).getCourseId()).isEqualTo(courseId);
+        assertThat(rows.get(2).getRoomNumber()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should number rows by file line, skipping blanks and comments")
+    void shouldTrackLineNumbers() {
+        List<TimetableImportRowDTO> rows = parseCsv("# subjects", "", "SUBJECT,Physics,Science");
+
+        assertThat(rows).singleElement().extracting(TimetableImportRowDTO::getLine).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should report every bad line at once")
+    void shouldCollectAllErrors() {
+        assertThatThrownBy(() -> parseCsv(
+                "ROOM,101",
+                "SUBJECT,Physics,Science",
+                "COURSE,calc,\"Calculus,Calculus"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Timetable import rejected with 2 errors: line 1: unknown row type 'ROOM'; "
+                        + "line 3: unterminated quoted field");
+    }
+
+    @Test
+    @DisplayName("Should read JSON lines and reject a row without a type")
+    void shouldParseJsonLines() {
+        List<TimetableImportRowDTO> rows = parse(false, "{\"type\":\"SCHEDULE\",\"course\":\"calc\",\"startTime\":\"09:00\"}");
+        assertThat(rows.get(0).getStartTime()).isEqualTo(LocalTime.of(9, 0));
+
+        assertThatThrownBy(() -> parse(false, "{\"name\":\"Physics\"}"))
+                .hasMessageEndingWith("line 1: type is required");
+    }
+
+    @Test
+    @DisplayName("Should refuse imports over the row limit")
+    void shouldEnforceMaxRows() {
+        TimetableImportParser small = new TimetableImportParser(new ObjectMapper(), 1);
+
+        assertThatThrownBy(() -> small.parse(stream("SUBJECT,A,x\nSUBJECT,B,x"), true))
+                .hasMessage("An import is limited to 1 rows");
+    }
+
+    private List<TimetableImportRowDTO> parseCsv(String... lines) {
+        return parse(true, lines);
+    }
+
+    private List<TimetableImportRowDTO> parse(boolean csv, String... lines) {
+        return parser.parse(stream(String.join("\n", lines)), csv);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
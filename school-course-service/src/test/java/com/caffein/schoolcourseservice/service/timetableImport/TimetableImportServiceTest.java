@@ -0,0 +1,161 @@
+package com.caffein.schoolcourseservice.service.timetableImport;
+
+import com.caffein.schoolcourseservice.kafka.CourseChangePublisher;
+import com.caffein.schoolcourseservice.model.Subject;
+import com.caffein.schoolcourseservice.repository.CourseRepository;
+import com.caffein.schoolcourseservice.repository.ScheduleRepository;
+import com.caffein.schoolcourseservice.repository.SubjectRepository;
+import com.caffein.schoolcourseservice.repository.TeacherRepository;
+import com.caffein.schoolcourseservice.service.schedule.TimetableIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimetableImportServiceTest {
+
+    private final SubjectRepository subjectRepository = mock(SubjectRepository.class);
+    private final TeacherRepository teacherRepository = mock(TeacherRepository.class);
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final TimetableImportService service = new TimetableImportService(
+            new TimetableImportParser(new ObjectMapper(), 1000),
+            subjectRepository, teacherRepository, courseRepository,
+            new TimetableIndex(scheduleRepository, transactionManager, mock(JdbcTemplate.class)),
+            mock(CourseChangePublisher.class), mock(JdbcTemplate.class), transactionManager, 1000);
+
+    private final UUID mathematicsId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(subjectRepository.findAllByNameIn(anyList())).thenReturn(List.of(
+                Subject.builder().id(mathematicsId).name("Mathematics").build()));
+        when(teacherRepository.findSubjectRowsByEmailIn(anyList())).thenReturn(List.of());
+        when(teacherRepository.findUserIdsByUserIdIn(anyList())).thenReturn(List.of());
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(scheduleRepository.findTimetableRows()).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should plan new subjects, teachers, courses and schedules")
+    void shouldPlanImport() {
+        TimetableImportPlan plan = prepare(
+                "SUBJECT,Physics,Science",
+                "TEACHER,ada@school.edu," + UUID.randomUUID() + ",Ada,Lovelace,,Mathematics;Physics",
+                "COURSE,calc,Calculus I,Mathematics,ada@school.edu,2024-2025,Fall,30",
+                "SCHEDULE,calc,MONDAY,09:00,10:00,Room 101",
+                "SCHEDULE,calc,WEDNESDAY,09:00,10:00,Room 101");
+
+        assertThat(plan.subjects()).extracting(TimetableImportPlan.NewSubject::name).containsExactly("Physics");
+        assertThat(plan.teachers()).hasSize(1);
+        assertThat(plan.qualifications()).hasSize(2);
+        assertThat(plan.courses()).hasSize(1);
+        assertThat(plan.schedules()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject references to unknown subjects, teachers and courses")
+    void shouldRejectUnknownReferences() {
+        assertThatThrownBy(() -> prepare(
+                "COURSE,calc,Calculus I,Astrology,ada@school.edu,2024-2025,Fall,30",
+                "COURSE,alg,Algebra,Mathematics,nobody@school.edu,2024-2025,Fall,30",
+                "SCHEDULE,missing,MONDAY,09:00,10:00,Room 101"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Timetable import rejected with 3 errors: "
+                        + "line 1: unknown subject 'Astrology'; "
+                        + "line 2: unknown teacher 'nobody@school.edu'; "
+                        + "line 3: unknown course 'missing'");
+    }
+
+    @Test
+    @DisplayName("Should reject a course whose existing teacher is not qualified for its subject")
+    void shouldRejectUnqualifiedTeacher() {
+        UUID teacherId = UUID.randomUUID();
+        when(teacherRepository.findSubjectRowsByEmailIn(anyList())).thenReturn(List.of(teacherRow(teacherId, null)));
+
+        assertThatThrownBy(() -> prepare("COURSE,calc,Calculus I,Mathematics,ada@school.edu,2024-2025,Fall,30"))
+                .hasMessageEndingWith("line 1: Teacher is not qualified to teach this subject");
+    }
+
+    @Test
+    @DisplayName("Should reject two imported schedules booking the same room at once")
+    void shouldRejectRoomConflictWithinImport() {
+        assertThatThrownBy(() -> prepare(
+                "TEACHER,ada@school.edu," + UUID.randomUUID() + ",Ada,Lovelace,,Mathematics",
+                "TEACHER,alan@school.edu," + UUID.randomUUID() + ",Alan,Turing,,Mathematics",
+                "COURSE,calc,Calculus I,Mathematics,ada@school.edu,2024-2025,Fall,30",
+                "COURSE,alg,Algebra,Mathematics,alan@school.edu,2024-2025,Fall,30",
+                "SCHEDULE,calc,MONDAY,09:00,10:00,Room 101",
+                "SCHEDULE,alg,MONDAY,09:30,10:30,room 101"))
+                .hasMessage("Timetable import rejected with 1 errors: "
+                        + "line 6: Room 101 is already booked on MONDAY from 09:00 to 10:00");
+    }
+
+    @Test
+    @DisplayName("Should reject new teachers whose userId is taken in the database or earlier in the import")
+    void shouldRejectDuplicateUserIds() {
+        UUID taken = UUID.randomUUID();
+        UUID repeated = UUID.randomUUID();
+        when(teacherRepository.findUserIdsByUserIdIn(anyList())).thenReturn(List.of(taken));
+
+        assertThatThrownBy(() -> prepare(
+                "TEACHER,ada@school.edu," + taken + ",Ada,Lovelace",
+                "TEACHER,alan@school.edu," + repeated + ",Alan,Turing",
+                "TEACHER,grace@school.edu," + repeated + ",Grace,Hopper"))
+                .hasMessage("Timetable import rejected with 2 errors: "
+                        + "line 1: userId " + taken + " already belongs to another teacher; "
+                        + "line 3: userId " + repeated + " already belongs to another teacher");
+    }
+
+    @Test
+    @DisplayName("Should list errors in file order regardless of row type")
+    void shouldOrderErrorsByLine() {
+        assertThatThrownBy(() -> prepare(
+                "SCHEDULE,missing,MONDAY,09:00,10:00,Room 101",
+                "COURSE,calc,Calculus I,Mathematics,ada@school.edu,2024-2025,Fall,0",
+                "SUBJECT,,Science"))
+                .hasMessage("Timetable import rejected with 3 errors: "
+                        + "line 1: unknown course 'missing'; "
+                        + "line 2: maxCapacity must be positive; "
+                        + "line 3: subject name is required");
+    }
+
+    private TimetableImportPlan prepare(String... lines) {
+        return service.prepare(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    private static TeacherRepository.TeacherSubjectRow teacherRow(UUID teacherId, UUID subjectId) {
+        return new TeacherRepository.TeacherSubjectRow() {
+            @Override
+            public UUID getTeacherId() {
+                return teacherId;
+            }
+
+            @Override
+            public String getEmail() {
+                return "ada@school.edu";
+            }
+
+            @Override
+            public UUID getSubjectId() {
+                return subjectId;
+            }
+        };
+    }
+}
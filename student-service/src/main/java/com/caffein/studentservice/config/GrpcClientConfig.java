@@ -0,0 +1,103 @@
+package com.caffein.studentservice.config;
+
+import com.caffein.studentservice.grpc.ClientLatencyInterceptor;
+import com.caffein.studentservice.grpc.CourseInformationServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single channel to school-course-service, shared by every stub.
+ * <p>
+ * The target is resolved through DNS and calls are spread round-robin over all
+ * returned addresses, so scaling the course service out only needs more A records
+ * (e.g. a headless Kubernetes service). The default service config gives each
+ * method a deadline and retries UNAVAILABLE with backoff; all RPCs here are reads.
+ */
+@Configuration
+@Slf4j
+public class GrpcClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ManagedChannel courseServiceChannel(
+            MeterRegistry meterRegistry,
+            @Value("${school.course.service.target:dns:///${school.course.service.address:localhost}:${school.course.service.grpc.port:4312}}") String target,
+            @Value("${app.grpc.course-service.deadline:3s}") Duration deadline,
+            @Value("${app.grpc.course-service.streaming-deadline:10s}") Duration streamingDeadline,
+            @Value("${app.grpc.course-service.max-attempts:3}") int maxAttempts,
+            @Value("${app.grpc.course-service.keep-alive-time:30s}") Duration keepAliveTime,
+            @Value("${app.grpc.course-service.keep-alive-timeout:10s}") Duration keepAliveTimeout,
+            @Value("${app.grpc.course-service.idle-timeout:5m}") Duration idleTimeout) {
+        log.info("Connecting to School Course Service GRPC at {}", target);
+        return ManagedChannelBuilder.forTarget(target)
+                .usePlaintext()
+                .defaultServiceConfig(serviceConfig(deadline, streamingDeadline, maxAttempts))
+                .enableRetry()
+                .keepAliveTime(keepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+                .keepAliveTimeout(keepAliveTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .idleTimeout(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .intercept(new ClientLatencyInterceptor(meterRegistry))
+                .build();
+    }
+
+    @Bean
+    public CourseInformationServiceGrpc.CourseInformationServiceBlockingStub courseInformationServiceBlockingStub(
+            ManagedChannel courseServiceChannel) {
+        return CourseInformationServiceGrpc.newBlockingStub(courseServiceChannel);
+    }
+
+    @Bean
+    public CourseInformationServiceGrpc.CourseInformationServiceFutureStub courseInformationServiceFutureStub(
+            ManagedChannel courseServiceChannel) {
+        return CourseInformationServiceGrpc.newFutureStub(courseServiceChannel);
+    }
+
+    @Bean
+    public CourseInformationServiceGrpc.CourseInformationServiceStub courseInformationServiceStub(
+            ManagedChannel courseServiceChannel) {
+        return CourseInformationServiceGrpc.newStub(courseServiceChannel);
+    }
+
+    // Numbers must be doubles and durations strings, as in the JSON service config
+    private static Map<String, Object> serviceConfig(Duration deadline, Duration streamingDeadline, int maxAttempts) {
+        String service = CourseInformationServiceGrpc.SERVICE_NAME;
+        Map<String, Object> retryPolicy = Map.of(
+                "maxAttempts", (double) maxAttempts,
+                "initialBackoff", "0.1s",
+                "maxBackoff", "1s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", List.of("UNAVAILABLE"));
+        Map<String, Object> unary = Map.of(
+                "name", List.of(
+                        Map.of("service", service, "method", "GetCourseById"),
+                        Map.of("service", service, "method", "GetCoursesByIds")),
+                "timeout", toSeconds(deadline),
+                "retryPolicy", retryPolicy);
+        Map<String, Object> streaming = Map.of(
+                "name", List.of(
+                        Map.of("service", service, "method", "GetAvailableCourses"),
+                        Map.of("service", service, "method", "GetSubjects")),
+                "timeout", toSeconds(streamingDeadline),
+                "retryPolicy", retryPolicy);
+        Map<String, Object> fallback = Map.of(
+                "name", List.of(Map.of("service", service)),
+                "timeout", toSeconds(deadline),
+                "retryPolicy", retryPolicy);
+        return Map.of(
+                "loadBalancingConfig", List.of(Map.of("round_robin", Map.of())),
+                "methodConfig", List.of(unary, streaming, fallback));
+    }
+
+    private static String toSeconds(Duration duration) {
+        return duration.toMillis() / 1000.0 + "s";
+    }
+}
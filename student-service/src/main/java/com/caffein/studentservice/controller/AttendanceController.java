@@ -1,5 +1,6 @@
 package com.caffein.studentservice.controller;
 
+import com.caffein.studentservice.dto.AttendanceBatchCreateDTO;
 import com.caffein.studentservice.dto.AttendanceRecordCreateDTO;
 import com.caffein.studentservice.dto.AttendanceRecordDTO;
 import com.caffein.studentservice.dto.AttendanceRecordUpdateDTO;
@@ -34,6 +35,17 @@ public class AttendanceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(record);
     }
 
+    @PostMapping("/courses/{courseId}/date/{date}/batch")
+    @Operation(summary = "Record attendance for a whole class roster on a specific date")
+    public ResponseEntity<List<AttendanceRecordDTO>> recordBatchAttendance(
+            @PathVariable UUID courseId,
+            @Parameter(description = "Date (yyyy-MM-dd)")
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody AttendanceBatchCreateDTO batchDTO) {
+        List<AttendanceRecordDTO> records = attendanceRecordService.recordBatchAttendance(courseId, date, batchDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(records);
+    }
+
     @PutMapping("/{recordId}")
     @Operation(summary = "Update an attendance record")
     public ResponseEntity<AttendanceRecordDTO> updateAttendance(
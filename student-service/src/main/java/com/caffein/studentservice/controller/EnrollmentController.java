@@ -39,6 +39,15 @@ public class EnrollmentController {
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/{enrollmentId}/students/{studentId}/complete")
+    @Operation(summary = "Mark a student's enrollment as completed")
+    public ResponseEntity<EnrollmentDTO> completeEnrollment(
+            @PathVariable UUID studentId,
+            @PathVariable UUID enrollmentId,
+            @RequestParam(required = false) String grade) {
+        return ResponseEntity.ok(enrollmentService.completeEnrollment(studentId, enrollmentId, grade));
+    }
+
     @GetMapping("/students/{studentId}")
     @Operation(summary = "Get all enrollments for a student")
     public ResponseEntity<List<EnrollmentDTO>> getStudentEnrollments(@PathVariable UUID studentId) {
@@ -1,11 +1,14 @@
 package com.caffein.studentservice.controller;
 
 import com.caffein.studentservice.dto.StudentDTO;
+import com.caffein.studentservice.dto.StudentSearchPageDTO;
+import com.caffein.studentservice.dto.StudentSummaryDTO;
 import com.caffein.studentservice.dto.StudentUpdateDTO;
 import com.caffein.studentservice.dto.GuardianDTO;
 import com.caffein.studentservice.model.Student;
 import com.caffein.studentservice.model.Guardian;
 import com.caffein.studentservice.service.studentService.IStudentService;
+import com.caffein.studentservice.service.studentService.StudentSearchService;
 import com.caffein.studentservice.service.guardianService.IGuardianService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,14 +35,35 @@ public class StudentController {
 
     @GetMapping
     @Operation(summary = "Get all students with search functionality")
-    public ResponseEntity<Page<StudentDTO>> getAllStudents(
+    public ResponseEntity<Page<StudentSummaryDTO>> getAllStudents(
             @Parameter(description = "Search by name, email, or registration ID")
             @RequestParam(required = false) String search,
             Pageable pageable) {
-        Page<StudentDTO> students = studentService.getAllStudents(search, pageable);
+        Page<StudentSummaryDTO> students = studentService.getAllStudents(search, pageable);
         return ResponseEntity.ok(students);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search students by name, email or registration ID, one keyset page at a time")
+    public ResponseEntity<StudentSearchPageDTO> searchStudents(
+            @Parameter(description = "Substring of first name, last name, email or registration ID")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "nextCursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StudentSearchService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Also count all matches (costs an extra query)")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(studentService.searchStudents(q, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/typeahead")
+    @Operation(summary = "Students whose name, email or registration ID starts with the query, for as-you-type suggestions")
+    public ResponseEntity<List<StudentSummaryDTO>> typeahead(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(studentService.typeahead(q, limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get student by ID with full profile")
     public ResponseEntity<StudentDTO> getStudentById(@PathVariable UUID id) {
@@ -0,0 +1,20 @@
+package com.caffein.studentservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceBatchCreateDTO {
+
+    @NotEmpty(message = "At least one attendance entry is required")
+    private List<@Valid AttendanceBatchEntryDTO> records;
+}
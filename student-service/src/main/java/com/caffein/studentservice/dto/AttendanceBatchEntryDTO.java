@@ -0,0 +1,25 @@
+package com.caffein.studentservice.dto;
+
+import com.caffein.studentservice.model.AttendanceRecord;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceBatchEntryDTO {
+
+    @NotNull(message = "Student ID is required")
+    private UUID studentId;
+
+    @NotNull(message = "Attendance status is required")
+    private AttendanceRecord.AttendanceStatus status;
+
+    private String remarks;
+}
@@ -0,0 +1,20 @@
+package com.caffein.studentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentSearchPageDTO {
+    private List<StudentSummaryDTO> students;
+    // Opaque; pass back as ?cursor= for the next page. Null on the last page.
+    private String nextCursor;
+    // Only filled in when requested with includeTotal=true
+    private Long totalCount;
+}
@@ -0,0 +1,22 @@
+package com.caffein.studentservice.dto;
+
+import com.caffein.studentservice.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentSummaryDTO {
+    private UUID id;
+    private String registrationId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Student.EnrollmentStatus enrollmentStatus;
+}
@@ -0,0 +1,52 @@
+package com.caffein.studentservice.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records every outgoing call in the {@code grpc.client.requests} timer, tagged
+ * with method and status code and published as a percentile histogram. A call is
+ * timed from start to close, so retries and streaming time are included.
+ */
+public class ClientLatencyInterceptor implements ClientInterceptor {
+
+    private static final String METRIC_NAME = "grpc.client.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    public ClientLatencyInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions,
+                                                               Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        sample.stop(Timer.builder(METRIC_NAME)
+                                .tag("method", method.getFullMethodName())
+                                .tag("status", status.getCode().name())
+                                .publishPercentileHistogram()
+                                .register(meterRegistry));
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+}
@@ -3,13 +3,26 @@ package com.caffein.studentservice.grpc;
 import io.grpc.StatusRuntimeException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Calls to school-course-service over the shared blocking stub. Failed calls are
+ * logged and the {@link StatusRuntimeException} is rethrown for the caller to map.
+ */
+@Component
 @RequiredArgsConstructor
 @Slf4j
 public class CourseInfoServiceGrpcClient {
 
+    // Server-side limit of GetCoursesByIds
+    static final int MAX_COURSES_PER_CALL = 500;
+
     private final com.caffein.studentservice.grpc.CourseInformationServiceGrpc.CourseInformationServiceBlockingStub courseInformationServiceBlockingStub;
 
     public com.caffein.studentservice.grpc.CourseResponse getCourseById(UUID courseId) {
@@ -21,7 +34,41 @@ public class CourseInfoServiceGrpcClient {
             return courseInformationServiceBlockingStub.getCourseById(request);
         } catch (StatusRuntimeException e) {
             log.error("gRPC error while fetching course info for courseId {}: {}", courseId, e.getStatus());
-            throw new IllegalStateException("Failed to retrieve course information. Please try again later.", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches the given courses with as few GetCoursesByIds calls as the server
+     * limit allows. Courses the service does not know are left out.
+     */
+    public List<com.caffein.studentservice.grpc.CourseResponse> getCoursesByIds(Collection<UUID> courseIds) {
+        List<String> ids = courseIds.stream().map(UUID::toString).toList();
+        List<com.caffein.studentservice.grpc.CourseResponse> courses = new ArrayList<>(ids.size());
+        try {
+            for (int from = 0; from < ids.size(); from += MAX_COURSES_PER_CALL) {
+                com.caffein.studentservice.grpc.CoursesByIdsRequest request = com.caffein.studentservice.grpc.CoursesByIdsRequest.newBuilder()
+                        .addAllCourseIds(ids.subList(from, Math.min(from + MAX_COURSES_PER_CALL, ids.size())))
+                        .build();
+                courses.addAll(courseInformationServiceBlockingStub.getCoursesByIds(request).getCoursesList());
+            }
+        } catch (StatusRuntimeException e) {
+            log.error("gRPC error while fetching {} courses: {}", ids.size(), e.getStatus());
+            throw e;
+        }
+        return courses;
+    }
+
+    public List<com.caffein.studentservice.grpc.SubjectResponse> getSubjects() {
+        try {
+            Iterator<com.caffein.studentservice.grpc.SubjectResponse> responseIterator =
+                    courseInformationServiceBlockingStub.getSubjects(com.caffein.studentservice.grpc.SubjectsRequest.newBuilder().build());
+            List<com.caffein.studentservice.grpc.SubjectResponse> subjects = new ArrayList<>();
+            responseIterator.forEachRemaining(subjects::add);
+            return subjects;
+        } catch (StatusRuntimeException e) {
+            log.error("gRPC error while fetching subjects: {}", e.getStatus());
+            throw e;
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.caffein.studentservice.kafka.consumer;
+
+import com.caffein.studentservice.service.courseCatalog.CourseCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts course cache entries when school-course-service reports a change. Every
+ * instance holds its own cache, so each one needs its own consumer group. The group
+ * id is derived from {@code app.instance-id}, which defaults to the host name (the
+ * pod or container name when deployed), so a restarted instance rejoins its group
+ * instead of leaving an orphaned one behind. Instances sharing a host must set
+ * distinct ids. A new group starts reading from the moment it first joins.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseChangeConsumer {
+
+    private final CourseCatalog courseCatalog;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "course-change-events",
+            groupId = "student-service-course-cache-${app.instance-id:#{T(java.net.InetAddress).getLocalHost().getHostName()}}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+            })
+    public void consume(String message) {
+        try {
+            JsonNode change = objectMapper.readTree(message);
+            switch (change.path("type").asText()) {
+                case "COURSE" -> courseCatalog.evictCourse(UUID.fromString(change.path("courseId").asText()));
+                case "SUBJECTS" -> courseCatalog.evictSubjects();
+                default -> log.debug("Ignoring course change: {}", message);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply course change {}: {}", message, e.getMessage());
+        }
+    }
+}
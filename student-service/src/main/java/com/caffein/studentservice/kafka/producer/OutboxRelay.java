@@ -0,0 +1,151 @@
+package com.caffein.studentservice.kafka.producer;
+
+import com.caffein.studentservice.model.OutboxEvent;
+import com.caffein.studentservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox table to Kafka in batches. Every {@code linger-ms} it locks up
+ * to {@code batch-size} due rows, sends them without waiting in between, then
+ * marks the acknowledged ones as sent. Each record carries its outbox id in the
+ * {@code event-id} header so consumers can drop the rare redelivery.
+ * <p>
+ * A send that is not acknowledged is retried after a doubling backoff, capped at
+ * {@code max-retry-backoff-ms}. After {@code max-attempts} failures the event is
+ * parked and left for an operator. A failing event never holds back the rows
+ * behind it.
+ * <p>
+ * Ordering is the producer's: a batch is sent in outbox order and the idempotent
+ * producer keeps those records in order on their partition, across its own
+ * retries too. An event the relay has to resend lands after any later events of
+ * its key that went through meanwhile. Consumers drop duplicates by event id but
+ * must tolerate that reordering.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    public static final String EVENT_ID_HEADER = "event-id";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long retentionHours;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.outbox.batch-size:200}") int batchSize,
+            @Value("${app.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${app.outbox.retention-hours:24}") long retentionHours,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${app.outbox.max-retry-backoff-ms:300000}") long maxRetryBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retentionHours = retentionHours;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.linger-ms:200}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent outbox events", deleted);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> pending = outboxEventRepository.lockPending(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(pending.size());
+        for (OutboxEvent event : pending) {
+            ProducerRecord<String, Object> record = new ProducerRecord<>(event.getTopic(), event.getEventKey(), event.getPayload());
+            record.headers().add(EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8));
+            futures.add(kafkaTemplate.send(record));
+        }
+
+        List<UUID> sentIds = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            OutboxEvent event = pending.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sentIds.add(event.getId());
+            } catch (Exception e) {
+                recordFailure(event, e);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, LocalDateTime.now());
+        }
+        log.debug("Relayed {}/{} outbox events", sentIds.size(), pending.size());
+        return sentIds.size() == pending.size() ? pending.size() : 0;
+    }
+
+    // The event is managed by the relay's transaction, so the changes are flushed on commit
+    private void recordFailure(OutboxEvent event, Exception e) {
+        String error = e.getCause() != null ? e.getCause().toString() : e.toString();
+        LocalDateTime now = LocalDateTime.now();
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setParkedAt(now);
+            log.error("Outbox event {} parked after {} failed attempts: {}", event.getId(), event.getAttempts(), error);
+        } else {
+            long backoffMs = backoffMs(event.getAttempts());
+            event.setNextAttemptAt(now.plus(backoffMs, ChronoUnit.MILLIS));
+            log.warn("Outbox event {} not acknowledged (attempt {}), retrying in {} ms: {}",
+                    event.getId(), event.getAttempts(), backoffMs, error);
+        }
+    }
+
+    private long backoffMs(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(retryBackoffMs << doublings, maxRetryBackoffMs);
+    }
+}
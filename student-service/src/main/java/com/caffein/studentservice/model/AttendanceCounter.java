@@ -0,0 +1,49 @@
+package com.caffein.studentservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "attendance_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_counters_student_course", columnNames = {"student_id", "course_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "student_id", nullable = false)
+    private UUID studentId;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(name = "present_count", nullable = false)
+    private long presentCount;
+
+    @Column(name = "absent_count", nullable = false)
+    private long absentCount;
+
+    @Column(name = "late_count", nullable = false)
+    private long lateCount;
+
+    @Column(name = "excused_count", nullable = false)
+    private long excusedCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public long getTotal() {
+        return presentCount + absentCount + lateCount + excusedCount;
+    }
+}
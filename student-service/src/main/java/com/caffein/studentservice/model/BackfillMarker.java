@@ -0,0 +1,28 @@
+package com.caffein.studentservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that a one-off backfill has completed, so a restart never repeats it
+ * and never mistakes rows written by live traffic for a finished backfill.
+ */
+@Entity
+@Table(name = "backfill_markers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackfillMarker {
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @CreationTimestamp
+    @Column(name = "completed_at", updatable = false)
+    private LocalDateTime completedAt;
+}
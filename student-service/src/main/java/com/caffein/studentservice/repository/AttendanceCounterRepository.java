@@ -0,0 +1,19 @@
+package com.caffein.studentservice.repository;
+
+import com.caffein.studentservice.model.AttendanceCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AttendanceCounterRepository extends JpaRepository<AttendanceCounter, UUID> {
+
+    Optional<AttendanceCounter> findByStudentIdAndCourseId(UUID studentId, UUID courseId);
+
+    @Query("SELECT c FROM AttendanceCounter c WHERE c.courseId = :courseId AND c.studentId IN :studentIds")
+    List<AttendanceCounter> findByCourseIdAndStudentIdIn(@Param("courseId") UUID courseId, @Param("studentIds") Collection<UUID> studentIds);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,4 +42,11 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     );
 
     boolean existsByStudentIdAndCourseIdAndDate(UUID studentId, UUID courseId, LocalDate date);
+
+    @Query("SELECT ar.student.id FROM AttendanceRecord ar WHERE ar.courseId = :courseId AND ar.date = :date AND ar.student.id IN :studentIds")
+    List<UUID> findRecordedStudentIds(
+            @Param("courseId") UUID courseId,
+            @Param("date") LocalDate date,
+            @Param("studentIds") Collection<UUID> studentIds
+    );
 }
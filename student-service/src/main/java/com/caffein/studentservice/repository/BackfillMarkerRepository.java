@@ -0,0 +1,7 @@
+package com.caffein.studentservice.repository;
+
+import com.caffein.studentservice.model.BackfillMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BackfillMarkerRepository extends JpaRepository<BackfillMarker, String> {
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +17,9 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
     @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.courseId = :courseId")
     Optional<Enrollment> findByStudentIdAndCourseId(@Param("studentId") UUID studentId, @Param("courseId") UUID courseId);
 
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student WHERE e.courseId = :courseId AND e.student.id IN :studentIds")
+    List<Enrollment> findByCourseIdAndStudentIdIn(@Param("courseId") UUID courseId, @Param("studentIds") Collection<UUID> studentIds);
+
     boolean existsByStudentIdAndCourseId(UUID studentId, UUID courseId);
 
     long countByCourseId(UUID courseId);
@@ -1,5 +1,6 @@
 package com.caffein.studentservice.repository;
 
+import com.caffein.studentservice.dto.StudentSummaryDTO;
 import com.caffein.studentservice.model.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,10 +20,29 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     @Query("SELECT s FROM Student s LEFT JOIN FETCH s.guardians WHERE s.id = :id")
     Optional<Student> findByIdWithGuardians(@Param("id") UUID id);
 
-    @Query("SELECT s FROM Student s WHERE " +
+    // List pages read summaries straight into DTOs: no entities, no guardian selects
+    @Query(value = "SELECT new com.caffein.studentservice.dto.StudentSummaryDTO(" +
+            "s.id, s.registrationId, s.firstName, s.lastName, s.email, s.enrollmentStatus) " +
+            "FROM Student s",
+            countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentSummaryDTO> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.caffein.studentservice.dto.StudentSummaryDTO(" +
+            "s.id, s.registrationId, s.firstName, s.lastName, s.email, s.enrollmentStatus) " +
+            "FROM Student s WHERE " +
+            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(s.registrationId) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(s) FROM Student s WHERE " +
             "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(s.registrationId) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Student> findBySearchCriteria(@Param("search") String search, Pageable pageable);
+    Page<StudentSummaryDTO> findSummariesBySearchCriteria(@Param("search") String search, Pageable pageable);
+
+    @Query("SELECT new com.caffein.studentservice.dto.StudentSummaryDTO(" +
+            "s.id, s.registrationId, s.firstName, s.lastName, s.email, s.enrollmentStatus) " +
+            "FROM Student s WHERE s.id IN :ids")
+    List<StudentSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 }
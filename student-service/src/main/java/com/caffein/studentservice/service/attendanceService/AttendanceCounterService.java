@@ -0,0 +1,156 @@
+package com.caffein.studentservice.service.attendanceService;
+
+import com.caffein.studentservice.model.AttendanceCounter;
+import com.caffein.studentservice.model.AttendanceRecord;
+import com.caffein.studentservice.model.BackfillMarker;
+import com.caffein.studentservice.repository.AttendanceCounterRepository;
+import com.caffein.studentservice.repository.AttendanceRecordRepository;
+import com.caffein.studentservice.repository.BackfillMarkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains one counter row per (student, course) so statistics and absence
+ * thresholds are O(1) reads instead of COUNT scans over attendance_records.
+ * Every change is an atomic upsert of per-status deltas, so concurrent requests
+ * for the same student never lose an increment.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceCounterService implements SmartInitializingSingleton {
+
+    private static final String BACKFILL_MARKER = "attendance_counters";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance_counters (id, student_id, course_id, present_count, absent_count, late_count, excused_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (student_id, course_id) DO UPDATE SET " +
+            "present_count = attendance_counters.present_count + EXCLUDED.present_count, " +
+            "absent_count = attendance_counters.absent_count + EXCLUDED.absent_count, " +
+            "late_count = attendance_counters.late_count + EXCLUDED.late_count, " +
+            "excused_count = attendance_counters.excused_count + EXCLUDED.excused_count, " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String BACKFILL_SQL =
+            "INSERT INTO attendance_counters (id, student_id, course_id, present_count, absent_count, late_count, excused_count, updated_at) " +
+            "SELECT gen_random_uuid(), student_id, course_id, " +
+            "COUNT(*) FILTER (WHERE status = 'PRESENT'), COUNT(*) FILTER (WHERE status = 'ABSENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'LATE'), COUNT(*) FILTER (WHERE status = 'EXCUSED'), CURRENT_TIMESTAMP " +
+            "FROM attendance_records GROUP BY student_id, course_id " +
+            "ON CONFLICT (student_id, course_id) DO UPDATE SET " +
+            "present_count = EXCLUDED.present_count, absent_count = EXCLUDED.absent_count, " +
+            "late_count = EXCLUDED.late_count, excused_count = EXCLUDED.excused_count, updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceCounterRepository attendanceCounterRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final BackfillMarkerRepository backfillMarkerRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Moves one record between statuses. {@code from} is {@code null} for a new
+     * record and {@code to} is {@code null} for a deleted one.
+     */
+    @Transactional
+    public void recordTransition(UUID studentId, UUID courseId,
+                                 AttendanceRecord.AttendanceStatus from,
+                                 AttendanceRecord.AttendanceStatus to) {
+        if (from == to) {
+            return;
+        }
+        long[] deltas = new long[AttendanceRecord.AttendanceStatus.values().length];
+        if (from != null) {
+            deltas[from.ordinal()]--;
+        }
+        if (to != null) {
+            deltas[to.ordinal()]++;
+        }
+        jdbcTemplate.update(UPSERT_SQL, upsertArgs(studentId, courseId, deltas));
+    }
+
+    /**
+     * Folds newly inserted records into per-student deltas and applies them with
+     * one JDBC batch.
+     */
+    @Transactional
+    public void recordInserts(Collection<AttendanceRecord> records) {
+        Map<List<UUID>, long[]> deltas = new LinkedHashMap<>();
+        for (AttendanceRecord record : records) {
+            deltas.computeIfAbsent(List.of(record.getStudent().getId(), record.getCourseId()),
+                    k -> new long[AttendanceRecord.AttendanceStatus.values().length])[record.getStatus().ordinal()]++;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> batchArgs.add(upsertArgs(key.get(0), key.get(1), delta)));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    @Transactional(readOnly = true)
+    public AttendanceCounter getCounter(UUID studentId, UUID courseId) {
+        return attendanceCounterRepository.findByStudentIdAndCourseId(studentId, courseId)
+                .orElseGet(() -> AttendanceCounter.builder().studentId(studentId).courseId(courseId).build());
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceCounter> getCounters(UUID courseId, Collection<UUID> studentIds) {
+        return attendanceCounterRepository.findByCourseIdAndStudentIdIn(courseId, studentIds);
+    }
+
+    /**
+     * Seeds the counters from existing attendance records once, before the web
+     * server and Kafka listeners start. Completion is recorded in a marker row
+     * rather than inferred from a non-empty counter table, because another
+     * instance may already be serving upserts while this one starts.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> backfillOnce());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance wrote the marker first
+            log.info("Attendance counter backfill already completed by another instance");
+        }
+    }
+
+    private void backfillOnce() {
+        if (backfillMarkerRepository.existsById(BACKFILL_MARKER)) {
+            return;
+        }
+        if (attendanceRecordRepository.count() > 0) {
+            // Blocks live upserts until the recount commits; counts from records are authoritative,
+            // so rows those upserts already wrote are overwritten rather than skipped
+            jdbcTemplate.execute("LOCK TABLE attendance_counters IN EXCLUSIVE MODE");
+            if (backfillMarkerRepository.existsById(BACKFILL_MARKER)) {
+                return;
+            }
+            int rows = jdbcTemplate.update(BACKFILL_SQL);
+            log.info("Backfilled {} attendance counters from existing records", rows);
+        }
+        backfillMarkerRepository.saveAndFlush(BackfillMarker.builder().name(BACKFILL_MARKER).build());
+    }
+
+    private static Object[] upsertArgs(UUID studentId, UUID courseId, long[] deltas) {
+        return new Object[]{
+                UUID.randomUUID(), studentId, courseId,
+                deltas[AttendanceRecord.AttendanceStatus.PRESENT.ordinal()],
+                deltas[AttendanceRecord.AttendanceStatus.ABSENT.ordinal()],
+                deltas[AttendanceRecord.AttendanceStatus.LATE.ordinal()],
+                deltas[AttendanceRecord.AttendanceStatus.EXCUSED.ordinal()]
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package com.caffein.studentservice.service.attendanceService;
 
+import com.caffein.studentservice.dto.AttendanceBatchCreateDTO;
+import com.caffein.studentservice.dto.AttendanceBatchEntryDTO;
 import com.caffein.studentservice.dto.AttendanceRecordCreateDTO;
 import com.caffein.studentservice.dto.AttendanceRecordDTO;
 import com.caffein.studentservice.dto.AttendanceRecordUpdateDTO;
+import com.caffein.studentservice.model.AttendanceCounter;
 import com.caffein.studentservice.model.AttendanceRecord;
 import com.caffein.studentservice.model.Enrollment;
 import com.caffein.studentservice.model.Student;
@@ -11,19 +14,22 @@ import com.caffein.studentservice.repository.EnrollmentRepository;
 import com.caffein.studentservice.repository.StudentRepository;
 import com.caffein.studentservice.service.attendanceService.mapper.AttendanceRecordMapper;
 import com.caffein.studentservice.service.emailService.EmailService;
+import com.caffein.studentservice.service.outboxService.OutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,7 +42,8 @@ public class AttendanceRecordService implements IAttendanceRecordService {
     private final EnrollmentRepository enrollmentRepository;
     private final AttendanceRecordMapper attendanceRecordMapper;
     private final EmailService emailService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final AttendanceCounterService attendanceCounterService;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
     private static final int ABSENCE_WARNING_THRESHOLD = 3;
@@ -81,6 +88,7 @@ public class AttendanceRecordService implements IAttendanceRecordService {
                 .build();
 
         AttendanceRecord savedRecord = attendanceRecordRepository.save(record);
+        attendanceCounterService.recordTransition(student.getId(), createDTO.getCourseId(), null, createDTO.getStatus());
         log.info("Successfully recorded attendance for student {} - Status: {}", 
                 student.getId(), createDTO.getStatus());
 
@@ -95,6 +103,77 @@ public class AttendanceRecordService implements IAttendanceRecordService {
         return attendanceRecordMapper.toDTO(savedRecord);
     }
 
+    @Override
+    @Transactional
+    public List<AttendanceRecordDTO> recordBatchAttendance(UUID courseId, LocalDate date, AttendanceBatchCreateDTO batchDTO) {
+        List<AttendanceBatchEntryDTO> entries = batchDTO.getRecords();
+        log.info("Recording batch attendance for {} students in course {} on {}", entries.size(), courseId, date);
+
+        if (date.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Date cannot be in the future");
+        }
+
+        Set<UUID> studentIds = new LinkedHashSet<>();
+        for (AttendanceBatchEntryDTO entry : entries) {
+            if (!studentIds.add(entry.getStudentId())) {
+                throw new IllegalArgumentException("Duplicate entry for student " + entry.getStudentId());
+            }
+        }
+
+        // One query validates every enrollment and loads its student; a student who re-enrolled
+        // after withdrawing has several, and the active one is used
+        Map<UUID, Enrollment> enrollmentsByStudent = enrollmentRepository.findByCourseIdAndStudentIdIn(courseId, studentIds)
+                .stream()
+                .collect(Collectors.toMap(e -> e.getStudent().getId(), Function.identity(),
+                        AttendanceRecordService::preferActive));
+
+        List<UUID> notEnrolled = studentIds.stream()
+                .filter(id -> !enrollmentsByStudent.containsKey(id))
+                .toList();
+        if (!notEnrolled.isEmpty()) {
+            throw new EntityNotFoundException("No enrollment in course " + courseId + " for students: " + notEnrolled);
+        }
+
+        // One query detects students already recorded for this date
+        List<UUID> alreadyRecorded = attendanceRecordRepository.findRecordedStudentIds(courseId, date, studentIds);
+        if (!alreadyRecorded.isEmpty()) {
+            throw new IllegalStateException("Attendance already recorded on " + date + " for students: " + alreadyRecorded);
+        }
+
+        List<AttendanceRecord> records = entries.stream()
+                .map(entry -> {
+                    Enrollment enrollment = enrollmentsByStudent.get(entry.getStudentId());
+                    return AttendanceRecord.builder()
+                            .student(enrollment.getStudent())
+                            .enrollment(enrollment)
+                            .courseId(courseId)
+                            .date(date)
+                            .status(entry.getStatus())
+                            .remarks(entry.getRemarks())
+                            .build();
+                })
+                .toList();
+
+        // Inserts are grouped into JDBC batches (hibernate.jdbc.batch_size)
+        List<AttendanceRecord> savedRecords = attendanceRecordRepository.saveAll(records);
+        attendanceCounterService.recordInserts(savedRecords);
+        log.info("Successfully recorded batch attendance for {} students in course {}", savedRecords.size(), courseId);
+
+        List<AttendanceRecord> absences = savedRecords.stream()
+                .filter(r -> r.getStatus() == AttendanceRecord.AttendanceStatus.ABSENT)
+                .toList();
+        if (!absences.isEmpty()) {
+            absences.forEach(r -> sendAbsenceNotification(r.getStudent(), r.getEnrollment(), date));
+            checkMultipleAbsences(absences, courseId);
+        }
+
+        savedRecords.forEach(this::publishAttendanceEvent);
+
+        return savedRecords.stream()
+                .map(attendanceRecordMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public AttendanceRecordDTO updateAttendance(UUID recordId, AttendanceRecordUpdateDTO updateDTO) {
@@ -108,6 +187,8 @@ public class AttendanceRecordService implements IAttendanceRecordService {
         record.setRemarks(updateDTO.getRemarks());
 
         AttendanceRecord updatedRecord = attendanceRecordRepository.save(record);
+        attendanceCounterService.recordTransition(record.getStudent().getId(), record.getCourseId(),
+                previousStatus, updateDTO.getStatus());
         log.info("Successfully updated attendance record {} - New status: {}", recordId, updateDTO.getStatus());
 
         // Send notification if status changed to ABSENT
@@ -129,6 +210,8 @@ public class AttendanceRecordService implements IAttendanceRecordService {
                 .orElseThrow(() -> new EntityNotFoundException("Attendance record not found with ID: " + recordId));
 
         attendanceRecordRepository.delete(record);
+        attendanceCounterService.recordTransition(record.getStudent().getId(), record.getCourseId(),
+                record.getStatus(), null);
         log.info("Successfully deleted attendance record {}", recordId);
     }
 
@@ -208,19 +291,13 @@ public class AttendanceRecordService implements IAttendanceRecordService {
             throw new EntityNotFoundException("Student not found with ID: " + studentId);
         }
 
+        AttendanceCounter counter = attendanceCounterService.getCounter(studentId, courseId);
+
         Map<String, Long> statistics = new HashMap<>();
-        
-        statistics.put("present", attendanceRecordRepository.countByStudentIdAndCourseIdAndStatus(
-                studentId, courseId, AttendanceRecord.AttendanceStatus.PRESENT));
-        
-        statistics.put("absent", attendanceRecordRepository.countByStudentIdAndCourseIdAndStatus(
-                studentId, courseId, AttendanceRecord.AttendanceStatus.ABSENT));
-        
-        statistics.put("late", attendanceRecordRepository.countByStudentIdAndCourseIdAndStatus(
-                studentId, courseId, AttendanceRecord.AttendanceStatus.LATE));
-        
-        statistics.put("excused", attendanceRecordRepository.countByStudentIdAndCourseIdAndStatus(
-                studentId, courseId, AttendanceRecord.AttendanceStatus.EXCUSED));
+        statistics.put("present", counter.getPresentCount());
+        statistics.put("absent", counter.getAbsentCount());
+        statistics.put("late", counter.getLateCount());
+        statistics.put("excused", counter.getExcusedCount());
 
         long total = statistics.values().stream().mapToLong(Long::longValue).sum();
         statistics.put("total", total);
@@ -253,14 +330,10 @@ public class AttendanceRecordService implements IAttendanceRecordService {
 
     private void checkMultipleAbsences(Student student, UUID courseId, String courseName) {
         try {
-            long absentCount = attendanceRecordRepository.countByStudentIdAndCourseIdAndStatus(
-                    student.getId(), courseId, AttendanceRecord.AttendanceStatus.ABSENT);
+            AttendanceCounter counter = attendanceCounterService.getCounter(student.getId(), courseId);
 
-            if (absentCount >= ABSENCE_WARNING_THRESHOLD) {
-                long totalClasses = attendanceRecordRepository.findByStudentIdAndCourseId(
-                        student.getId(), courseId).size();
-
-                emailService.sendMultipleAbsencesWarning(student, courseName, absentCount, totalClasses);
+            if (counter.getAbsentCount() >= ABSENCE_WARNING_THRESHOLD) {
+                emailService.sendMultipleAbsencesWarning(student, courseName, counter.getAbsentCount(), counter.getTotal());
             }
         } catch (Exception e) {
             log.error("Failed to check multiple absences for student {}: {}", 
@@ -268,6 +341,40 @@ public class AttendanceRecordService implements IAttendanceRecordService {
         }
     }
 
+    private void checkMultipleAbsences(List<AttendanceRecord> absences, UUID courseId) {
+        try {
+            Map<UUID, AttendanceRecord> absencesByStudent = absences.stream()
+                    .collect(Collectors.toMap(r -> r.getStudent().getId(), Function.identity()));
+
+            attendanceCounterService.getCounters(courseId, absencesByStudent.keySet())
+                    .stream()
+                    .filter(counter -> counter.getAbsentCount() >= ABSENCE_WARNING_THRESHOLD)
+                    .forEach(counter -> {
+                        AttendanceRecord record = absencesByStudent.get(counter.getStudentId());
+                        emailService.sendMultipleAbsencesWarning(record.getStudent(),
+                                record.getEnrollment().getCourseName(), counter.getAbsentCount(), counter.getTotal());
+                    });
+        } catch (Exception e) {
+            log.error("Failed to check multiple absences for course {}: {}", courseId, e.getMessage());
+        }
+    }
+
+    private static Enrollment preferActive(Enrollment a, Enrollment b) {
+        boolean aActive = isActive(a);
+        if (aActive != isActive(b)) {
+            return aActive ? a : b;
+        }
+        if (a.getCreatedAt() == null || b.getCreatedAt() == null) {
+            return a.getCreatedAt() != null ? a : b;
+        }
+        return a.getCreatedAt().isAfter(b.getCreatedAt()) ? a : b;
+    }
+
+    private static boolean isActive(Enrollment enrollment) {
+        return enrollment.getStatus() == Enrollment.EnrollmentStatus.REGISTERED
+                || enrollment.getStatus() == Enrollment.EnrollmentStatus.IN_PROGRESS;
+    }
+
     private void publishAttendanceEvent(AttendanceRecord record) {
         Map<String, Object> event = Map.of(
             "attendanceId", record.getId(),
@@ -277,6 +384,6 @@ public class AttendanceRecordService implements IAttendanceRecordService {
             "date", record.getDate(),
             "status", record.getStatus().name()
         );
-        kafkaTemplate.send("attendance-events", event);
+        outboxService.enqueue("attendance-events", record.getCourseId().toString(), event);
     }
 }
\ No newline at end of file
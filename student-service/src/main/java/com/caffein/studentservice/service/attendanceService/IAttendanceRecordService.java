@@ -1,5 +1,6 @@
 package com.caffein.studentservice.service.attendanceService;
 
+import com.caffein.studentservice.dto.AttendanceBatchCreateDTO;
 import com.caffein.studentservice.dto.AttendanceRecordCreateDTO;
 import com.caffein.studentservice.dto.AttendanceRecordDTO;
 import com.caffein.studentservice.dto.AttendanceRecordUpdateDTO;
@@ -13,6 +14,8 @@ public interface IAttendanceRecordService {
 
     AttendanceRecordDTO recordAttendance(AttendanceRecordCreateDTO createDTO);
 
+    List<AttendanceRecordDTO> recordBatchAttendance(UUID courseId, LocalDate date, AttendanceBatchCreateDTO batchDTO);
+
     AttendanceRecordDTO updateAttendance(UUID recordId, AttendanceRecordUpdateDTO updateDTO);
 
     void deleteAttendance(UUID recordId);
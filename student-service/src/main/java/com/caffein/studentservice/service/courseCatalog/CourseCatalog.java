@@ -0,0 +1,120 @@
+package com.caffein.studentservice.service.courseCatalog;
+
+import com.caffein.studentservice.dto.SubjectDTO;
+import com.caffein.studentservice.grpc.CourseInfoServiceGrpcClient;
+import com.caffein.studentservice.grpc.CourseResponse;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Local cache of course and subject metadata from school-course-service.
+ * <p>
+ * Entries expire after {@code ttl}. Once an entry is older than {@code refresh-after}
+ * and gets read, it is reloaded in the background while the old value keeps being
+ * served, so hot courses never block on gRPC. school-course-service publishes
+ * course-change-events, and those evict affected entries straight away (see
+ * {@link com.caffein.studentservice.kafka.consumer.CourseChangeConsumer}). gRPC
+ * errors propagate to the caller as before and are never cached.
+ */
+@Component
+public class CourseCatalog {
+
+    private static final String SUBJECTS_KEY = "all";
+
+    private final CourseInfoServiceGrpcClient courseInfoServiceGrpcClient;
+    private final LoadingCache<UUID, CourseResponse> courses;
+    private final LoadingCache<String, List<SubjectDTO>> subjects;
+
+    public CourseCatalog(
+            CourseInfoServiceGrpcClient courseInfoServiceGrpcClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.course-cache.max-size:2000}") long maxSize,
+            @Value("${app.course-cache.ttl:10m}") Duration ttl,
+            @Value("${app.course-cache.refresh-after:2m}") Duration refreshAfter) {
+        this.courseInfoServiceGrpcClient = courseInfoServiceGrpcClient;
+
+        this.courses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new CacheLoader<UUID, CourseResponse>() {
+                    @Override
+                    public CourseResponse load(UUID courseId) {
+                        return loadCourse(courseId);
+                    }
+
+                    @Override
+                    public Map<UUID, CourseResponse> loadAll(Set<? extends UUID> courseIds) {
+                        return loadCourses(courseIds);
+                    }
+                });
+        this.subjects = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(key -> loadSubjects());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, courses, "student.course-cache.courses");
+        CaffeineCacheMetrics.monitor(meterRegistry, subjects, "student.course-cache.subjects");
+    }
+
+    public CourseResponse getCourse(UUID courseId) {
+        return courses.get(courseId);
+    }
+
+    /**
+     * Returns the requested courses keyed by ID, fetching every miss in a single
+     * GetCoursesByIds call. Courses the service does not know are left out.
+     */
+    public Map<UUID, CourseResponse> getCourses(Collection<UUID> courseIds) {
+        return courses.getAll(courseIds);
+    }
+
+    public List<SubjectDTO> getSubjects() {
+        return subjects.get(SUBJECTS_KEY);
+    }
+
+    public void evictCourse(UUID courseId) {
+        courses.invalidate(courseId);
+    }
+
+    public void evictSubjects() {
+        subjects.invalidateAll();
+    }
+
+    private CourseResponse loadCourse(UUID courseId) {
+        return courseInfoServiceGrpcClient.getCourseById(courseId);
+    }
+
+    private Map<UUID, CourseResponse> loadCourses(Set<? extends UUID> courseIds) {
+        List<CourseResponse> loaded = courseInfoServiceGrpcClient.getCoursesByIds(List.copyOf(courseIds));
+        Map<UUID, CourseResponse> byId = new HashMap<>(loaded.size() * 2);
+        loaded.forEach(course -> byId.put(UUID.fromString(course.getId()), course));
+        return byId;
+    }
+
+    private List<SubjectDTO> loadSubjects() {
+        return courseInfoServiceGrpcClient.getSubjects().stream()
+                .map(subjectResponse -> SubjectDTO.builder()
+                        .id(UUID.fromString(subjectResponse.getId()))
+                        .name(subjectResponse.getName())
+                        .department(subjectResponse.getDepartment())
+                        .build())
+                .toList();
+    }
+}
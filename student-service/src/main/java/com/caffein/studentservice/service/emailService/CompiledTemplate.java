@@ -0,0 +1,86 @@
+package com.caffein.studentservice.service.emailService;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Thymeleaf template rendered once with placeholder values and split into the
+ * static markup between them. Rendering just interleaves the static segments with
+ * the escaped per-student values, the same way {@code th:text} would have.
+ */
+final class CompiledTemplate {
+
+    private final String name;
+    private final String[] segments;
+    private final String[] slots;
+    private final int staticLength;
+
+    private CompiledTemplate(String name, String[] segments, String[] slots) {
+        this.name = name;
+        this.segments = segments;
+        this.slots = slots;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    static String placeholder(String variable) {
+        return "{{slot:" + variable + "}}";
+    }
+
+    /**
+     * Splits {@code rendered} on the placeholders of {@code variables}. Fails fast if a
+     * template stops printing one of them, since it would otherwise silently go missing.
+     */
+    static CompiledTemplate compile(String name, String rendered, List<String> variables) {
+        List<String> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int next = -1;
+            String nextVariable = null;
+            for (String variable : variables) {
+                int index = rendered.indexOf(placeholder(variable), position);
+                if (index >= 0 && (next < 0 || index < next)) {
+                    next = index;
+                    nextVariable = variable;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            segments.add(rendered.substring(position, next));
+            slots.add(nextVariable);
+            position = next + placeholder(nextVariable).length();
+        }
+        segments.add(rendered.substring(position));
+
+        for (String variable : variables) {
+            if (!slots.contains(variable)) {
+                throw new IllegalStateException("Template " + name + " does not render variable " + variable);
+            }
+        }
+        return new CompiledTemplate(name, segments.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    String name() {
+        return name;
+    }
+
+    void renderTo(StringBuilder out, Map<String, String> values) {
+        out.ensureCapacity(staticLength + 256);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(segments[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                out.append(HtmlEscape.escapeHtml4Xml(value));
+            }
+        }
+        out.append(segments[slots.length]);
+    }
+}
@@ -0,0 +1,56 @@
+package com.caffein.studentservice.service.emailService;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds notification messages from {@link NotificationTemplates}. The sender
+ * address is parsed once, and since the templates inline their CSS and carry no
+ * attachments, each message is a single text/html part rather than a multipart.
+ */
+@Component
+public class EmailComposer {
+
+    static final String FROM_ADDRESS = "nsinh2881@gmail.com";
+
+    private static final String ABSENCE_SUBJECT = "Attendance Alert: Absence Recorded - ";
+    private static final String WARNING_SUBJECT = "⚠️ Attendance Warning: Multiple Absences - ";
+
+    private final JavaMailSender mailSender;
+    private final NotificationTemplates templates;
+    private final InternetAddress from;
+
+    public EmailComposer(JavaMailSender mailSender, NotificationTemplates templates) throws AddressException {
+        this.mailSender = mailSender;
+        this.templates = templates;
+        this.from = new InternetAddress(FROM_ADDRESS, true);
+    }
+
+    public MimeMessage composeAbsenceNotification(NotificationRecipient recipient, String courseName,
+                                                  String courseCode, String status, String date) throws MessagingException {
+        String html = templates.renderAbsenceNotification(
+                recipient.fullName(), courseName, courseCode, status, date, recipient.registrationId());
+        return compose(recipient, ABSENCE_SUBJECT + courseName, html);
+    }
+
+    public MimeMessage composeMultipleAbsencesWarning(NotificationRecipient recipient, String courseName,
+                                                      long absentCount, long totalClasses) throws MessagingException {
+        String html = templates.renderMultipleAbsencesWarning(
+                recipient.fullName(), courseName, absentCount, totalClasses);
+        return compose(recipient, WARNING_SUBJECT + courseName, html);
+    }
+
+    private MimeMessage compose(NotificationRecipient recipient, String subject, String html) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setFrom(from);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(recipient.email()));
+        message.setSubject(subject, "UTF-8");
+        message.setText(html, "UTF-8", "html");
+        return message;
+    }
+}
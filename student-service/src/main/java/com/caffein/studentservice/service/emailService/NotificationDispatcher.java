@@ -0,0 +1,243 @@
+package com.caffein.studentservice.service.emailService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, per-recipient coalescing queue in front of the SMTP server.
+ * <p>
+ * The first notification for a recipient opens a coalescing window. Anything else
+ * for the same recipient during that window is merged: repeated notices for the
+ * same course and date collapse into one, and a multiple-absences warning replaces
+ * the plain absence notices for the same course. Due bundles are rendered and sent in batches, with one SMTP
+ * connection per batch. When {@code max-pending} recipients are waiting, new
+ * notifications are dropped and counted instead of piling up.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final EmailComposer emailComposer;
+    private final JavaMailSender mailSender;
+    private final long coalesceWindowMs;
+    private final int maxPendingRecipients;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, PendingNotifications> pending = new ConcurrentHashMap<>();
+
+    private final Counter enqueued;
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter sent;
+    private final Counter failed;
+
+    public NotificationDispatcher(
+            EmailComposer emailComposer,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.coalesce-window-ms:2000}") long coalesceWindowMs,
+            @Value("${app.notifications.max-pending-recipients:5000}") int maxPendingRecipients,
+            @Value("${app.notifications.batch-size:50}") int batchSize) {
+        this.emailComposer = emailComposer;
+        this.mailSender = mailSender;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.maxPendingRecipients = maxPendingRecipients;
+        this.batchSize = batchSize;
+
+        this.enqueued = meterRegistry.counter("notifications.enqueued");
+        this.coalesced = meterRegistry.counter("notifications.coalesced");
+        this.dropped = meterRegistry.counter("notifications.dropped");
+        this.sent = meterRegistry.counter("notifications.sent");
+        this.failed = meterRegistry.counter("notifications.failed");
+        meterRegistry.gaugeMapSize("notifications.pending.recipients", List.of(), pending);
+    }
+
+    public void submitAbsenceNotification(NotificationRecipient recipient, String courseName, String courseCode,
+                                          String status, String date) {
+        submit(recipient, new AbsenceNotice(courseName, courseCode, status, date));
+    }
+
+    public void submitMultipleAbsencesWarning(NotificationRecipient recipient, String courseName,
+                                              long absentCount, long totalClasses) {
+        submit(recipient, new MultipleAbsencesWarning(courseName, absentCount, totalClasses));
+    }
+
+    private void submit(NotificationRecipient recipient, Notice notice) {
+        if (recipient.email() == null) {
+            return;
+        }
+        if (!pending.containsKey(recipient.email()) && pending.size() >= maxPendingRecipients) {
+            dropped.increment();
+            log.warn("Notification queue full, dropping {} for {}", notice.kind(), recipient.email());
+            return;
+        }
+
+        enqueued.increment();
+        pending.compute(recipient.email(), (email, bundle) -> {
+            if (bundle == null) {
+                bundle = new PendingNotifications(recipient, System.currentTimeMillis() + coalesceWindowMs);
+            }
+            if (bundle.merge(notice)) {
+                coalesced.increment();
+            }
+            return bundle;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.flush-interval-ms:500}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        List<PendingNotifications> due = new ArrayList<>();
+        for (Iterator<Map.Entry<String, PendingNotifications>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, PendingNotifications> entry = it.next();
+            if (entry.getValue().dueAt <= now && pending.remove(entry.getKey(), entry.getValue())) {
+                due.add(entry.getValue());
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<MimeMessage> batch = new ArrayList<>(batchSize);
+        for (PendingNotifications bundle : due) {
+            for (Notice notice : bundle.notices()) {
+                try {
+                    batch.add(notice.compose(emailComposer, bundle.recipient));
+                } catch (Exception e) {
+                    failed.increment();
+                    log.error("Failed to render {} for {}: {}", notice.kind(), bundle.recipient.email(), e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    sendBatch(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(batch);
+        }
+    }
+
+    private void sendBatch(List<MimeMessage> batch) {
+        try {
+            // JavaMailSenderImpl delivers a varargs batch over a single SMTP connection
+            mailSender.send(batch.toArray(MimeMessage[]::new));
+            sent.increment(batch.size());
+            log.info("Sent {} notification emails", batch.size());
+        } catch (MailSendException e) {
+            int failures = e.getFailedMessages().size();
+            failed.increment(failures);
+            sent.increment(batch.size() - failures);
+            log.error("Failed to send {} of {} notification emails: {}", failures, batch.size(), e.getMessage());
+        } catch (MailException e) {
+            failed.increment(batch.size());
+            log.error("Failed to send {} notification emails: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private sealed interface Notice permits AbsenceNotice, MultipleAbsencesWarning {
+        String courseName();
+
+        NoticeKey key();
+
+        String kind();
+
+        MimeMessage compose(EmailComposer composer, NotificationRecipient recipient) throws Exception;
+    }
+
+    private record AbsenceNotice(String courseName, String courseCode, String status, String date) implements Notice {
+        @Override
+        public NoticeKey key() {
+            return new NoticeKey(courseName, date, false);
+        }
+
+        @Override
+        public String kind() {
+            return "absence-notification";
+        }
+
+        @Override
+        public MimeMessage compose(EmailComposer composer, NotificationRecipient recipient) throws Exception {
+            return composer.composeAbsenceNotification(recipient, courseName, courseCode, status, date);
+        }
+    }
+
+    private record MultipleAbsencesWarning(String courseName, long absentCount, long totalClasses) implements Notice {
+        @Override
+        public NoticeKey key() {
+            return NoticeKey.warning(courseName);
+        }
+
+        @Override
+        public String kind() {
+            return "multiple-absences-warning";
+        }
+
+        @Override
+        public MimeMessage compose(EmailComposer composer, NotificationRecipient recipient) throws Exception {
+            return composer.composeMultipleAbsencesWarning(recipient, courseName, absentCount, totalClasses);
+        }
+    }
+
+    /**
+     * An absence notice is keyed by course and date; a course has at most one warning.
+     */
+    private record NoticeKey(String courseName, String date, boolean warning) {
+        private static NoticeKey warning(String courseName) {
+            return new NoticeKey(courseName, null, true);
+        }
+    }
+
+    /**
+     * Notices waiting for one recipient: one absence notice per course and date, or
+     * a single warning per course. Only touched inside
+     * {@link ConcurrentHashMap#compute}, or after removal from the map.
+     */
+    private static final class PendingNotifications {
+        private final NotificationRecipient recipient;
+        private final long dueAt;
+        private final Map<NoticeKey, Notice> byKey = new LinkedHashMap<>();
+
+        private PendingNotifications(NotificationRecipient recipient, long dueAt) {
+            this.recipient = recipient;
+            this.dueAt = dueAt;
+        }
+
+        /**
+         * Returns {@code true} when the notice was folded into one already pending.
+         */
+        private boolean merge(Notice notice) {
+            if (notice instanceof MultipleAbsencesWarning) {
+                // A warning supersedes the course's plain notices; a later warning carries the newer counts
+                boolean folded = byKey.keySet().removeIf(key -> Objects.equals(key.courseName(), notice.courseName()));
+                byKey.put(notice.key(), notice);
+                return folded;
+            }
+            if (byKey.containsKey(NoticeKey.warning(notice.courseName()))) {
+                return true;
+            }
+            // The same course and date again: the later status wins
+            return byKey.put(notice.key(), notice) != null;
+        }
+
+        private List<Notice> notices() {
+            return new ArrayList<>(byKey.values());
+        }
+    }
+}
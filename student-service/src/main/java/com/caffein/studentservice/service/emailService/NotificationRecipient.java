@@ -0,0 +1,17 @@
+package com.caffein.studentservice.service.emailService;
+
+import com.caffein.studentservice.model.Student;
+
+/**
+ * Detached copy of the student fields an email needs, so queued notifications
+ * never hold on to JPA entities across threads.
+ */
+public record NotificationRecipient(String email, String fullName, String registrationId) {
+
+    public static NotificationRecipient of(Student student) {
+        return new NotificationRecipient(
+                student.getEmail(),
+                student.getFirstName() + " " + student.getLastName(),
+                student.getRegistrationId());
+    }
+}
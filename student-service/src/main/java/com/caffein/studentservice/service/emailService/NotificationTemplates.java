@@ -0,0 +1,95 @@
+package com.caffein.studentservice.service.emailService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notification templates compiled once at startup, so sending an email no longer
+ * runs the Thymeleaf engine. Output goes into a per-thread buffer that is reused
+ * between renders.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationTemplates {
+
+    static final String ABSENCE_NOTIFICATION = "absence-notification";
+    static final String MULTIPLE_ABSENCES_WARNING = "multiple-absences-warning";
+
+    private static final List<String> ABSENCE_VARIABLES =
+            List.of("studentName", "courseName", "courseCode", "date", "status");
+    private static final List<String> WARNING_VARIABLES =
+            List.of("studentName", "courseName", "absentCount", "totalClasses", "attendanceRate");
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    private final SpringTemplateEngine templateEngine;
+
+    // The registration row is behind th:if, so the absence notice has two static shapes
+    private CompiledTemplate absenceWithRegistration;
+    private CompiledTemplate absenceWithoutRegistration;
+    private CompiledTemplate multipleAbsencesWarning;
+
+    @PostConstruct
+    void compile() {
+        absenceWithRegistration = compile(ABSENCE_NOTIFICATION, ABSENCE_VARIABLES, "registrationId");
+        absenceWithoutRegistration = compile(ABSENCE_NOTIFICATION, ABSENCE_VARIABLES, null);
+        multipleAbsencesWarning = compile(MULTIPLE_ABSENCES_WARNING, WARNING_VARIABLES, null);
+        log.info("Compiled notification templates {} and {}", ABSENCE_NOTIFICATION, MULTIPLE_ABSENCES_WARNING);
+    }
+
+    public String renderAbsenceNotification(String studentName, String courseName, String courseCode,
+                                            String status, String date, String registrationId) {
+        CompiledTemplate template = registrationId != null ? absenceWithRegistration : absenceWithoutRegistration;
+        Map<String, String> values = new HashMap<>();
+        values.put("studentName", studentName);
+        values.put("courseName", courseName);
+        values.put("courseCode", courseCode);
+        values.put("date", date);
+        values.put("status", status);
+        values.put("registrationId", registrationId);
+        return render(template, values);
+    }
+
+    public String renderMultipleAbsencesWarning(String studentName, String courseName,
+                                                long absentCount, long totalClasses) {
+        long attendanceRate = Math.round((totalClasses - absentCount) * 100.0 / totalClasses);
+        Map<String, String> values = new HashMap<>();
+        values.put("studentName", studentName);
+        values.put("courseName", courseName);
+        values.put("absentCount", Long.toString(absentCount));
+        values.put("totalClasses", Long.toString(totalClasses));
+        values.put("attendanceRate", Long.toString(attendanceRate));
+        return render(multipleAbsencesWarning, values);
+    }
+
+    private String render(CompiledTemplate template, Map<String, String> values) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, values);
+        return buffer.toString();
+    }
+
+    private CompiledTemplate compile(String name, List<String> variables, String optionalVariable) {
+        Context context = new Context();
+        for (String variable : variables) {
+            context.setVariable(variable, CompiledTemplate.placeholder(variable));
+        }
+        List<String> slots = variables;
+        if (optionalVariable != null) {
+            context.setVariable(optionalVariable, CompiledTemplate.placeholder(optionalVariable));
+            slots = new ArrayList<>(variables);
+            slots.add(optionalVariable);
+        }
+        return CompiledTemplate.compile(name, templateEngine.process(name, context), slots);
+    }
+}
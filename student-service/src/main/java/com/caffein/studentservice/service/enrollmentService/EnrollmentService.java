@@ -2,56 +2,37 @@ package com.caffein.studentservice.service.enrollmentService;
 
 import com.caffein.studentservice.dto.EnrollmentDTO;
 import com.caffein.studentservice.dto.SubjectDTO;
-import com.caffein.studentservice.grpc.CourseInformationServiceGrpc;
 import com.caffein.studentservice.model.Enrollment;
 import com.caffein.studentservice.model.Student;
 import com.caffein.studentservice.repository.EnrollmentRepository;
 import com.caffein.studentservice.repository.StudentRepository;
 import com.caffein.studentservice.request.EnrollmentRequest;
 import com.caffein.studentservice.service.enrollmentService.mapper.EnrollmentMapper;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.caffein.studentservice.service.courseCatalog.CourseCatalog;
+import com.caffein.studentservice.service.outboxService.OutboxService;
 import io.grpc.StatusRuntimeException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.grpc.client.GrpcChannelFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class EnrollmentService implements IEnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
     private final EnrollmentMapper enrollmentMapper;
-
-    private final CourseInformationServiceGrpc.CourseInformationServiceBlockingStub courseInformationServiceBlockingStub;
-
-    public EnrollmentService(
-            EnrollmentRepository enrollmentRepository,
-            StudentRepository studentRepository,
-            EnrollmentMapper enrollmentMapper,
-            @Value("${school.course.service.address:localhost}") String serverAddress,
-            @Value("${school.course.service.grpc.port:4312}") int serverPort) {
-        this.enrollmentRepository = enrollmentRepository;
-        this.studentRepository = studentRepository;
-        this.enrollmentMapper = enrollmentMapper;
-
-        log.info("Connecting to School Course Service GRPC at {}:{}", serverAddress, serverPort);
-        ManagedChannel channel = ManagedChannelBuilder.forAddress(serverAddress, serverPort)
-                .usePlaintext()
-                .build();
-        this.courseInformationServiceBlockingStub = CourseInformationServiceGrpc.newBlockingStub(channel);
-    }
+    private final OutboxService outboxService;
+    private final CourseCatalog courseCatalog;
 
     @Override
     @Transactional
@@ -70,9 +51,7 @@ public class EnrollmentService implements IEnrollmentService {
         }
 
         try {
-            com.caffein.studentservice.grpc.CourseResponse courseResponse = courseInformationServiceBlockingStub.getCourseById(
-                    com.caffein.studentservice.grpc.CourseRequest.newBuilder().setCourseId(request.getCourseId().toString()).build()
-            );
+            com.caffein.studentservice.grpc.CourseResponse courseResponse = courseCatalog.getCourse(request.getCourseId());
 
             long currentEnrollmentCount = enrollmentRepository.countByCourseId(request.getCourseId());
             if (currentEnrollmentCount >= courseResponse.getMaxCapacity()) {
@@ -92,6 +71,7 @@ public class EnrollmentService implements IEnrollmentService {
                     .build();
 
             Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+            publishEnrollmentEvent(savedEnrollment, courseResponse.getMaxCapacity());
             log.info("Successfully enrolled student {} in course {}", student.getId(), request.getCourseId());
 
             return enrollmentMapper.toDTO(savedEnrollment);
@@ -107,26 +87,49 @@ public class EnrollmentService implements IEnrollmentService {
     public void unenrollStudent(UUID studentId, UUID enrollmentId) {
         log.info("Unenrolling student {} from enrollment {}", studentId, enrollmentId);
 
-        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
-                .orElseThrow(() -> new EntityNotFoundException("Enrollment not found with ID: " + enrollmentId));
-
-        // Verify the enrollment belongs to the student
-        if (!enrollment.getStudent().getId().equals(studentId)) {
-            throw new IllegalArgumentException("Enrollment does not belong to the specified student");
-        }
+        Enrollment enrollment = findStudentEnrollment(studentId, enrollmentId);
 
         // Check if enrollment can be withdrawn
         if (enrollment.getStatus() == Enrollment.EnrollmentStatus.COMPLETED) {
             throw new IllegalStateException("Cannot unenroll from a completed course");
         }
+        if (enrollment.getStatus() == Enrollment.EnrollmentStatus.WITHDRAWN) {
+            return;
+        }
 
         enrollment.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
         enrollmentRepository.save(enrollment);
+        publishEnrollmentEvent(enrollment, null);
 
         log.info("Successfully unenrolled student {} from course {}",
                 studentId, enrollment.getCourseCode());
     }
 
+    @Override
+    @Transactional
+    public EnrollmentDTO completeEnrollment(UUID studentId, UUID enrollmentId, String grade) {
+        log.info("Completing enrollment {} for student {}", enrollmentId, studentId);
+
+        Enrollment enrollment = findStudentEnrollment(studentId, enrollmentId);
+
+        if (enrollment.getStatus() == Enrollment.EnrollmentStatus.WITHDRAWN) {
+            throw new IllegalStateException("Cannot complete a withdrawn enrollment");
+        }
+        if (enrollment.getStatus() == Enrollment.EnrollmentStatus.COMPLETED) {
+            throw new IllegalStateException("Enrollment is already completed");
+        }
+
+        enrollment.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
+        if (grade != null) {
+            enrollment.setGrade(grade);
+        }
+        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        publishEnrollmentEvent(savedEnrollment, null);
+
+        log.info("Successfully completed enrollment {} for student {}", enrollmentId, studentId);
+        return enrollmentMapper.toDTO(savedEnrollment);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<EnrollmentDTO> getStudentEnrollments(UUID studentId) {
@@ -146,22 +149,39 @@ public class EnrollmentService implements IEnrollmentService {
     public List<SubjectDTO> getAllSubjects() {
         log.info("Fetching all subjects from course service");
         try {
-            Iterator<com.caffein.studentservice.grpc.SubjectResponse> responseIterator =
-                    courseInformationServiceBlockingStub.getSubjects(com.caffein.studentservice.grpc.SubjectsRequest.newBuilder().build());
-
-            List<SubjectDTO> subjects = new ArrayList<>();
-            while (responseIterator.hasNext()) {
-                com.caffein.studentservice.grpc.SubjectResponse subjectResponse = responseIterator.next();
-                subjects.add(SubjectDTO.builder()
-                        .id(UUID.fromString(subjectResponse.getId()))
-                        .name(subjectResponse.getName())
-                        .department(subjectResponse.getDepartment())
-                        .build());
-            }
-            return subjects;
+            return courseCatalog.getSubjects();
         } catch (StatusRuntimeException e) {
             log.error("gRPC error while fetching subjects: {}", e.getStatus());
             throw new IllegalStateException("Failed to retrieve subjects. Please try again later.", e);
         }
     }
-}
\ No newline at end of file
+
+    private Enrollment findStudentEnrollment(UUID studentId, UUID enrollmentId) {
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new EntityNotFoundException("Enrollment not found with ID: " + enrollmentId));
+
+        // Verify the enrollment belongs to the student
+        if (!enrollment.getStudent().getId().equals(studentId)) {
+            throw new IllegalArgumentException("Enrollment does not belong to the specified student");
+        }
+        return enrollment;
+    }
+
+    /**
+     * Queues a lifecycle event for analytics. Keyed by course so all of a course's
+     * events land on one partition, in order. Capacity is only known on
+     * registration; analytics keeps the value it already has otherwise.
+     */
+    private void publishEnrollmentEvent(Enrollment enrollment, Integer maxCapacity) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("enrollmentId", enrollment.getId());
+        event.put("studentId", enrollment.getStudent().getId());
+        event.put("courseId", enrollment.getCourseId());
+        event.put("courseName", enrollment.getCourseName());
+        event.put("academicYear", enrollment.getAcademicYear());
+        event.put("semester", enrollment.getSemester());
+        event.put("status", enrollment.getStatus().name());
+        event.put("maxCapacity", maxCapacity);
+        outboxService.enqueue("enrollment-events", enrollment.getCourseId().toString(), event);
+    }
+}
@@ -10,6 +10,7 @@ import java.util.UUID;
 public interface IEnrollmentService {
     EnrollmentDTO enrollStudent(EnrollmentRequest request);
     void unenrollStudent(UUID studentId, UUID enrollmentId);
+    EnrollmentDTO completeEnrollment(UUID studentId, UUID enrollmentId, String grade);
     List<EnrollmentDTO> getStudentEnrollments(UUID studentId);
     List<SubjectDTO> getAllSubjects();
 }
\ No newline at end of file
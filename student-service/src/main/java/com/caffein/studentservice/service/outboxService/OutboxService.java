@@ -0,0 +1,37 @@
+package com.caffein.studentservice.service.outboxService;
+
+import com.caffein.studentservice.model.OutboxEvent;
+import com.caffein.studentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes domain events to the outbox table inside the caller's transaction.
+ * {@link com.caffein.studentservice.kafka.producer.OutboxRelay} publishes them
+ * after commit, so a rolled-back request never leaves an event behind and the
+ * request path never waits on the broker.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(topic)
+                    .eventKey(key)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event for topic " + topic + " is not serializable", e);
+        }
+    }
+}
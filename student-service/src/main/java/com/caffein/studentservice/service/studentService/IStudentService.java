@@ -1,19 +1,26 @@
 package com.caffein.studentservice.service.studentService;
 
 import com.caffein.studentservice.dto.StudentDTO;
+import com.caffein.studentservice.dto.StudentSearchPageDTO;
+import com.caffein.studentservice.dto.StudentSummaryDTO;
 import com.caffein.studentservice.dto.StudentUpdateDTO;
 import com.caffein.studentservice.dto.UserDTO;
 import com.caffein.studentservice.model.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface IStudentService {
 
     public Student createStudentFromUser(UserDTO userDTO);
 
-    Page<StudentDTO> getAllStudents(String search, Pageable pageable);
+    Page<StudentSummaryDTO> getAllStudents(String search, Pageable pageable);
+
+    StudentSearchPageDTO searchStudents(String query, String cursor, int size, boolean includeTotal);
+
+    List<StudentSummaryDTO> typeahead(String query, int limit);
 
     StudentDTO getStudentById(UUID id);
 
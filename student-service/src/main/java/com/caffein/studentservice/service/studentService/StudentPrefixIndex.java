@@ -0,0 +1,493 @@
+package com.caffein.studentservice.service.studentService;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntBinaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index from normalized tokens to student IDs.
+ * <p>
+ * The bulk of the index is an immutable {@link Segment}. It packs every token's
+ * UTF-8 bytes into one array, sorts the entries by token, and stores student IDs
+ * as two {@code long[]}, so a student costs a few dozen bytes instead of several
+ * objects per token. Changes go to a small overlay whose students supersede their
+ * base entries. {@link #compactIfNeeded()} folds the overlay into a new segment
+ * once it grows past the threshold, building it outside the writer lock. Readers
+ * never lock; writers are serialized.
+ */
+class StudentPrefixIndex {
+
+    // Rough heap cost of one overlay token: skip-list node, key string and ID reference
+    private static final int OVERLAY_BYTES_PER_TOKEN = 160;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int compactThreshold;
+    private final Object compactionLock = new Object();
+    private volatile State state = new State(Segment.EMPTY);
+
+    StudentPrefixIndex(int compactThreshold) {
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses whitespace, so "  José  Núñez"
+     * and "jose nunez" look up the same entries.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * First name, last name, full name, email local part and registration ID, each
+     * normalized. Blank fields are skipped.
+     */
+    static List<String> tokensOf(String firstName, String lastName, String email, String registrationId) {
+        Set<String> tokens = new LinkedHashSet<>(8);
+        String first = normalize(firstName);
+        String last = normalize(lastName);
+        addIfPresent(tokens, first);
+        addIfPresent(tokens, last);
+        if (!first.isEmpty() && !last.isEmpty()) {
+            tokens.add(first + " " + last);
+        }
+        String normalizedEmail = normalize(email);
+        int at = normalizedEmail.indexOf('@');
+        addIfPresent(tokens, at >= 0 ? normalizedEmail.substring(0, at) : normalizedEmail);
+        addIfPresent(tokens, normalize(registrationId));
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Up to {@code limit} distinct students with a token starting with the
+     * normalized {@code query}, in token order.
+     */
+    List<UUID> lookup(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+        Segment base = current.base;
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+
+        int position = base.lowerBound(prefixBytes);
+        Iterator<Map.Entry<String, UUID>> overlay = current.overlay
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .entrySet().iterator();
+        Map.Entry<String, UUID> nextOverlay = overlay.hasNext() ? overlay.next() : null;
+
+        Set<UUID> result = new LinkedHashSet<>(limit * 2);
+        while (result.size() < limit) {
+            boolean baseHasNext = position < base.size() && base.startsWith(position, prefixBytes);
+            if (!baseHasNext && nextOverlay == null) {
+                break;
+            }
+            boolean takeBase = baseHasNext && (nextOverlay == null
+                    || base.token(position).compareTo(tokenOf(nextOverlay.getKey())) <= 0);
+            if (takeBase) {
+                UUID id = base.id(base.ordinal(position++));
+                // Students in the overlay have been changed since the segment was built
+                if (!current.overlayTokens.containsKey(id)) {
+                    result.add(id);
+                }
+            } else {
+                result.add(nextOverlay.getValue());
+                nextOverlay = overlay.hasNext() ? overlay.next() : null;
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Replaces the tokens of one student.
+     */
+    synchronized void put(UUID id, List<String> tokens) {
+        putInto(state, id, tokens.toArray(String[]::new));
+    }
+
+    /**
+     * Swaps in a freshly built segment. Overlay entries are kept and still win,
+     * so changes made while the segment was being built are not lost.
+     */
+    synchronized void replaceBase(Segment base) {
+        State current = state;
+        State next = new State(base, current.overlay, current.overlayTokens);
+        for (UUID id : current.overlayTokens.keySet()) {
+            if (!base.contains(id)) {
+                next.addedStudents++;
+            }
+        }
+        state = next;
+    }
+
+    /**
+     * Folds the overlay into a new segment once it passes the threshold. The
+     * segment is built from a snapshot without holding the writer lock, so
+     * {@link #put} is only blocked for the final swap; students changed during
+     * the build are replayed into the new overlay.
+     */
+    boolean compactIfNeeded() {
+        synchronized (compactionLock) {
+            State snapshot;
+            Map<UUID, String[]> folded;
+            synchronized (this) {
+                snapshot = state;
+                if (snapshot.overlayTokens.size() < compactThreshold) {
+                    return false;
+                }
+                folded = Map.copyOf(snapshot.overlayTokens);
+            }
+
+            Segment.Builder builder = new Segment.Builder();
+            snapshot.base.copyLiveInto(builder, folded.keySet());
+            folded.forEach((id, tokens) -> {
+                int ordinal = builder.addStudent(id);
+                for (String token : tokens) {
+                    builder.addToken(ordinal, token);
+                }
+            });
+            Segment compacted = builder.build();
+
+            synchronized (this) {
+                State current = state;
+                if (current.base != snapshot.base) {
+                    // A full rebuild replaced the base meanwhile; fold into that one next time
+                    return false;
+                }
+                State next = new State(compacted);
+                // put() always stores a new array, so a different reference means a later change
+                current.overlayTokens.forEach((id, tokens) -> {
+                    if (folded.get(id) != tokens) {
+                        putInto(next, id, tokens);
+                    }
+                });
+                state = next;
+                return true;
+            }
+        }
+    }
+
+    int students() {
+        State current = state;
+        return current.base.students() + current.addedStudents;
+    }
+
+    long estimatedBytes() {
+        State current = state;
+        return current.base.estimatedBytes() + (long) current.overlay.size() * OVERLAY_BYTES_PER_TOKEN;
+    }
+
+    private static void putInto(State target, UUID id, String[] next) {
+        String[] previous = target.overlayTokens.get(id);
+        if (previous == null && !target.base.contains(id)) {
+            target.addedStudents++;
+        }
+        for (String token : next) {
+            target.overlay.put(token + KEY_SEPARATOR + id, id);
+        }
+        target.overlayTokens.put(id, next);
+        if (previous != null) {
+            List<String> kept = Arrays.asList(next);
+            for (String token : previous) {
+                if (!kept.contains(token)) {
+                    target.overlay.remove(token + KEY_SEPARATOR + id);
+                }
+            }
+        }
+    }
+
+    private static void addIfPresent(Set<String> tokens, String token) {
+        if (!token.isEmpty()) {
+            tokens.add(token);
+        }
+    }
+
+    private static String tokenOf(String overlayKey) {
+        return overlayKey.substring(0, overlayKey.lastIndexOf(KEY_SEPARATOR));
+    }
+
+    private static final class State {
+        private final Segment base;
+        private final NavigableMap<String, UUID> overlay;
+        private final Map<UUID, String[]> overlayTokens;
+        // Overlay students that are not in the base segment; only written under the writer lock
+        private volatile int addedStudents;
+
+        private State(Segment base) {
+            this(base, new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+
+        private State(Segment base, NavigableMap<String, UUID> overlay, Map<UUID, String[]> overlayTokens) {
+            this.base = base;
+            this.overlay = overlay;
+            this.overlayTokens = overlayTokens;
+        }
+    }
+
+    /**
+     * Immutable sorted token entries. Entry {@code i} is the token at
+     * {@code tokenBytes[tokenOffsets[i] .. tokenOffsets[i + 1])} for student
+     * {@code ordinals[i]}, whose ID is {@code (mostSigBits[o], leastSigBits[o])}.
+     * Students are ordered by ID, so membership is a binary search.
+     */
+    static final class Segment {
+
+        static final Segment EMPTY = new Builder().build();
+
+        private final byte[] tokenBytes;
+        private final int[] tokenOffsets;
+        private final int[] ordinals;
+        private final long[] mostSigBits;
+        private final long[] leastSigBits;
+        private final int students;
+
+        private Segment(byte[] tokenBytes, int[] tokenOffsets, int[] ordinals,
+                        long[] mostSigBits, long[] leastSigBits, int students) {
+            this.tokenBytes = tokenBytes;
+            this.tokenOffsets = tokenOffsets;
+            this.ordinals = ordinals;
+            this.mostSigBits = mostSigBits;
+            this.leastSigBits = leastSigBits;
+            this.students = students;
+        }
+
+        int size() {
+            return ordinals.length;
+        }
+
+        int students() {
+            return students;
+        }
+
+        long estimatedBytes() {
+            return tokenBytes.length + 4L * tokenOffsets.length + 4L * ordinals.length + 16L * students;
+        }
+
+        int ordinal(int entry) {
+            return ordinals[entry];
+        }
+
+        UUID id(int ordinal) {
+            return new UUID(mostSigBits[ordinal], leastSigBits[ordinal]);
+        }
+
+        boolean contains(UUID id) {
+            int low = 0;
+            int high = students - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareIds(mostSigBits[mid], leastSigBits[mid],
+                        id.getMostSignificantBits(), id.getLeastSignificantBits());
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String token(int entry) {
+            int from = tokenOffsets[entry];
+            return new String(tokenBytes, from, tokenOffsets[entry + 1] - from, StandardCharsets.UTF_8);
+        }
+
+        boolean startsWith(int entry, byte[] prefix) {
+            int from = tokenOffsets[entry];
+            if (tokenOffsets[entry + 1] - from < prefix.length) {
+                return false;
+            }
+            return Arrays.equals(tokenBytes, from, from + prefix.length, prefix, 0, prefix.length);
+        }
+
+        // First entry whose token is >= key
+        int lowerBound(byte[] key) {
+            int low = 0;
+            int high = ordinals.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(tokenBytes, tokenOffsets[mid], tokenOffsets[mid + 1], key, 0, key.length) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void copyLiveInto(Builder builder, Set<UUID> superseded) {
+            int[] remapped = new int[students];
+            Arrays.fill(remapped, -1);
+            for (int ordinal = 0; ordinal < students; ordinal++) {
+                UUID id = id(ordinal);
+                if (!superseded.contains(id)) {
+                    remapped[ordinal] = builder.addStudent(id);
+                }
+            }
+            for (int entry = 0; entry < ordinals.length; entry++) {
+                int target = remapped[ordinals[entry]];
+                if (target >= 0) {
+                    builder.addToken(target, tokenBytes, tokenOffsets[entry], tokenOffsets[entry + 1]);
+                }
+            }
+        }
+
+        private static int compare(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+            return Arrays.compareUnsigned(a, aFrom, aTo, b, bFrom, bTo);
+        }
+
+        private static int compareIds(long aMost, long aLeast, long bMost, long bLeast) {
+            int cmp = Long.compare(aMost, bMost);
+            return cmp != 0 ? cmp : Long.compare(aLeast, bLeast);
+        }
+
+        /**
+         * Accumulates students and tokens in growable primitive arrays, then sorts
+         * the entries once in {@link #build()}.
+         */
+        static final class Builder {
+
+            private byte[] tokenBytes = new byte[1024];
+            private int byteCount;
+            private int[] tokenStarts = new int[256];
+            private int[] tokenEnds = new int[256];
+            private int[] ordinals = new int[256];
+            private int entryCount;
+            private long[] mostSigBits = new long[64];
+            private long[] leastSigBits = new long[64];
+            private int studentCount;
+
+            int addStudent(UUID id) {
+                if (studentCount == mostSigBits.length) {
+                    mostSigBits = Arrays.copyOf(mostSigBits, studentCount * 2);
+                    leastSigBits = Arrays.copyOf(leastSigBits, studentCount * 2);
+                }
+                mostSigBits[studentCount] = id.getMostSignificantBits();
+                leastSigBits[studentCount] = id.getLeastSignificantBits();
+                return studentCount++;
+            }
+
+            void addToken(int ordinal, String token) {
+                byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+                addToken(ordinal, bytes, 0, bytes.length);
+            }
+
+            private void addToken(int ordinal, byte[] source, int from, int to) {
+                int length = to - from;
+                if (byteCount + length > tokenBytes.length) {
+                    tokenBytes = Arrays.copyOf(tokenBytes, Math.max(tokenBytes.length * 2, byteCount + length));
+                }
+                if (entryCount == ordinals.length) {
+                    tokenStarts = Arrays.copyOf(tokenStarts, entryCount * 2);
+                    tokenEnds = Arrays.copyOf(tokenEnds, entryCount * 2);
+                    ordinals = Arrays.copyOf(ordinals, entryCount * 2);
+                }
+                System.arraycopy(source, from, tokenBytes, byteCount, length);
+                tokenStarts[entryCount] = byteCount;
+                tokenEnds[entryCount] = byteCount + length;
+                ordinals[entryCount] = ordinal;
+                byteCount += length;
+                entryCount++;
+            }
+
+            Segment build() {
+                // Renumber students in ID order
+                int[] byId = identity(studentCount);
+                sort(byId, (a, b) -> compareIds(mostSigBits[a], leastSigBits[a], mostSigBits[b], leastSigBits[b]));
+                int[] rank = new int[studentCount];
+                long[] sortedMost = new long[studentCount];
+                long[] sortedLeast = new long[studentCount];
+                for (int i = 0; i < studentCount; i++) {
+                    rank[byId[i]] = i;
+                    sortedMost[i] = mostSigBits[byId[i]];
+                    sortedLeast[i] = leastSigBits[byId[i]];
+                }
+
+                int[] order = identity(entryCount);
+                sort(order, this::compareEntries);
+
+                byte[] sortedBytes = new byte[byteCount];
+                int[] offsets = new int[entryCount + 1];
+                int[] sortedOrdinals = new int[entryCount];
+                int written = 0;
+                for (int i = 0; i < entryCount; i++) {
+                    int entry = order[i];
+                    int length = tokenEnds[entry] - tokenStarts[entry];
+                    System.arraycopy(tokenBytes, tokenStarts[entry], sortedBytes, written, length);
+                    offsets[i] = written;
+                    sortedOrdinals[i] = rank[ordinals[entry]];
+                    written += length;
+                }
+                offsets[entryCount] = written;
+                return new Segment(sortedBytes, offsets, sortedOrdinals, sortedMost, sortedLeast, studentCount);
+            }
+
+            private static int[] identity(int size) {
+                int[] order = new int[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                return order;
+            }
+
+            // Stable bottom-up merge sort over indexes, avoiding boxed comparators
+            private static void sort(int[] order, IntBinaryOperator comparator) {
+                int[] buffer = new int[order.length];
+                int[] source = order;
+                int[] target = buffer;
+                for (int width = 1; width < order.length; width *= 2) {
+                    for (int low = 0; low < order.length; low += 2 * width) {
+                        int mid = Math.min(low + width, order.length);
+                        int high = Math.min(low + 2 * width, order.length);
+                        merge(source, target, low, mid, high, comparator);
+                    }
+                    int[] swap = source;
+                    source = target;
+                    target = swap;
+                }
+                if (source != order) {
+                    System.arraycopy(source, 0, order, 0, order.length);
+                }
+            }
+
+            private static void merge(int[] source, int[] target, int low, int mid, int high,
+                                      IntBinaryOperator comparator) {
+                int left = low;
+                int right = mid;
+                for (int out = low; out < high; out++) {
+                    if (right >= high || (left < mid && comparator.applyAsInt(source[left], source[right]) <= 0)) {
+                        target[out] = source[left++];
+                    } else {
+                        target[out] = source[right++];
+                    }
+                }
+            }
+
+            private int compareEntries(int a, int b) {
+                return compare(tokenBytes, tokenStarts[a], tokenEnds[a], tokenBytes, tokenStarts[b], tokenEnds[b]);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.caffein.studentservice.service.studentService;
+
+import com.caffein.studentservice.dto.StudentSearchPageDTO;
+import com.caffein.studentservice.dto.StudentSummaryDTO;
+import com.caffein.studentservice.model.Student;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Substring search over student name, email and registration ID with keyset
+ * pagination.
+ * <p>
+ * The four fields are matched as one lower-cased string. On PostgreSQL a pg_trgm
+ * GIN index over that exact expression serves selective terms. A B-tree over the
+ * sort key (last name, first name, id) serves short or common terms by walking
+ * rows in order until the page is full. Pages continue from the last row seen
+ * instead of an OFFSET, and only the summary columns are read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Must stay identical to the indexed expression below
+    private static final String SEARCH_TEXT =
+            "LOWER(COALESCE(first_name, '') || ' ' || COALESCE(last_name, '') || ' ' || " +
+            "COALESCE(email, '') || ' ' || COALESCE(registration_id, ''))";
+    private static final String SORT_LAST = "COALESCE(LOWER(last_name), '')";
+    private static final String SORT_FIRST = "COALESCE(LOWER(first_name), '')";
+
+    private static final String SEARCH_SQL =
+            "SELECT id, registration_id, first_name, last_name, email, enrollment_status, " +
+            SORT_LAST + " AS sort_last, " + SORT_FIRST + " AS sort_first " +
+            "FROM students " +
+            "WHERE " + SEARCH_TEXT + " LIKE ? ESCAPE '\\' " +
+            "AND (" + SORT_LAST + ", " + SORT_FIRST + ", id) > (?, ?, ?) " +
+            "ORDER BY " + SORT_LAST + ", " + SORT_FIRST + ", id " +
+            "LIMIT ?";
+
+    // The substring test uses the trigram index; the second LIKE keeps matches that start a word
+    private static final String PREFIX_SQL =
+            "SELECT id, registration_id, first_name, last_name, email, enrollment_status, " +
+            SORT_LAST + " AS sort_last, " + SORT_FIRST + " AS sort_first " +
+            "FROM students " +
+            "WHERE " + SEARCH_TEXT + " LIKE ? ESCAPE '\\' " +
+            "AND ' ' || " + SEARCH_TEXT + " LIKE ? ESCAPE '\\' " +
+            "ORDER BY " + SORT_LAST + ", " + SORT_FIRST + ", id " +
+            "LIMIT ?";
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM students WHERE " + SEARCH_TEXT + " LIKE ? ESCAPE '\\'";
+
+    private static final Map<String, String> INDEX_DDL = Map.of(
+            "idx_students_search_trgm",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_students_search_trgm ON students " +
+                    "USING gin ((" + SEARCH_TEXT + ") gin_trgm_ops)",
+            "idx_students_name_order",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_students_name_order ON students " +
+                    "((" + SORT_LAST + "), (" + SORT_FIRST + "), id)");
+
+    // Empty when the index does not exist yet
+    private static final String INDEX_VALID_SQL =
+            "SELECT i.indisvalid FROM pg_index i WHERE i.indexrelid = to_regclass(?)";
+
+    private static final Cursor FIRST_PAGE = new Cursor("", "", new UUID(0L, 0L));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentSearchPageDTO search(String query, String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String pattern = "%" + escapeLike(query == null ? "" : query.trim().toLowerCase(Locale.ROOT)) + "%";
+        Cursor after = cursor == null || cursor.isBlank() ? FIRST_PAGE : Cursor.decode(cursor);
+
+        List<Row> rows = jdbcTemplate.query(SEARCH_SQL, (rs, rowNum) -> toRow(rs),
+                pattern, after.lastName(), after.firstName(), after.id(), pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<StudentSummaryDTO> students = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            students.add(rows.get(i).student());
+        }
+        Row last = hasMore ? rows.get(pageSize - 1) : null;
+
+        return StudentSearchPageDTO.builder()
+                .students(students)
+                .nextCursor(last != null ? new Cursor(last.sortLast(), last.sortFirst(), last.student().getId()).encode() : null)
+                .totalCount(includeTotal ? jdbcTemplate.queryForObject(COUNT_SQL, Long.class, pattern) : null)
+                .build();
+    }
+
+    /**
+     * Up to {@code limit} students with a word in their name, email or registration
+     * ID that starts with {@code query}, in name order. Matching ignores case but,
+     * unlike the typeahead index, not accents.
+     */
+    public List<StudentSummaryDTO> searchByWordPrefix(String query, int limit) {
+        String term = escapeLike(query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT));
+        return jdbcTemplate.query(PREFIX_SQL, (rs, rowNum) -> toRow(rs).student(),
+                "%" + term + "%", "% " + term + "%", Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Creates the search indexes on PostgreSQL. CONCURRENTLY keeps the students
+     * table writable while a large index builds.
+     * <p>
+     * A concurrent build that fails or is interrupted leaves an invalid index
+     * behind, which IF NOT EXISTS would then skip forever while the planner never
+     * uses it. Such an index is dropped first so this startup rebuilds it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.info("Skipping student search indexes on {}", database);
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (Exception e) {
+            log.warn("Could not create the pg_trgm extension: {}", e.getMessage());
+        }
+        INDEX_DDL.forEach(this::createIndex);
+    }
+
+    private void createIndex(String name, String ddl) {
+        try {
+            List<Boolean> valid = jdbcTemplate.queryForList(INDEX_VALID_SQL, Boolean.class, name);
+            if (!valid.isEmpty() && !Boolean.TRUE.equals(valid.get(0))) {
+                log.warn("Dropping invalid student search index {} left by an earlier build", name);
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+            jdbcTemplate.execute(ddl);
+        } catch (Exception e) {
+            log.warn("Could not create student search index {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static Row toRow(ResultSet rs) throws SQLException {
+        String status = rs.getString("enrollment_status");
+        StudentSummaryDTO student = StudentSummaryDTO.builder()
+                .id(rs.getObject("id", UUID.class))
+                .registrationId(rs.getString("registration_id"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .email(rs.getString("email"))
+                .enrollmentStatus(status != null ? Student.EnrollmentStatus.valueOf(status) : null)
+                .build();
+        return new Row(student, rs.getString("sort_last"), rs.getString("sort_first"));
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record Row(StudentSummaryDTO student, String sortLast, String sortFirst) {
+    }
+
+    private record Cursor(String lastName, String firstName, UUID id) {
+
+        private static final char SEPARATOR = '\u0000';
+
+        String encode() {
+            String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int first = raw.indexOf(SEPARATOR);
+                int second = raw.indexOf(SEPARATOR, first + 1);
+                return new Cursor(raw.substring(0, first), raw.substring(first + 1, second),
+                        UUID.fromString(raw.substring(second + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid search cursor", e);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.caffein.studentservice.service.studentService;
 
 import com.caffein.studentservice.dto.StudentDTO;
+import com.caffein.studentservice.dto.StudentSearchPageDTO;
+import com.caffein.studentservice.dto.StudentSummaryDTO;
 import com.caffein.studentservice.dto.StudentUpdateDTO;
 import com.caffein.studentservice.dto.UserDTO;
 import com.caffein.studentservice.model.Student;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -23,6 +26,8 @@ public class StudentService implements IStudentService{
 
     private final StudentRepository studentRepository;
     private final StudentMapper studentMapper;
+    private final StudentSearchService studentSearchService;
+    private final StudentTypeaheadService studentTypeaheadService;
 
     @Override
     @Transactional
@@ -47,6 +52,7 @@ public class StudentService implements IStudentService{
                     .build();
 
             Student savedStudent = studentRepository.save(student);
+            studentTypeaheadService.index(savedStudent);
             log.info("Successfully created student record for user: {} with ID: {}",
                     userDTO.getEmail(), savedStudent.getId());
 
@@ -58,16 +64,21 @@ public class StudentService implements IStudentService{
     }
 
     @Override
-    public Page<StudentDTO> getAllStudents(String search, Pageable pageable) {
-        Page<Student> students;
-
+    public Page<StudentSummaryDTO> getAllStudents(String search, Pageable pageable) {
         if (search != null && !search.trim().isEmpty()) {
-            students = studentRepository.findBySearchCriteria(search.trim(), pageable);
-        } else {
-            students = studentRepository.findAll(pageable);
+            return studentRepository.findSummariesBySearchCriteria(search.trim(), pageable);
         }
+        return studentRepository.findAllSummaries(pageable);
+    }
 
-        return students.map(studentMapper::toDTO);
+    @Override
+    public StudentSearchPageDTO searchStudents(String query, String cursor, int size, boolean includeTotal) {
+        return studentSearchService.search(query, cursor, size, includeTotal);
+    }
+
+    @Override
+    public List<StudentSummaryDTO> typeahead(String query, int limit) {
+        return studentTypeaheadService.lookup(query, limit);
     }
 
     @Override
@@ -81,7 +92,7 @@ public class StudentService implements IStudentService{
     @Override
     @Transactional
     public StudentDTO updateStudent(UUID id, StudentUpdateDTO updateDTO) {
-        Student student = studentRepository.findById(id)
+        Student student = studentRepository.findByIdWithGuardians(id)
                 .orElseThrow(() -> new EntityNotFoundException("Student not found with ID: " + id));
 
         // Update student fields
@@ -94,6 +105,7 @@ public class StudentService implements IStudentService{
         }
 
         Student savedStudent = studentRepository.save(student);
+        studentTypeaheadService.index(savedStudent);
         log.info("Updated student profile for ID: {}", id);
 
         return studentMapper.toDTO(savedStudent);
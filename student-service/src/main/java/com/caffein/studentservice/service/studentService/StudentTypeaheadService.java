@@ -0,0 +1,147 @@
+package com.caffein.studentservice.service.studentService;
+
+import com.caffein.studentservice.dto.StudentSummaryDTO;
+import com.caffein.studentservice.model.Student;
+import com.caffein.studentservice.repository.StudentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keystroke lookups for the admin UI, served from an in-process
+ * {@link StudentPrefixIndex} instead of the database.
+ * <p>
+ * The index is built after startup from one streaming scan of the students table.
+ * Until the scan finishes, lookups fall back to a word-prefix query through
+ * {@link StudentSearchService}, which matches the same words but does not fold accents.
+ * Creates and profile updates are applied once their transaction commits.
+ */
+@Service
+@Slf4j
+public class StudentTypeaheadService {
+
+    private static final String SCAN_SQL =
+            "SELECT id, first_name, last_name, email, registration_id FROM students";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StudentRepository studentRepository;
+    private final StudentSearchService studentSearchService;
+    private final int maxResults;
+    private final StudentPrefixIndex index;
+
+    private volatile boolean ready;
+
+    public StudentTypeaheadService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            StudentRepository studentRepository,
+            StudentSearchService studentSearchService,
+            MeterRegistry meterRegistry,
+            @Value("${app.typeahead.max-results:10}") int maxResults,
+            @Value("${app.typeahead.compact-threshold:10000}") int compactThreshold) {
+        this.scanTemplate = new JdbcTemplate(dataSource);
+        this.scanTemplate.setFetchSize(SCAN_FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.studentRepository = studentRepository;
+        this.studentSearchService = studentSearchService;
+        this.maxResults = maxResults;
+        this.index = new StudentPrefixIndex(compactThreshold);
+
+        Gauge.builder("students.typeahead.students", index, StudentPrefixIndex::students)
+                .register(meterRegistry);
+        Gauge.builder("students.typeahead.bytes.per.student", index,
+                        idx -> idx.students() == 0 ? 0 : (double) idx.estimatedBytes() / idx.students())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<StudentSummaryDTO> lookup(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, maxResults));
+        if (StudentPrefixIndex.normalize(query).isEmpty()) {
+            return List.of();
+        }
+        if (!ready) {
+            return studentSearchService.searchByWordPrefix(query, size);
+        }
+        List<UUID> ids = index.lookup(query, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, StudentSummaryDTO> byId = studentRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(StudentSummaryDTO::getId, Function.identity()));
+        List<StudentSummaryDTO> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            StudentSummaryDTO summary = byId.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    public void index(Student student) {
+        UUID id = student.getId();
+        List<String> tokens = StudentPrefixIndex.tokensOf(
+                student.getFirstName(), student.getLastName(), student.getEmail(), student.getRegistrationId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(id, tokens);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(id, tokens);
+            }
+        });
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        StudentPrefixIndex.Segment.Builder builder = new StudentPrefixIndex.Segment.Builder();
+        // Inside a transaction so the driver streams rows with a cursor instead of loading them all
+        readOnlyTransaction.executeWithoutResult(status -> scanTemplate.query(SCAN_SQL, rs -> {
+            int ordinal = builder.addStudent(rs.getObject("id", UUID.class));
+            for (String token : StudentPrefixIndex.tokensOf(rs.getString("first_name"), rs.getString("last_name"),
+                    rs.getString("email"), rs.getString("registration_id"))) {
+                builder.addToken(ordinal, token);
+            }
+        }));
+        index.replaceBase(builder.build());
+        ready = true;
+
+        int students = index.students();
+        log.info("Built student typeahead index: {} students, ~{} bytes/student in {} ms", students,
+                students == 0 ? 0 : index.estimatedBytes() / students, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${app.typeahead.compact-interval-ms:60000}")
+    public void compact() {
+        if (ready && index.compactIfNeeded()) {
+            log.info("Compacted student typeahead index ({} students)", index.students());
+        }
+    }
+}
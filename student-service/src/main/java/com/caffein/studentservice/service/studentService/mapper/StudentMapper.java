@@ -13,6 +13,11 @@ public class StudentMapper {
 
     private final GuardianMapper guardianMapper;
 
+    /**
+     * Detail view including guardians. Load the student with
+     * {@code findByIdWithGuardians} so this does not trigger another select; list
+     * pages use the {@code StudentSummaryDTO} projections in StudentRepository.
+     */
     public StudentDTO toDTO(Student student) {
         return StudentDTO.builder()
                 .id(student.getId())
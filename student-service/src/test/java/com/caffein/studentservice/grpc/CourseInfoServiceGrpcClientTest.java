@@ -0,0 +1,60 @@
+package com.caffein.studentservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseInfoServiceGrpcClientTest {
+
+    private final CourseInformationServiceGrpc.CourseInformationServiceBlockingStub stub =
+            mock(CourseInformationServiceGrpc.CourseInformationServiceBlockingStub.class);
+    private final CourseInfoServiceGrpcClient client = new CourseInfoServiceGrpcClient(stub);
+
+    @Test
+    @DisplayName("Should split large ID lists into calls of at most the server limit")
+    void shouldBatchCoursesByIds() {
+        when(stub.getCoursesByIds(any())).thenAnswer(invocation -> {
+            CoursesByIdsRequest request = invocation.getArgument(0);
+            return CoursesResponse.newBuilder()
+                    .addAllCourses(request.getCourseIdsList().stream()
+                            .map(id -> CourseResponse.newBuilder().setId(id).build())
+                            .toList())
+                    .build();
+        });
+        List<UUID> ids = IntStream.range(0, 2 * CourseInfoServiceGrpcClient.MAX_COURSES_PER_CALL + 1)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+
+        List<CourseResponse> courses = client.getCoursesByIds(ids);
+
+        ArgumentCaptor<CoursesByIdsRequest> requests = ArgumentCaptor.forClass(CoursesByIdsRequest.class);
+        verify(stub, times(3)).getCoursesByIds(requests.capture());
+        assertEquals(List.of(500, 500, 1),
+                requests.getAllValues().stream().map(CoursesByIdsRequest::getCourseIdsCount).toList());
+        assertEquals(ids.stream().map(UUID::toString).toList(), courses.stream().map(CourseResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should rethrow gRPC errors unchanged")
+    void shouldRethrowStatusErrors() {
+        StatusRuntimeException unavailable = Status.UNAVAILABLE.asRuntimeException();
+        when(stub.getCourseById(any())).thenThrow(unavailable);
+
+        assertSame(unavailable, assertThrows(StatusRuntimeException.class, () -> client.getCourseById(UUID.randomUUID())));
+    }
+}
@@ -0,0 +1,137 @@
+package com.caffein.studentservice.kafka.producer;
+
+import com.caffein.studentservice.model.OutboxEvent;
+import com.caffein.studentservice.repository.OutboxEventRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 5000;
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final OutboxRelay relay = new OutboxRelay(repository, kafkaTemplate, transactionTemplate,
+            3, 1000, 24, MAX_ATTEMPTS, BACKOFF_MS, MAX_BACKOFF_MS);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should mark acknowledged events sent and back off only the failed one")
+    void shouldNotHoldLaterEventsBehindFailure() {
+        OutboxEvent failedA = event("student-a");
+        OutboxEvent laterA = event("student-a");
+        OutboxEvent otherB = event("student-b");
+        when(repository.lockPending(any(), any())).thenReturn(List.of(failedA, laterA, otherB));
+        failSends(Set.of(failedA));
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.relay();
+
+        assertEquals(List.of(laterA.getId(), otherB.getId()), markedSent());
+        assertEquals(1, failedA.getAttempts());
+        assertRetryAfter(failedA, before, BACKOFF_MS);
+        assertNull(failedA.getParkedAt());
+        assertTrue(failedA.getLastError().contains("broker unavailable"));
+        assertEquals(0, laterA.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per failed attempt up to the cap")
+    void shouldDoubleBackoffUpToCap() {
+        OutboxEvent thirdFailure = event("student-a");
+        thirdFailure.setAttempts(2);
+        OutboxEvent longFailing = event("student-b");
+        longFailing.setAttempts(MAX_ATTEMPTS - 2);
+        when(repository.lockPending(any(), any())).thenReturn(List.of(thirdFailure, longFailing));
+        failSends(Set.of(thirdFailure, longFailing));
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.relay();
+
+        assertRetryAfter(thirdFailure, before, 4 * BACKOFF_MS);
+        assertRetryAfter(longFailing, before, MAX_BACKOFF_MS);
+        verify(repository, never()).markSent(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should park an event after its last allowed attempt fails")
+    void shouldParkAfterMaxAttempts() {
+        OutboxEvent lastTry = event("student-a");
+        lastTry.setAttempts(MAX_ATTEMPTS - 1);
+        when(repository.lockPending(any(), any())).thenReturn(List.of(lastTry));
+        failSends(Set.of(lastTry));
+
+        relay.relay();
+
+        assertEquals(MAX_ATTEMPTS, lastTry.getAttempts());
+        assertNotNull(lastTry.getParkedAt());
+        assertNull(lastTry.getNextAttemptAt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void failSends(Set<OutboxEvent> failing) {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, Object> record = invocation.getArgument(0);
+            boolean fail = failing.stream().anyMatch(event -> event.getPayload() == record.value());
+            return fail
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UUID> markedSent() {
+        ArgumentCaptor<Collection<UUID>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).markSent(sent.capture(), any());
+        return List.copyOf(sent.getValue());
+    }
+
+    private static void assertRetryAfter(OutboxEvent event, LocalDateTime before, long backoffMs) {
+        Duration delay = Duration.between(before, event.getNextAttemptAt());
+        assertTrue(delay.toMillis() >= backoffMs && delay.toMillis() < backoffMs + 1000,
+                "expected a retry about " + backoffMs + " ms out, got " + delay);
+    }
+
+    private static OutboxEvent event(String key) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .topic("attendance-events")
+                .eventKey(key)
+                .payload("{\"key\":\"" + key + "\",\"n\":\"" + UUID.randomUUID() + "\"}")
+                .build();
+    }
+}
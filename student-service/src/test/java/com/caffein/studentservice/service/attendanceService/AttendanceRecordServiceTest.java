@@ -0,0 +1,138 @@
+package com.caffein.studentservice.service.attendanceService;
+
+import com.caffein.studentservice.dto.AttendanceBatchCreateDTO;
+import com.caffein.studentservice.dto.AttendanceBatchEntryDTO;
+import com.caffein.studentservice.dto.AttendanceRecordDTO;
+import com.caffein.studentservice.model.AttendanceRecord;
+import com.caffein.studentservice.model.Enrollment;
+import com.caffein.studentservice.model.Student;
+import com.caffein.studentservice.repository.AttendanceRecordRepository;
+import com.caffein.studentservice.repository.EnrollmentRepository;
+import com.caffein.studentservice.repository.StudentRepository;
+import com.caffein.studentservice.service.attendanceService.mapper.AttendanceRecordMapper;
+import com.caffein.studentservice.service.emailService.EmailService;
+import com.caffein.studentservice.service.outboxService.OutboxService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceRecordServiceTest {
+
+    private static final UUID COURSE_ID = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.now().minusDays(1);
+
+    @Mock
+    private AttendanceRecordRepository attendanceRecordRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Spy
+    private AttendanceRecordMapper attendanceRecordMapper = new AttendanceRecordMapper();
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private AttendanceCounterService attendanceCounterService;
+
+    @InjectMocks
+    private AttendanceRecordService attendanceRecordService;
+
+    private final Student student = Student.builder().id(UUID.randomUUID()).build();
+
+    @Test
+    @DisplayName("Should record against the active enrollment when the student re-enrolled")
+    void shouldPreferActiveEnrollment() {
+        Enrollment withdrawn = enrollment(Enrollment.EnrollmentStatus.WITHDRAWN, LocalDateTime.now());
+        Enrollment active = enrollment(Enrollment.EnrollmentStatus.REGISTERED, LocalDateTime.now().minusDays(30));
+        when(enrollmentRepository.findByCourseIdAndStudentIdIn(eq(COURSE_ID), any()))
+                .thenReturn(List.of(withdrawn, active));
+        when(attendanceRecordRepository.findRecordedStudentIds(eq(COURSE_ID), eq(DATE), any())).thenReturn(List.of());
+        when(attendanceRecordRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AttendanceRecord> records = invocation.getArgument(0);
+            records.forEach(record -> record.setId(UUID.randomUUID()));
+            return records;
+        });
+
+        List<AttendanceRecordDTO> result = attendanceRecordService.recordBatchAttendance(COURSE_ID, DATE,
+                batch(student.getId()));
+
+        assertEquals(1, result.size());
+        assertEquals(active.getId(), result.get(0).getEnrollmentId());
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when a student is not enrolled in the course")
+    void shouldRejectUnknownStudent() {
+        UUID unknown = UUID.randomUUID();
+        when(enrollmentRepository.findByCourseIdAndStudentIdIn(eq(COURSE_ID), any()))
+                .thenReturn(List.of(enrollment(Enrollment.EnrollmentStatus.REGISTERED, LocalDateTime.now())));
+
+        EntityNotFoundException e = assertThrows(EntityNotFoundException.class,
+                () -> attendanceRecordService.recordBatchAttendance(COURSE_ID, DATE, batch(student.getId(), unknown)));
+
+        assertTrue(e.getMessage().contains(unknown.toString()));
+        verify(attendanceRecordRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when a student is already recorded for the date")
+    void shouldRejectAlreadyRecordedStudent() {
+        when(enrollmentRepository.findByCourseIdAndStudentIdIn(eq(COURSE_ID), any()))
+                .thenReturn(List.of(enrollment(Enrollment.EnrollmentStatus.REGISTERED, LocalDateTime.now())));
+        when(attendanceRecordRepository.findRecordedStudentIds(eq(COURSE_ID), eq(DATE), any()))
+                .thenReturn(List.of(student.getId()));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> attendanceRecordService.recordBatchAttendance(COURSE_ID, DATE, batch(student.getId())));
+
+        assertTrue(e.getMessage().contains(student.getId().toString()));
+        verify(attendanceRecordRepository, never()).saveAll(anyList());
+        verify(attendanceCounterService, never()).recordInserts(any());
+    }
+
+    private Enrollment enrollment(Enrollment.EnrollmentStatus status, LocalDateTime createdAt) {
+        return Enrollment.builder()
+                .id(UUID.randomUUID())
+                .student(student)
+                .courseId(COURSE_ID)
+                .courseName("Algorithms")
+                .status(status)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static AttendanceBatchCreateDTO batch(UUID... studentIds) {
+        return AttendanceBatchCreateDTO.builder()
+                .records(Arrays.stream(studentIds)
+                        .map(id -> AttendanceBatchEntryDTO.builder()
+                                .studentId(id)
+                                .status(AttendanceRecord.AttendanceStatus.PRESENT)
+                                .build())
+                        .toList())
+                .build();
+    }
+}
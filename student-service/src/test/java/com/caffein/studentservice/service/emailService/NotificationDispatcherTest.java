@@ -0,0 +1,107 @@
+package com.caffein.studentservice.service.emailService;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final NotificationRecipient recipient =
+            new NotificationRecipient("student@example.com", "Jane Doe", "REG-001");
+
+    private NotificationDispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        NotificationTemplates templates = new NotificationTemplates(templateEngine);
+        templates.compile();
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(
+                new EmailComposer(mailSender, templates), mailSender, meterRegistry, 0, 100, 50);
+    }
+
+    @Test
+    @DisplayName("Should collapse an absence notice and a warning for the same course into one email")
+    void shouldCoalesceNoticesForSameCourse() throws Exception {
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-01");
+        dispatcher.submitMultipleAbsencesWarning(recipient, "Algorithms", 3, 10);
+
+        dispatcher.flushDue();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertTrue(received[0].getSubject().contains("Multiple Absences"));
+        assertEquals(1.0, meterRegistry.counter("notifications.coalesced").count());
+        assertEquals(1.0, meterRegistry.counter("notifications.sent").count());
+    }
+
+    @Test
+    @DisplayName("Should send one email per course for the same recipient")
+    void shouldKeepNoticesForDifferentCourses() {
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-01");
+        dispatcher.submitAbsenceNotification(recipient, "Databases", "CS305", "ABSENT", "2026-10-01");
+
+        dispatcher.flushDue();
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    @DisplayName("Should keep absence notices for different dates of the same course")
+    void shouldKeepNoticesForDifferentDates() throws Exception {
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-01");
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "LATE", "2026-10-02");
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-02");
+
+        dispatcher.flushDue();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("2026-10-01"));
+        assertTrue(GreenMailUtil.getBody(received[1]).contains("2026-10-02"));
+        assertTrue(GreenMailUtil.getBody(received[1]).contains("ABSENT"));
+        assertEquals(1.0, meterRegistry.counter("notifications.coalesced").count());
+    }
+
+    @Test
+    @DisplayName("Should let a warning replace every pending absence notice for its course")
+    void shouldReplaceAllDatesWithWarning() throws Exception {
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-01");
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-02");
+        dispatcher.submitMultipleAbsencesWarning(recipient, "Algorithms", 3, 10);
+        dispatcher.submitAbsenceNotification(recipient, "Algorithms", "CS201", "ABSENT", "2026-10-03");
+
+        dispatcher.flushDue();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertTrue(received[0].getSubject().contains("Multiple Absences"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.caffein.studentservice.service.emailService;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous path (a Thymeleaf render plus a multipart
+ * {@link MimeMessageHelper} per email) with {@link EmailComposer} backed by the
+ * compiled {@link NotificationTemplates}.
+ * <p>
+ * Run with: {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main NotificationTemplatesBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationTemplatesBenchmark {
+
+    private final NotificationRecipient recipient =
+            new NotificationRecipient("student@example.com", "Jane Doe", "REG-001");
+
+    private Session session;
+    private SpringTemplateEngine templateEngine;
+    private EmailComposer emailComposer;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.session = Session.getInstance(new Properties());
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(this.session);
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        this.templateEngine = new SpringTemplateEngine();
+        this.templateEngine.setTemplateResolver(resolver);
+
+        NotificationTemplates templates = new NotificationTemplates(this.templateEngine);
+        templates.compile();
+        this.emailComposer = new EmailComposer(mailSender, templates);
+    }
+
+    @Benchmark
+    public MimeMessage legacyEngineRenderPerEmail() throws Exception {
+        MimeMessage message = new MimeMessage(this.session);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(this.recipient.email());
+        helper.setSubject("⚠️ Attendance Warning: Multiple Absences - Algorithms");
+        helper.setFrom(EmailComposer.FROM_ADDRESS);
+
+        Context context = new Context();
+        context.setVariable("studentName", this.recipient.fullName());
+        context.setVariable("courseName", "Algorithms");
+        context.setVariable("absentCount", 3L);
+        context.setVariable("totalClasses", 10L);
+        context.setVariable("attendanceRate", 70L);
+        helper.setText(this.templateEngine.process(NotificationTemplates.MULTIPLE_ABSENCES_WARNING, context), true);
+        return message;
+    }
+
+    @Benchmark
+    public MimeMessage compiledTemplate() throws Exception {
+        return this.emailComposer.composeMultipleAbsencesWarning(this.recipient, "Algorithms", 3, 10);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(NotificationTemplatesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.caffein.studentservice.service.emailService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationTemplatesTest {
+
+    private SpringTemplateEngine templateEngine;
+    private NotificationTemplates templates;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        templates = new NotificationTemplates(templateEngine);
+        templates.compile();
+    }
+
+    @Test
+    @DisplayName("Should render the absence notice exactly like the Thymeleaf engine, escaping included")
+    void shouldMatchEngineForAbsenceNotification() {
+        for (String registrationId : new String[]{"REG-001", null}) {
+            Context context = new Context();
+            context.setVariable("studentName", "Seán O'Brien & <Co>");
+            context.setVariable("courseName", "Algorithms");
+            context.setVariable("courseCode", "CS201");
+            context.setVariable("date", "2026-10-01");
+            context.setVariable("status", "ABSENT");
+            context.setVariable("registrationId", registrationId);
+
+            assertEquals(
+                    templateEngine.process(NotificationTemplates.ABSENCE_NOTIFICATION, context),
+                    templates.renderAbsenceNotification(
+                            "Seán O'Brien & <Co>", "Algorithms", "CS201", "ABSENT", "2026-10-01", registrationId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should render the multiple absences warning exactly like the Thymeleaf engine")
+    void shouldMatchEngineForMultipleAbsencesWarning() {
+        Context context = new Context();
+        context.setVariable("studentName", "Jane Doe");
+        context.setVariable("courseName", "Databases");
+        context.setVariable("absentCount", 3L);
+        context.setVariable("totalClasses", 10L);
+        context.setVariable("attendanceRate", 70L);
+
+        assertEquals(
+                templateEngine.process(NotificationTemplates.MULTIPLE_ABSENCES_WARNING, context),
+                templates.renderMultipleAbsencesWarning("Jane Doe", "Databases", 3, 10));
+    }
+}
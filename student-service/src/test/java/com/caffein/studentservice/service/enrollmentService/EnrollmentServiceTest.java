@@ -0,0 +1,188 @@
+package com.caffein.studentservice.service.enrollmentService;
+
+import com.caffein.studentservice.dto.EnrollmentDTO;
+import com.caffein.studentservice.grpc.CourseResponse;
+import com.caffein.studentservice.grpc.SubjectResponse;
+import com.caffein.studentservice.model.Enrollment;
+import com.caffein.studentservice.model.Student;
+import com.caffein.studentservice.repository.EnrollmentRepository;
+import com.caffein.studentservice.repository.StudentRepository;
+import com.caffein.studentservice.request.EnrollmentRequest;
+import com.caffein.studentservice.service.courseCatalog.CourseCatalog;
+import com.caffein.studentservice.service.enrollmentService.mapper.EnrollmentMapper;
+import com.caffein.studentservice.service.outboxService.OutboxService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentServiceTest {
+
+    private static final UUID COURSE_ID = UUID.randomUUID();
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Spy
+    private EnrollmentMapper enrollmentMapper = new EnrollmentMapper();
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private CourseCatalog courseCatalog;
+
+    @InjectMocks
+    private EnrollmentService enrollmentService;
+
+    private final Student student = Student.builder()
+            .id(UUID.randomUUID())
+            .enrollmentStatus(Student.EnrollmentStatus.ACTIVE)
+            .build();
+
+    @Test
+    @DisplayName("Should publish a REGISTERED event with the course capacity, keyed by course")
+    void shouldPublishRegistration() {
+        when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(courseCatalog.getCourse(COURSE_ID)).thenReturn(CourseResponse.newBuilder()
+                .setId(COURSE_ID.toString())
+                .setName("Algorithms")
+                .setAcademicYear("2025-2026")
+                .setSemester("Fall")
+                .setMaxCapacity(30)
+                .setSubject(SubjectResponse.newBuilder().setName("Computer Science"))
+                .build());
+        when(enrollmentRepository.countByCourseId(COURSE_ID)).thenReturn(12L);
+        when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(invocation -> {
+            Enrollment enrollment = invocation.getArgument(0);
+            enrollment.setId(UUID.randomUUID());
+            return enrollment;
+        });
+
+        EnrollmentDTO result = enrollmentService.enrollStudent(
+                EnrollmentRequest.builder().studentId(student.getId()).courseId(COURSE_ID).build());
+
+        Map<String, Object> event = publishedEvent();
+        assertEquals(result.getId(), event.get("enrollmentId"));
+        assertEquals(student.getId(), event.get("studentId"));
+        assertEquals(COURSE_ID, event.get("courseId"));
+        assertEquals("Algorithms", event.get("courseName"));
+        assertEquals("2025-2026", event.get("academicYear"));
+        assertEquals("Fall", event.get("semester"));
+        assertEquals("REGISTERED", event.get("status"));
+        assertEquals(30, event.get("maxCapacity"));
+    }
+
+    @Test
+    @DisplayName("Should not publish when the course is full")
+    void shouldNotPublishWhenFull() {
+        when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(courseCatalog.getCourse(COURSE_ID)).thenReturn(CourseResponse.newBuilder().setMaxCapacity(30).build());
+        when(enrollmentRepository.countByCourseId(COURSE_ID)).thenReturn(30L);
+
+        assertThrows(IllegalStateException.class, () -> enrollmentService.enrollStudent(
+                EnrollmentRequest.builder().studentId(student.getId()).courseId(COURSE_ID).build()));
+
+        verify(outboxService, never()).enqueue(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should publish a WITHDRAWN event without capacity")
+    void shouldPublishWithdrawal() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.REGISTERED);
+        when(enrollmentRepository.findById(enrollment.getId())).thenReturn(Optional.of(enrollment));
+
+        enrollmentService.unenrollStudent(student.getId(), enrollment.getId());
+
+        Map<String, Object> event = publishedEvent();
+        assertEquals("WITHDRAWN", event.get("status"));
+        assertEquals(enrollment.getId(), event.get("enrollmentId"));
+        assertNull(event.get("maxCapacity"));
+    }
+
+    @Test
+    @DisplayName("Should neither save nor publish when the enrollment is already withdrawn")
+    void shouldIgnoreRepeatedWithdrawal() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.WITHDRAWN);
+        when(enrollmentRepository.findById(enrollment.getId())).thenReturn(Optional.of(enrollment));
+
+        enrollmentService.unenrollStudent(student.getId(), enrollment.getId());
+
+        verify(enrollmentRepository, never()).save(any());
+        verify(outboxService, never()).enqueue(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should publish a COMPLETED event and keep the grade")
+    void shouldPublishCompletion() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.IN_PROGRESS);
+        when(enrollmentRepository.findById(enrollment.getId())).thenReturn(Optional.of(enrollment));
+        when(enrollmentRepository.save(enrollment)).thenReturn(enrollment);
+
+        EnrollmentDTO result = enrollmentService.completeEnrollment(student.getId(), enrollment.getId(), "A");
+
+        assertEquals("A", result.getGrade());
+        Map<String, Object> event = publishedEvent();
+        assertEquals("COMPLETED", event.get("status"));
+        assertNull(event.get("maxCapacity"));
+    }
+
+    @Test
+    @DisplayName("Should reject completing a withdrawn enrollment without publishing")
+    void shouldRejectCompletingWithdrawn() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.WITHDRAWN);
+        when(enrollmentRepository.findById(enrollment.getId())).thenReturn(Optional.of(enrollment));
+
+        assertThrows(IllegalStateException.class,
+                () -> enrollmentService.completeEnrollment(student.getId(), enrollment.getId(), null));
+
+        verify(outboxService, never()).enqueue(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an enrollment that belongs to another student")
+    void shouldRejectOtherStudentsEnrollment() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.REGISTERED);
+        when(enrollmentRepository.findById(enrollment.getId())).thenReturn(Optional.of(enrollment));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> enrollmentService.completeEnrollment(UUID.randomUUID(), enrollment.getId(), "A"));
+
+        verify(outboxService, never()).enqueue(anyString(), anyString(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> publishedEvent() {
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(outboxService).enqueue(eq("enrollment-events"), eq(COURSE_ID.toString()), event.capture());
+        return (Map<String, Object>) event.getValue();
+    }
+
+    private Enrollment enrollment(Enrollment.EnrollmentStatus status) {
+        return Enrollment.builder()
+                .id(UUID.randomUUID())
+                .student(student)
+                .courseId(COURSE_ID)
+                .courseName("Algorithms")
+                .status(status)
+                .build();
+    }
+}
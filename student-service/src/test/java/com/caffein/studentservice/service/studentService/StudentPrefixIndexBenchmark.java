@@ -0,0 +1,87 @@
+package com.caffein.studentservice.service.studentService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 lookups against a {@link StudentPrefixIndex} of 1M synthetic students,
+ * with 2-4 character prefixes as typed into the admin UI. Setup prints the index
+ * footprint per student.
+ * <p>
+ * Run with: {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main StudentPrefixIndexBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class StudentPrefixIndexBenchmark {
+
+    private static final int STUDENTS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Linh", "Ahmed", "Sofia", "Noah", "Olivia",
+            "Mateo", "Aiko", "Chloé", "Lucas", "Priya", "Ethan", "Zoë", "Omar", "Hana"};
+    private static final String[] LAST_NAMES = {"Smith", "Nguyen", "García", "Brown", "Tanaka", "Müller",
+            "Rossi", "Kowalski", "Dubois", "Silva", "Khan", "Johnson", "Park", "Ivanova"};
+
+    private StudentPrefixIndex index;
+    private String[] queries;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StudentPrefixIndex.Segment.Builder builder = new StudentPrefixIndex.Segment.Builder();
+        String[] samples = new String[4096];
+        for (int i = 0; i < STUDENTS; i++) {
+            // Random suffixes keep names spread out like real data instead of a handful of huge ranges
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + suffix(random);
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + suffix(random);
+            String email = first.toLowerCase() + "." + last.toLowerCase() + i + "@school.edu";
+            String registrationId = String.format("REG-%07d", i);
+            List<String> tokens = StudentPrefixIndex.tokensOf(first, last, email, registrationId);
+
+            int ordinal = builder.addStudent(new UUID(random.nextLong(), random.nextLong()));
+            tokens.forEach(token -> builder.addToken(ordinal, token));
+            if (i % (STUDENTS / samples.length) == 0 && i / (STUDENTS / samples.length) < samples.length) {
+                String token = tokens.get(random.nextInt(tokens.size()));
+                samples[i / (STUDENTS / samples.length)] = token.substring(0, Math.min(token.length(), 2 + random.nextInt(3)));
+            }
+        }
+        index = new StudentPrefixIndex(10_000);
+        index.replaceBase(builder.build());
+        queries = samples;
+        System.out.printf("%n%d students, ~%d bytes/student%n", index.students(), index.estimatedBytes() / index.students());
+    }
+
+    private static String suffix(Random random) {
+        return "" + (char) ('a' + random.nextInt(26)) + (char) ('a' + random.nextInt(26));
+    }
+
+    @Benchmark
+    public List<UUID> lookupTop10() {
+        return index.lookup(queries[ThreadLocalRandom.current().nextInt(queries.length)], 10);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StudentPrefixIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.caffein.studentservice.service.studentService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentPrefixIndexTest {
+
+    private final UUID jose = UUID.randomUUID();
+    private final UUID joanna = UUID.randomUUID();
+    private final UUID mark = UUID.randomUUID();
+
+    private StudentPrefixIndex buildIndex(int compactThreshold) {
+        StudentPrefixIndex.Segment.Builder builder = new StudentPrefixIndex.Segment.Builder();
+        add(builder, jose, "José", "Núñez", "jnunez@school.edu", "REG-0001");
+        add(builder, joanna, "Joanna", "Smith", "joanna.smith@school.edu", "REG-0002");
+        add(builder, mark, "Mark", "Jones", "mjones@school.edu", "REG-0003");
+        StudentPrefixIndex index = new StudentPrefixIndex(compactThreshold);
+        index.replaceBase(builder.build());
+        return index;
+    }
+
+    private static void add(StudentPrefixIndex.Segment.Builder builder, UUID id,
+                            String first, String last, String email, String registrationId) {
+        int ordinal = builder.addStudent(id);
+        StudentPrefixIndex.tokensOf(first, last, email, registrationId).forEach(token -> builder.addToken(ordinal, token));
+    }
+
+    @Test
+    @DisplayName("Should match accent- and case-insensitive prefixes of every field, in token order")
+    void shouldMatchPrefixes() {
+        StudentPrefixIndex index = buildIndex(100);
+
+        assertEquals(List.of(joanna, mark, jose), index.lookup("JO", 10));
+        assertEquals(List.of(jose), index.lookup("jose  nu", 10));
+        assertEquals(List.of(jose), index.lookup("jnun", 10));
+        assertEquals(List.of(joanna), index.lookup("reg-0002", 10));
+        assertEquals(List.of(joanna, mark), index.lookup("jo", 2));
+        assertTrue(index.lookup("smithers", 10).isEmpty());
+        assertTrue(index.lookup("   ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should let updates supersede the built segment, before and after compaction")
+    void shouldApplyUpdates() {
+        StudentPrefixIndex index = buildIndex(2);
+        UUID added = UUID.randomUUID();
+
+        index.put(joanna, StudentPrefixIndex.tokensOf("Joanna", "Baker", "jbaker@school.edu", "REG-0002"));
+        index.put(added, StudentPrefixIndex.tokensOf("Zoe", "Smith", "zsmith@school.edu", "REG-0004"));
+
+        assertEquals(List.of(added), index.lookup("smith", 10));
+        assertEquals(List.of(joanna), index.lookup("bak", 10));
+        assertEquals(List.of(joanna, mark, jose), index.lookup("jo", 10));
+        assertEquals(4, index.students());
+
+        assertTrue(index.compactIfNeeded());
+        assertEquals(4, index.students());
+        assertEquals(List.of(added), index.lookup("smith", 10));
+        assertEquals(List.of(joanna), index.lookup("bak", 10));
+        assertEquals(List.of(joanna, mark, jose), index.lookup("jo", 10));
+    }
+
+    @Test
+    @DisplayName("Should count a student once whether it is in the base, the overlay or both")
+    void shouldCountStudentsOnce() {
+        StudentPrefixIndex index = new StudentPrefixIndex(100);
+        UUID added = UUID.randomUUID();
+        index.put(jose, StudentPrefixIndex.tokensOf("José", "Núñez", null, null));
+        index.put(added, StudentPrefixIndex.tokensOf("Zoe", "Smith", null, null));
+        assertEquals(2, index.students());
+
+        // A full rebuild that picked up jose but not the later student
+        StudentPrefixIndex.Segment.Builder builder = new StudentPrefixIndex.Segment.Builder();
+        add(builder, jose, "José", "Núñez", "jnunez@school.edu", "REG-0001");
+        add(builder, mark, "Mark", "Jones", "mjones@school.edu", "REG-0003");
+        index.replaceBase(builder.build());
+        assertEquals(3, index.students());
+
+        index.put(mark, StudentPrefixIndex.tokensOf("Mark", "Jonas", null, null));
+        index.put(added, StudentPrefixIndex.tokensOf("Zoe", "Smythe", null, null));
+        assertEquals(3, index.students());
+    }
+
+    @Test
+    @DisplayName("Should keep updates that arrive while a compaction is building its segment")
+    void shouldKeepUpdatesDuringCompaction() throws Exception {
+        // A large base keeps each compaction busy long enough for writes to land mid-build
+        StudentPrefixIndex.Segment.Builder builder = new StudentPrefixIndex.Segment.Builder();
+        for (int i = 0; i < 100_000; i++) {
+            add(builder, UUID.randomUUID(), "Base" + i, "Student", "base" + i + "@school.edu", "BASE-" + i);
+        }
+        StudentPrefixIndex index = new StudentPrefixIndex(50);
+        index.replaceBase(builder.build());
+        List<UUID> students = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            students.add(UUID.randomUUID());
+        }
+
+        // Each round renames every student; compactions run concurrently with the writes
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread compactor = new Thread(() -> {
+            while (writing.get()) {
+                index.compactIfNeeded();
+            }
+        });
+        compactor.start();
+        int rounds = 50;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < students.size(); i++) {
+                index.put(students.get(i), StudentPrefixIndex.tokensOf("S" + i, "Round" + round, null, null));
+            }
+        }
+        writing.set(false);
+        compactor.join();
+
+        assertEquals(students.size(), index.lookup("round" + (rounds - 1), 1000).size());
+        assertTrue(index.lookup("round" + (rounds - 2), 1000).isEmpty());
+        assertEquals(10, index.lookup("base", 10).size());
+    }
+}
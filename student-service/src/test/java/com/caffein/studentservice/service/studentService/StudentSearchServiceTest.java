@@ -0,0 +1,192 @@
+package com.caffein.studentservice.service.studentService;
+
+import com.caffein.studentservice.dto.StudentSearchPageDTO;
+import com.caffein.studentservice.dto.StudentSummaryDTO;
+import com.caffein.studentservice.exception.ErrorResponse;
+import com.caffein.studentservice.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSearchServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private StudentSearchService studentSearchService;
+
+    private final StudentSummaryDTO abbott = student("Anna", "Abbott");
+    private final StudentSummaryDTO baker = student("Ben", "Baker");
+    private final StudentSummaryDTO carter = student("Cleo", "Carter");
+
+    @Test
+    @DisplayName("Should return a cursor after the last row shown when another page exists")
+    void shouldReturnNextCursorWhenMoreRowsExist() throws SQLException {
+        List<Object[]> queries = stubRows(abbott, baker, carter);
+
+        StudentSearchPageDTO page = studentSearchService.search(" Smith_ ", null, 2, false);
+
+        assertEquals(List.of(abbott, baker), page.getStudents());
+        assertEquals(cursor("baker", "ben", baker.getId()), page.getNextCursor());
+        assertNull(page.getTotalCount());
+        // Pattern, first-page lower bound, then page size plus one to detect a next page
+        assertEquals(List.of("%smith\\_%", "", "", new UUID(0L, 0L), 3), List.of(queries.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should continue after the row encoded in the cursor")
+    void shouldContinueFromCursor() throws SQLException {
+        List<Object[]> queries = stubRows(carter);
+
+        StudentSearchPageDTO page = studentSearchService.search("a", cursor("baker", "ben", baker.getId()), 2, false);
+
+        assertEquals(List.of(carter), page.getStudents());
+        assertNull(page.getNextCursor());
+        assertEquals(List.of("%a%", "baker", "ben", baker.getId(), 3), List.of(queries.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should not return a cursor when the page is exactly full")
+    void shouldNotReturnCursorOnLastFullPage() throws SQLException {
+        stubRows(abbott, baker);
+
+        StudentSearchPageDTO page = studentSearchService.search("a", "", 2, false);
+
+        assertEquals(2, page.getStudents().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should clamp the page size and count matches only when asked")
+    void shouldClampPageSizeAndCountOnRequest() throws SQLException {
+        List<Object[]> queries = stubRows();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("%a%"))).thenReturn(42L);
+
+        StudentSearchPageDTO page = studentSearchService.search("a", null, 1000, true);
+
+        assertEquals(StudentSearchService.MAX_PAGE_SIZE + 1, queries.get(0)[4]);
+        assertEquals(42L, page.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors with a 400 before querying")
+    void shouldRejectMalformedCursors() {
+        String noSeparators = Base64.getUrlEncoder().encodeToString("baker".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("baker\u0000ben\u0000not-a-uuid".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("not base64!", noSeparators, badId)) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> studentSearchService.search("a", cursor, 20, false));
+            assertEquals("Invalid search cursor", ex.getMessage());
+
+            ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleIllegalArgument(ex);
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should drop an invalid index left by a failed concurrent build before recreating it")
+    void shouldDropInvalidIndexBeforeRecreating() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), eq("idx_students_search_trgm")))
+                .thenReturn(List.of(false));
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), eq("idx_students_name_order")))
+                .thenReturn(List.of(true));
+
+        studentSearchService.createIndexes();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_students_search_trgm");
+        order.verify(jdbcTemplate).execute(startsWith(
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_students_search_trgm"));
+        verify(jdbcTemplate, never()).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_students_name_order");
+        verify(jdbcTemplate).execute(startsWith(
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_students_name_order"));
+    }
+
+    /**
+     * Answers every search query with the given students, mapped through the
+     * service's own row mapper, and records the bind parameters of each call.
+     */
+    private List<Object[]> stubRows(StudentSummaryDTO... students) throws SQLException {
+        List<ResultSet> rows = new ArrayList<>();
+        for (StudentSummaryDTO student : students) {
+            rows.add(resultSet(student));
+        }
+        List<Object[]> queries = new ArrayList<>();
+        doAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            queries.add(Arrays.copyOfRange(args, 2, args.length));
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                mapped.add(mapper.mapRow(rows.get(i), i));
+            }
+            return mapped;
+        }).when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+        return queries;
+    }
+
+    private static ResultSet resultSet(StudentSummaryDTO student) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("id", UUID.class)).thenReturn(student.getId());
+        when(rs.getString("registration_id")).thenReturn(student.getRegistrationId());
+        when(rs.getString("first_name")).thenReturn(student.getFirstName());
+        when(rs.getString("last_name")).thenReturn(student.getLastName());
+        when(rs.getString("email")).thenReturn(student.getEmail());
+        when(rs.getString("enrollment_status")).thenReturn(null);
+        when(rs.getString("sort_last")).thenReturn(student.getLastName().toLowerCase());
+        when(rs.getString("sort_first")).thenReturn(student.getFirstName().toLowerCase());
+        return rs;
+    }
+
+    private static StudentSummaryDTO student(String firstName, String lastName) {
+        return StudentSummaryDTO.builder()
+                .id(UUID.randomUUID())
+                .registrationId("REG-" + lastName.toUpperCase())
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@school.edu")
+                .build();
+    }
+
+    private static String cursor(String lastName, String firstName, UUID id) {
+        String raw = lastName + '\u0000' + firstName + '\u0000' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}